@@ -0,0 +1,31 @@
+package com.eventforge.actuator;
+
+import com.eventforge.search.EventSearchIndex;
+import com.eventforge.search.EventSearchIndexer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "event-index")
+@RequiredArgsConstructor
+public class EventSearchIndexEndpoint {
+    private final EventSearchIndex eventSearchIndex;
+    private final EventSearchIndexer eventSearchIndexer;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("enabled", eventSearchIndex.isEnabled(),
+                "available", eventSearchIndex.isAvailable(),
+                "documents", eventSearchIndex.size());
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        return Map.of("indexed", eventSearchIndexer.rebuild());
+    }
+}
@@ -0,0 +1,17 @@
+package com.eventforge.catalog;
+
+import com.eventforge.dto.response.CommonEventResponse;
+
+import java.time.LocalDateTime;
+
+// One legally visible event as held by the catalog snapshot. The response is shared between readers and must not be modified.
+public record CatalogEntry(Long id,
+                           Long orgId,
+                           Long userId,
+                           String name,
+                           boolean oneTime,
+                           LocalDateTime startsAt,
+                           LocalDateTime endsAt,
+                           LocalDateTime createdAt,
+                           CommonEventResponse response) {
+}
@@ -0,0 +1,218 @@
+package com.eventforge.catalog;
+
+import java.text.Collator;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Immutable view of the public catalog. Every change builds a new instance , readers never see a half applied write.
+// An update shares whatever it does not touch with the previous instance.
+public final class CatalogSnapshot {
+    public static final List<String> SORT_COLUMNS = List.of("name", "startsAt", "endsAt", "createdAt");
+    private static final Map<String, Comparator<CatalogEntry>> COMPARATORS = SORT_COLUMNS.stream()
+            .collect(Collectors.toUnmodifiableMap(Function.identity(), CatalogSnapshot::comparator));
+
+    private final Map<Long, CatalogEntry> byId;
+    // upcoming events for the menu and the organisation profile sections
+    private final EventTimeline timeline;
+    private final Map<Long, EventTimeline> timelineByOrganisation;
+    // ascending per sort column , one map for one time events and one for recurrence events.
+    // The listing pages are cut from these , a timeline only orders by date.
+    private final Map<String, List<CatalogEntry>> oneTimeByColumn;
+    private final Map<String, List<CatalogEntry>> recurrenceByColumn;
+    private final Instant builtAt;
+    // the sorted lists split into unexpired and expired , reused until the next event ends
+    private final Map<String, TimeSplit> timeSplits = new ConcurrentHashMap<>();
+
+    private CatalogSnapshot(Map<Long, CatalogEntry> byId,
+                            EventTimeline timeline,
+                            Map<Long, EventTimeline> timelineByOrganisation,
+                            Map<String, List<CatalogEntry>> oneTimeByColumn,
+                            Map<String, List<CatalogEntry>> recurrenceByColumn,
+                            Instant builtAt) {
+        this.byId = Collections.unmodifiableMap(byId);
+        this.timeline = timeline;
+        this.timelineByOrganisation = Collections.unmodifiableMap(timelineByOrganisation);
+        this.oneTimeByColumn = oneTimeByColumn;
+        this.recurrenceByColumn = recurrenceByColumn;
+        this.builtAt = builtAt;
+    }
+
+    public static CatalogSnapshot empty() {
+        return of(List.of());
+    }
+
+    public static CatalogSnapshot of(Collection<CatalogEntry> entries) {
+        Map<Long, CatalogEntry> byId = entries.stream().collect(Collectors.toMap(CatalogEntry::id, Function.identity()));
+        Collection<CatalogEntry> values = byId.values();
+        Map<Long, EventTimeline> timelineByOrganisation = new HashMap<>();
+        values.stream().collect(Collectors.groupingBy(CatalogEntry::orgId))
+                .forEach((orgId, group) -> {
+                    EventTimeline organisationTimeline = EventTimeline.of(group);
+                    if (organisationTimeline.size() > 0) {
+                        timelineByOrganisation.put(orgId, organisationTimeline);
+                    }
+                });
+        return new CatalogSnapshot(byId,
+                EventTimeline.of(values),
+                timelineByOrganisation,
+                sortedByColumn(values, true),
+                sortedByColumn(values, false),
+                Instant.now());
+    }
+
+    // Copy of this snapshot with the given entries added or replaced and the given ids removed.
+    // The sorted structures are patched with binary searches , only the organisations that own a changed entry get a new timeline.
+    public CatalogSnapshot with(Collection<CatalogEntry> upserts, Collection<Long> removals) {
+        Map<Long, CatalogEntry> added = new LinkedHashMap<>();
+        upserts.forEach(entry -> added.put(entry.id(), entry));
+        Set<Long> touched = new HashSet<>(removals);
+        touched.addAll(added.keySet());
+        List<CatalogEntry> removed = touched.stream().map(byId::get).filter(Objects::nonNull).toList();
+        if (removed.isEmpty() && added.isEmpty()) {
+            return this;
+        }
+
+        Map<Long, CatalogEntry> copy = new HashMap<>(byId);
+        removed.forEach(entry -> copy.remove(entry.id()));
+        copy.putAll(added);
+
+        Map<Long, EventTimeline> organisationTimelines = new HashMap<>(timelineByOrganisation);
+        Map<Long, List<CatalogEntry>> removedByOrganisation = removed.stream().collect(Collectors.groupingBy(CatalogEntry::orgId));
+        Map<Long, List<CatalogEntry>> addedByOrganisation = added.values().stream().collect(Collectors.groupingBy(CatalogEntry::orgId));
+        Set<Long> organisations = new HashSet<>(removedByOrganisation.keySet());
+        organisations.addAll(addedByOrganisation.keySet());
+        for (Long orgId : organisations) {
+            EventTimeline updated = organisationTimelines.getOrDefault(orgId, EventTimeline.of(List.of()))
+                    .with(removedByOrganisation.getOrDefault(orgId, List.of()), addedByOrganisation.getOrDefault(orgId, List.of()));
+            if (updated.size() == 0) {
+                organisationTimelines.remove(orgId);
+            } else {
+                organisationTimelines.put(orgId, updated);
+            }
+        }
+
+        return new CatalogSnapshot(copy,
+                timeline.with(removed, added.values()),
+                organisationTimelines,
+                patchedByColumn(oneTimeByColumn, ofKind(removed, true), ofKind(added.values(), true)),
+                patchedByColumn(recurrenceByColumn, ofKind(removed, false), ofKind(added.values(), false)),
+                Instant.now());
+    }
+
+    public Optional<CatalogEntry> get(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<CatalogEntry> entriesOfUser(Long userId) {
+        return byId.values().stream().filter(entry -> entry.userId().equals(userId)).toList();
+    }
+
+    public EventTimeline timeline() {
+        return timeline;
+    }
+
+    // null when the organisation has no visible events with both dates
+    public EventTimeline timelineOfOrganisation(Long orgId) {
+        return timelineByOrganisation.get(orgId);
+    }
+
+    // null when the column is not one of SORT_COLUMNS
+    public List<CatalogEntry> sortedBy(boolean oneTime, String column) {
+        return (oneTime ? oneTimeByColumn : recurrenceByColumn).get(column);
+    }
+
+    // The entries of sortedBy(oneTime , column) that are expired , or not , at now. Events without both dates are left out.
+    // null when the column is not one of SORT_COLUMNS
+    public List<CatalogEntry> sortedBy(boolean oneTime, String column, boolean expired, LocalDateTime now) {
+        List<CatalogEntry> sorted = sortedBy(oneTime, column);
+        if (sorted == null) {
+            return null;
+        }
+        String key = oneTime + ":" + column;
+        TimeSplit split = timeSplits.get(key);
+        if (split == null || split.endsBefore(now)) {
+            split = TimeSplit.of(sorted, now);
+            timeSplits.put(key, split);
+        }
+        return expired ? split.expired() : split.unexpired();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    private static Map<String, List<CatalogEntry>> sortedByColumn(Collection<CatalogEntry> entries, boolean oneTime) {
+        List<CatalogEntry> partition = ofKind(entries, oneTime);
+        Map<String, List<CatalogEntry>> result = new HashMap<>();
+        for (String column : SORT_COLUMNS) {
+            result.put(column, partition.stream().sorted(COMPARATORS.get(column)).toList());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    // the unchanged map is handed on as is when none of its entries changed
+    private static Map<String, List<CatalogEntry>> patchedByColumn(Map<String, List<CatalogEntry>> sortedByColumn,
+                                                                   List<CatalogEntry> removed, List<CatalogEntry> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return sortedByColumn;
+        }
+        Map<String, List<CatalogEntry>> result = new HashMap<>();
+        sortedByColumn.forEach((column, sorted) -> result.put(column, SortedEntries.apply(sorted, COMPARATORS.get(column), removed, added)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static List<CatalogEntry> ofKind(Collection<CatalogEntry> entries, boolean oneTime) {
+        return entries.stream().filter(entry -> entry.oneTime() == oneTime).toList();
+    }
+
+    private static Comparator<CatalogEntry> comparator(String column) {
+        Comparator<CatalogEntry> byColumn = switch (column) {
+            case "name" -> {
+                // close to the case insensitive mysql collation the database listing sorts with
+                Collator collator = Collator.getInstance(Locale.forLanguageTag("bg"));
+                collator.setStrength(Collator.SECONDARY);
+                yield Comparator.comparing(CatalogEntry::name, Comparator.nullsFirst(collator));
+            }
+            case "startsAt" -> Comparator.comparing(CatalogEntry::startsAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "endsAt" -> Comparator.comparing(CatalogEntry::endsAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "createdAt" -> Comparator.comparing(CatalogEntry::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> throw new IllegalArgumentException("Unsupported catalog sort column " + column);
+        };
+        return byColumn.thenComparing(CatalogEntry::id);
+    }
+
+    // validUntil is the earliest end of the unexpired entries , after it one of them has become expired
+    private record TimeSplit(List<CatalogEntry> unexpired, List<CatalogEntry> expired, LocalDateTime validUntil) {
+        private static TimeSplit of(List<CatalogEntry> sorted, LocalDateTime now) {
+            List<CatalogEntry> unexpired = new ArrayList<>();
+            List<CatalogEntry> expired = new ArrayList<>();
+            LocalDateTime validUntil = null;
+            for (CatalogEntry entry : sorted) {
+                if (entry.startsAt() == null || entry.endsAt() == null) {
+                    continue;
+                }
+                if (entry.endsAt().isBefore(now)) {
+                    expired.add(entry);
+                } else {
+                    unexpired.add(entry);
+                    if (validUntil == null || entry.endsAt().isBefore(validUntil)) {
+                        validUntil = entry.endsAt();
+                    }
+                }
+            }
+            return new TimeSplit(List.copyOf(unexpired), List.copyOf(expired), validUntil);
+        }
+
+        private boolean endsBefore(LocalDateTime now) {
+            return validUntil != null && now.isAfter(validUntil);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.eventforge.catalog;
+
+import com.eventforge.domain.AccountChangedEvent;
+import com.eventforge.domain.EventChangedEvent;
+import com.eventforge.dto.request.PageRequestDto;
+import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.factory.ResponseFactory;
+import com.eventforge.model.Event;
+import com.eventforge.model.Organisation;
+import com.eventforge.model.User;
+import com.eventforge.repository.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Optional read model for the anonymous event pages. Holds every event visible under
+// EventRepository.LEGAL_USER_CONDITION already mapped to CommonEventResponse.
+// Readers only dereference the current snapshot , writers build a new one and swap it in.
+@Service
+@Slf4j
+public class CatalogSnapshotService {
+    private final EventRepository eventRepository;
+    private final ResponseFactory responseFactory;
+    private final boolean enabled;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+
+    public CatalogSnapshotService(EventRepository eventRepository,
+                                  ResponseFactory responseFactory,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${eventforge.catalog.snapshot.enabled:false}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.responseFactory = responseFactory;
+        this.enabled = enabled;
+        if (enabled) {
+            Gauge.builder("eventforge.catalog.snapshot.age", this, CatalogSnapshotService::ageInSeconds)
+                    .description("Seconds since the catalog snapshot was last replaced")
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("eventforge.catalog.snapshot.size", this, service -> service.current().map(CatalogSnapshot::size).orElse(0))
+                    .description("Events held by the catalog snapshot")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isServing() {
+        return enabled && snapshot.get() != null;
+    }
+
+    public List<CommonEventResponse> findUpcoming(LocalDateTime now, int limit) {
+        return current().map(current -> current.timeline().upcoming(now, limit)).orElse(List.of()).stream()
+                .map(CatalogEntry::response)
+                .toList();
+    }
+
+    public Optional<CommonEventResponse> findEvent(Long eventId) {
+        return current().flatMap(current -> current.get(eventId)).map(CatalogEntry::response);
+    }
+
+    // Same contract as the findAllActive/Expired*Events repository queries. Empty when the catalog is not serving
+    // or the requested sort column is not kept presorted.
+    public Optional<Page<CommonEventResponse>> findPage(boolean oneTime, boolean expired, PageRequestDto pageRequest) {
+        Optional<CatalogSnapshot> current = current();
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        Pageable pageable = new PageRequestDto().getPageable(pageRequest);
+        Sort.Order order = pageable.getSort().iterator().next();
+        LocalDateTime now = LocalDateTime.now();
+        List<CatalogEntry> matching = current.get().sortedBy(oneTime, order.getProperty(), expired, now);
+        if (matching == null) {
+            return Optional.empty();
+        }
+
+        // the page is cut straight out of the presorted list , descending pages are counted from its end
+        int size = matching.size();
+        int from = (int) Math.min(pageable.getOffset(), size);
+        int to = Math.min(from + pageable.getPageSize(), size);
+        List<CatalogEntry> page = order.isDescending()
+                ? new ArrayList<>(matching.subList(size - to, size - from))
+                : matching.subList(from, to);
+        if (order.isDescending()) {
+            Collections.reverse(page);
+        }
+        List<CommonEventResponse> content = page.stream().map(CatalogEntry::response).toList();
+        return Optional.of(new PageImpl<>(content, pageable, size));
+    }
+
+    // Profile section of an organisation , ascending by startsAt like the findAll*Events(orgId , now) queries.
+    // Empty when the catalog is not serving or the organisation is hidden from the public , its events are not in the snapshot then.
+    public Optional<List<CommonEventResponse>> findOrganisationEvents(Organisation organisation, EventTimeline.Section section, LocalDateTime now) {
+        Optional<CatalogSnapshot> current = current();
+        if (current.isEmpty() || !isPubliclyVisible(organisation)) {
+            return Optional.empty();
+        }
+        EventTimeline timeline = current.get().timelineOfOrganisation(organisation.getId());
+        if (timeline == null) {
+            return Optional.of(List.of());
+        }
+        return Optional.of(timeline.section(section, now).stream().map(CatalogEntry::response).toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialise() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // safety net for changes that do not go through the application (manual sql , other instances)
+    @Scheduled(fixedDelayString = "${eventforge.catalog.snapshot.refresh-interval-ms:300000}",
+            initialDelayString = "${eventforge.catalog.snapshot.refresh-interval-ms:300000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        List<CatalogEntry> entries = eventRepository.findAllLegalEventsForCatalog().stream().map(this::toEntry).toList();
+        snapshot.set(CatalogSnapshot.of(entries));
+        log.info("Catalog snapshot rebuilt with {} events", entries.size());
+    }
+
+    @EventListener
+    public synchronized void onEventChanged(EventChangedEvent changedEvent) {
+        CatalogSnapshot current = snapshot.get();
+        if (!enabled || current == null) {
+            return;
+        }
+        Long eventId = changedEvent.getEventId();
+        // reloaded rather than taken from the event , the image is saved separately and may not be attached to it
+        Optional<Event> visible = changedEvent.getChangeType() == EventChangedEvent.ChangeType.DELETED
+                ? Optional.empty()
+                : Optional.ofNullable(eventRepository.findLegalEventForCatalog(eventId));
+        snapshot.set(current.with(visible.map(this::toEntry).stream().toList(), List.of(eventId)));
+    }
+
+    // locking , approving or editing an organisation changes which of its events are visible and how they render
+    @EventListener
+    public synchronized void onAccountChanged(AccountChangedEvent changedEvent) {
+        CatalogSnapshot current = snapshot.get();
+        if (!enabled || current == null) {
+            return;
+        }
+        List<Long> previous = current.entriesOfUser(changedEvent.getUserId()).stream().map(CatalogEntry::id).toList();
+        List<CatalogEntry> reloaded = eventRepository.findAllLegalEventsForCatalogByUserId(changedEvent.getUserId())
+                .stream().map(this::toEntry).toList();
+        snapshot.set(current.with(reloaded, previous));
+    }
+
+    // mirrors EventRepository.LEGAL_USER_CONDITION
+    private boolean isPubliclyVisible(Organisation organisation) {
+        User user = organisation.getUser();
+        return user != null && Boolean.TRUE.equals(user.getIsNonLocked()) && Boolean.TRUE.equals(user.getIsApprovedByAdmin());
+    }
+
+    private Optional<CatalogSnapshot> current() {
+        return enabled ? Optional.ofNullable(snapshot.get()) : Optional.empty();
+    }
+
+    private double ageInSeconds() {
+        return current().map(current -> Duration.between(current.getBuiltAt(), Instant.now()).toMillis() / 1000.0).orElse(0.0);
+    }
+
+    private CatalogEntry toEntry(Event event) {
+        return new CatalogEntry(event.getId(),
+                event.getOrganisation().getId(),
+                event.getOrganisation().getUser().getId(),
+                event.getName(),
+                Boolean.TRUE.equals(event.getIsOneTime()),
+                event.getStartsAt(),
+                event.getEndsAt(),
+                event.getCreatedAt(),
+                responseFactory.buildCommonEventResponse(event));
+    }
+}
@@ -0,0 +1,211 @@
+package com.eventforge.catalog;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+// Immutable time index over catalog entries. Every query takes the moment to classify against,
+// so nothing has to be advanced as the clock moves ; a snapshot update derives a new timeline with with().
+// The classifications mirror the repository queries :
+//   expired  - endsAt < t                  (EXPIRED_CONDITION , findAllExpiredEvents)
+//   unexpired - endsAt >= t                (UNEXPIRED_CONDITION)
+//   active   - startsAt < t and endsAt >= t (findAllActiveEvents)
+//   upcoming - startsAt > t                 (findAllUpcomingEvents , findThreeUpcomingEvents)
+public final class EventTimeline {
+    public enum Section {
+        EXPIRED, ACTIVE, UPCOMING
+    }
+
+    private static final Comparator<CatalogEntry> BY_START = Comparator.comparing(CatalogEntry::startsAt).thenComparing(CatalogEntry::id);
+    private static final Comparator<CatalogEntry> BY_END = Comparator.comparing(CatalogEntry::endsAt).thenComparing(CatalogEntry::id);
+
+    private final CatalogEntry[] byStart;
+    private final CatalogEntry[] byEnd;
+    // built on the first active() query , most timelines are only asked for upcoming or expired entries
+    private volatile IntervalNode root;
+
+    private EventTimeline(CatalogEntry[] byStart, CatalogEntry[] byEnd) {
+        this.byStart = byStart;
+        this.byEnd = byEnd;
+    }
+
+    // entries without a start or end date never match a time condition in sql either , so they are left out
+    public static EventTimeline of(Collection<CatalogEntry> entries) {
+        CatalogEntry[] dated = dated(entries).toArray(CatalogEntry[]::new);
+        CatalogEntry[] byStart = dated.clone();
+        CatalogEntry[] byEnd = dated.clone();
+        Arrays.sort(byStart, BY_START);
+        Arrays.sort(byEnd, BY_END);
+        return new EventTimeline(byStart, byEnd);
+    }
+
+    // copy of this timeline without the removed entries and with the added ones , removed entries must be passed as they were added
+    public EventTimeline with(Collection<CatalogEntry> removed, Collection<CatalogEntry> added) {
+        List<CatalogEntry> datedRemoved = dated(removed);
+        List<CatalogEntry> datedAdded = dated(added);
+        if (datedRemoved.isEmpty() && datedAdded.isEmpty()) {
+            return this;
+        }
+        return new EventTimeline(
+                SortedEntries.apply(Arrays.asList(byStart), BY_START, datedRemoved, datedAdded).toArray(CatalogEntry[]::new),
+                SortedEntries.apply(Arrays.asList(byEnd), BY_END, datedRemoved, datedAdded).toArray(CatalogEntry[]::new));
+    }
+
+    public List<CatalogEntry> section(Section section, LocalDateTime time) {
+        return switch (section) {
+            case EXPIRED -> expired(time);
+            case ACTIVE -> active(time);
+            case UPCOMING -> upcoming(time, Integer.MAX_VALUE);
+        };
+    }
+
+    // ascending by startsAt
+    public List<CatalogEntry> upcoming(LocalDateTime time, int limit) {
+        int from = firstStartAfter(time);
+        return List.of(Arrays.copyOfRange(byStart, from, (int) Math.min((long) from + limit, byStart.length)));
+    }
+
+    // ascending by startsAt
+    public List<CatalogEntry> expired(LocalDateTime time) {
+        CatalogEntry[] expired = Arrays.copyOfRange(byEnd, 0, countExpired(time));
+        Arrays.sort(expired, BY_START);
+        return List.of(expired);
+    }
+
+    // ascending by startsAt
+    public List<CatalogEntry> active(LocalDateTime time) {
+        List<CatalogEntry> active = new ArrayList<>();
+        IntervalNode tree = tree();
+        if (tree != null) {
+            tree.collectActive(time, active);
+        }
+        active.sort(BY_START);
+        return active;
+    }
+
+    public int countExpired(LocalDateTime time) {
+        int low = 0;
+        int high = byEnd.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byEnd[mid].endsAt().isBefore(time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public int countUnexpired(LocalDateTime time) {
+        return byEnd.length - countExpired(time);
+    }
+
+    public int size() {
+        return byStart.length;
+    }
+
+    // a race only builds the same tree twice
+    private IntervalNode tree() {
+        IntervalNode tree = root;
+        if (tree == null && byStart.length > 0) {
+            tree = IntervalNode.build(Arrays.asList(byStart));
+            root = tree;
+        }
+        return tree;
+    }
+
+    private static List<CatalogEntry> dated(Collection<CatalogEntry> entries) {
+        return entries.stream().filter(entry -> entry.startsAt() != null && entry.endsAt() != null).toList();
+    }
+
+    private int firstStartAfter(LocalDateTime time) {
+        int low = 0;
+        int high = byStart.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byStart[mid].startsAt().isAfter(time)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // Centered interval tree. A node keeps the intervals that contain its center , once sorted by start and once by end ,
+    // intervals ending before the center go left and the ones starting after it go right.
+    // A stabbing query touches one node per level plus the reported intervals.
+    private static final class IntervalNode {
+        private final LocalDateTime center;
+        private final CatalogEntry[] byStart;
+        private final CatalogEntry[] byEndDescending;
+        private final IntervalNode left;
+        private final IntervalNode right;
+
+        private IntervalNode(LocalDateTime center, List<CatalogEntry> overlapping, IntervalNode left, IntervalNode right) {
+            this.center = center;
+            this.byStart = overlapping.stream().sorted(BY_START).toArray(CatalogEntry[]::new);
+            this.byEndDescending = overlapping.stream().sorted(BY_END.reversed()).toArray(CatalogEntry[]::new);
+            this.left = left;
+            this.right = right;
+        }
+
+        static IntervalNode build(List<CatalogEntry> entries) {
+            if (entries.isEmpty()) {
+                return null;
+            }
+            LocalDateTime[] endpoints = new LocalDateTime[entries.size() * 2];
+            for (int i = 0; i < entries.size(); i++) {
+                endpoints[2 * i] = entries.get(i).startsAt();
+                endpoints[2 * i + 1] = entries.get(i).endsAt();
+            }
+            Arrays.sort(endpoints);
+            LocalDateTime center = endpoints[endpoints.length / 2];
+
+            List<CatalogEntry> before = new ArrayList<>();
+            List<CatalogEntry> after = new ArrayList<>();
+            List<CatalogEntry> overlapping = new ArrayList<>();
+            for (CatalogEntry entry : entries) {
+                if (entry.endsAt().isBefore(center)) {
+                    before.add(entry);
+                } else if (entry.startsAt().isAfter(center)) {
+                    after.add(entry);
+                } else {
+                    overlapping.add(entry);
+                }
+            }
+            return new IntervalNode(center, overlapping, build(before), build(after));
+        }
+
+        // startsAt < time <= endsAt
+        void collectActive(LocalDateTime time, List<CatalogEntry> result) {
+            if (time.isAfter(center)) {
+                // every interval here starts at or before the center , only the end needs checking
+                for (CatalogEntry entry : byEndDescending) {
+                    if (entry.endsAt().isBefore(time)) {
+                        break;
+                    }
+                    result.add(entry);
+                }
+                if (right != null) {
+                    right.collectActive(time, result);
+                }
+            } else {
+                // every interval here ends at or after the center , only the start needs checking
+                for (CatalogEntry entry : byStart) {
+                    if (!entry.startsAt().isBefore(time)) {
+                        break;
+                    }
+                    result.add(entry);
+                }
+                if (time.isBefore(center) && left != null) {
+                    left.collectActive(time, result);
+                }
+            }
+        }
+    }
+}
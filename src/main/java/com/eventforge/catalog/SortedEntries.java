@@ -0,0 +1,36 @@
+package com.eventforge.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Applies a small change set to a list that is already sorted , so a snapshot update costs a copy instead of a sort.
+final class SortedEntries {
+    private SortedEntries() {
+    }
+
+    // the comparator must be the one the list is sorted by and must not consider two distinct entries equal
+    static List<CatalogEntry> apply(List<CatalogEntry> sorted, Comparator<CatalogEntry> order,
+                                    Collection<CatalogEntry> removed, Collection<CatalogEntry> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return sorted;
+        }
+        List<CatalogEntry> result = new ArrayList<>(sorted.size() + added.size());
+        result.addAll(sorted);
+        for (CatalogEntry entry : removed) {
+            int index = Collections.binarySearch(result, entry, order);
+            if (index >= 0) {
+                result.remove(index);
+            }
+        }
+        for (CatalogEntry entry : added) {
+            int index = Collections.binarySearch(result, entry, order);
+            if (index < 0) {
+                result.add(-index - 1, entry);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
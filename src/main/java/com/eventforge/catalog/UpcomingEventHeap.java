@@ -0,0 +1,145 @@
+package com.eventforge.catalog;
+
+import com.eventforge.domain.AccountChangedEvent;
+import com.eventforge.domain.EventChangedEvent;
+import com.eventforge.dto.projection.EventListView;
+import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.factory.ResponseFactory;
+import com.eventforge.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// The next visible events to start , for the home page. A bounded min-heap by startsAt holds the first
+// `capacity` upcoming events and is kept current by the change events ; entries are evicted once they start.
+// The answer for the home page is cached until its first event starts , so steady state reads take no lock and no query.
+@Service
+@Slf4j
+public class UpcomingEventHeap {
+    private static final Comparator<Entry> BY_START = Comparator.comparing(Entry::startsAt).thenComparing(Entry::id);
+
+    private final EventRepository eventRepository;
+    private final ResponseFactory responseFactory;
+    private final int capacity;
+
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(BY_START);
+    // false until loaded and after a change that can not be applied in place
+    private boolean warm;
+    // true when the heap holds every upcoming event , not only the first capacity of them
+    private boolean complete;
+
+    private volatile Head head;
+
+    public UpcomingEventHeap(EventRepository eventRepository,
+                             ResponseFactory responseFactory,
+                             @Value("${eventforge.upcoming.capacity:50}") int capacity) {
+        this.eventRepository = eventRepository;
+        this.responseFactory = responseFactory;
+        this.capacity = capacity;
+    }
+
+    // ascending by startsAt , same result as EventRepository.findThreeUpcomingEvents for limit 3
+    public List<CommonEventResponse> next(int limit, LocalDateTime now) {
+        Head current = head;
+        if (current != null && current.serves(limit, now)) {
+            return current.events().subList(0, Math.min(limit, current.events().size()));
+        }
+        return recompute(limit, now);
+    }
+
+    @EventListener
+    public synchronized void onEventChanged(EventChangedEvent changedEvent) {
+        if (!warm) {
+            return;
+        }
+        heap.removeIf(entry -> entry.id().equals(changedEvent.getEventId()));
+        if (changedEvent.getChangeType() != EventChangedEvent.ChangeType.DELETED) {
+            // reloaded for the visibility condition and the organisation name
+            EventListView view = eventRepository.findLegalEventView(changedEvent.getEventId());
+            if (view != null && view.startsAt() != null && view.startsAt().isAfter(LocalDateTime.now())) {
+                offer(new Entry(view.id(), view.startsAt(), responseFactory.buildCommonEventResponse(view)));
+            }
+        }
+        head = null;
+    }
+
+    // locking , approving or editing an organisation changes which events are visible and how they render
+    @EventListener
+    public synchronized void onAccountChanged(AccountChangedEvent changedEvent) {
+        warm = false;
+        head = null;
+    }
+
+    public synchronized int size() {
+        return heap.size();
+    }
+
+    private synchronized List<CommonEventResponse> recompute(int limit, LocalDateTime now) {
+        Head current = head;
+        if (current != null && current.serves(limit, now)) {
+            return current.events().subList(0, Math.min(limit, current.events().size()));
+        }
+        while (!heap.isEmpty() && !heap.peek().startsAt().isAfter(now)) {
+            heap.poll();
+        }
+        if (!warm || (heap.size() < limit && !complete)) {
+            reload(now);
+        }
+
+        List<Entry> first = new ArrayList<>(limit);
+        while (first.size() < limit && !heap.isEmpty()) {
+            first.add(heap.poll());
+        }
+        heap.addAll(first);
+
+        List<CommonEventResponse> events = first.stream().map(Entry::response).toList();
+        // valid until the first of them starts , or until the next change event
+        LocalDateTime validUntil = first.isEmpty() ? null : first.get(0).startsAt();
+        head = new Head(events, limit, validUntil);
+        return events;
+    }
+
+    private void reload(LocalDateTime now) {
+        List<EventListView> views = eventRepository.findUpcomingEventViews(now, PageRequest.of(0, capacity));
+        heap.clear();
+        views.forEach(view -> heap.add(new Entry(view.id(), view.startsAt(), responseFactory.buildCommonEventResponse(view))));
+        complete = views.size() < capacity;
+        warm = true;
+        log.debug("Upcoming event heap reloaded with {} events", views.size());
+    }
+
+    // An incomplete heap is always the first n upcoming events. An entry after the latest one held could skip
+    // events that are only in the database , it is left to the next reload.
+    private void offer(Entry entry) {
+        if (!complete && (heap.isEmpty() || BY_START.compare(entry, latest()) > 0)) {
+            return;
+        }
+        heap.add(entry);
+        if (heap.size() > capacity) {
+            heap.remove(latest());
+            complete = false;
+        }
+    }
+
+    private Entry latest() {
+        return heap.stream().max(BY_START).orElseThrow();
+    }
+
+    private record Entry(Long id, LocalDateTime startsAt, CommonEventResponse response) {
+    }
+
+    // validUntil is null for an empty answer , that one holds until the next change event
+    private record Head(List<CommonEventResponse> events, int limit, LocalDateTime validUntil) {
+        boolean serves(int requested, LocalDateTime now) {
+            return requested <= limit && (validUntil == null || validUntil.isAfter(now));
+        }
+    }
+}
@@ -3,9 +3,12 @@ package com.eventforge.config;
 import com.eventforge.exception.CustomAuthenticationEntryPoint;
 import com.eventforge.exception.CustomAccessDeniedHandler;
 import com.eventforge.repository.OrganisationRepository;
+import com.eventforge.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
@@ -46,9 +49,13 @@ public class AppConfigs {
         return authConfiguration.getAuthenticationManager();
     }
 
+    // threads <= 0 uses half of the cores , bcrypt work never takes the whole machine
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${eventforge.security.password-hashing.threads:0}") int threads,
+                                           @Value("${eventforge.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        int hashingThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), hashingThreads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -15,19 +15,29 @@ public class MailConfig {
     private String springMailUsername;
     @Value("${spring.mail.password}")
     private String springMailPassword;
+    @Value("${spring.mail.host:smtp.gmail.com}")
+    private String springMailHost;
+    @Value("${spring.mail.port:587}")
+    private int springMailPort;
+    @Value("${eventforge.email.smtp-timeout-ms:10000}")
+    private int smtpTimeoutMs;
 
     @Bean
     public JavaMailSender javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         // Configure the mail properties
-        mailSender.setHost("smtp.gmail.com");
-        mailSender.setPort(587);
+        mailSender.setHost(springMailHost);
+        mailSender.setPort(springMailPort);
         mailSender.setUsername(springMailUsername);
         mailSender.setPassword(springMailPassword);
 
         Properties properties = new Properties();
         properties.put("mail.smtp.auth", true);
         properties.put("mail.smtp.starttls.enable", true);
+        // a hanging smtp server holds an EmailOutbox sender , not a request thread , but it must not hold it forever
+        properties.put("mail.smtp.connectiontimeout", smtpTimeoutMs);
+        properties.put("mail.smtp.timeout", smtpTimeoutMs);
+        properties.put("mail.smtp.writetimeout", smtpTimeoutMs);
         mailSender.setJavaMailProperties(properties);
 
 
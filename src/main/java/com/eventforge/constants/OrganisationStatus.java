@@ -0,0 +1,17 @@
+package com.eventforge.constants;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Filters of the admin organisation management page. A null flag means the status does not restrict it.
+@Getter
+@RequiredArgsConstructor
+public enum OrganisationStatus {
+    PENDING_APPROVAL(false, null, null),
+    LOCKED(null, false, null),
+    UNVERIFIED(null, null, false);
+
+    private final Boolean approvedByAdmin;
+    private final Boolean nonLocked;
+    private final Boolean enabled;
+}
@@ -0,0 +1,7 @@
+package com.eventforge.constants;
+
+public enum OutboxEmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,151 @@
+package com.eventforge.contact;
+
+import com.eventforge.exception.ContactQueueFullException;
+import com.eventforge.lifecycle.BackgroundWorker;
+import com.eventforge.model.Contact;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind buffer for the public contact form. Submissions are acknowledged once queued and a single
+// worker inserts them in JDBC batches , they are only read later from the admin contact list.
+// A full queue rejects the submission with 503 instead of blocking the request thread.
+// A batch that fails to write is retried with exponential backoff , meanwhile the queue fills up and new submissions
+// are rejected rather than acknowledged. Only a batch that still fails after max-attempts is dropped , its rows are logged.
+@Service
+@Slf4j
+public class ContactIngestionQueue extends BackgroundWorker {
+    static final String INSERT_CONTACT = "insert into contact (email, subject, text, is_answered, created_at) values (?, ?, ?, ?, ?)";
+    private static final int RETRY_AFTER_SECONDS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Contact> queue;
+    private final int batchSize;
+    private final long pollTimeoutMs;
+    private final List<Contact> batch;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final Timer flushTimer;
+    private final Counter rejected;
+    private final Counter retried;
+    private final Counter dropped;
+
+    public ContactIngestionQueue(JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${eventforge.contact.queue.capacity:1000}") int capacity,
+                                 @Value("${eventforge.contact.queue.batch-size:100}") int batchSize,
+                                 @Value("${eventforge.contact.queue.poll-timeout-ms:500}") long pollTimeoutMs,
+                                 @Value("${eventforge.contact.queue.max-attempts:5}") int maxAttempts,
+                                 @Value("${eventforge.contact.queue.retry-backoff-ms:200}") long retryBackoffMs) {
+        super("contact-ingestion", pollTimeoutMs);
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.batch = new ArrayList<>(batchSize);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        Gauge.builder("eventforge.contact.queue.depth", queue, BlockingQueue::size)
+                .description("Contact submissions waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("eventforge.contact.queue.flush")
+                .description("Time to write one batch of contact submissions")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("eventforge.contact.queue.rejected")
+                .description("Contact submissions rejected because the queue was full")
+                .register(meterRegistry);
+        this.retried = Counter.builder("eventforge.contact.queue.retried")
+                .description("Batch writes of contact submissions that failed and were tried again")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("eventforge.contact.queue.dropped")
+                .description("Contact submissions lost because their batch failed to write after every attempt")
+                .register(meterRegistry);
+    }
+
+    public void submit(Contact contact) {
+        contact.setIsAnswered(false);
+        // written with jdbc , @CreationTimestamp is not applied
+        contact.setCreatedAt(LocalDateTime.now());
+        if (!isRunning() || !queue.offer(contact)) {
+            rejected.increment();
+            throw new ContactQueueFullException(RETRY_AFTER_SECONDS);
+        }
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    @Override
+    protected void work() throws InterruptedException {
+        Contact first = queue.poll(pollTimeoutMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        try {
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            flush(batch);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    @Override
+    protected void drain() {
+        List<Contact> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            flush(rest.subList(from, Math.min(from + batchSize, rest.size())));
+        }
+        log.info("Contact ingestion queue stopped , {} submissions written on shutdown", rest.size());
+    }
+
+    private void flush(List<Contact> batch) {
+        List<Object[]> rows = batch.stream().map(contact -> new Object[]{
+                contact.getEmail(),
+                contact.getSubject(),
+                contact.getText(),
+                contact.getIsAnswered(),
+                Timestamp.valueOf(contact.getCreatedAt())}).toList();
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                flushTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_CONTACT, rows));
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    dropped.increment(batch.size());
+                    // logged in full , the senders were already told the submission was received
+                    log.error("Failed to write {} contact submissions after {} attempts , dropping {}", batch.size(), attempt,
+                            rows.stream().map(Arrays::toString).toList(), e);
+                    return;
+                }
+                retried.increment();
+                log.warn("Failed to write {} contact submissions , attempt {} of {}", batch.size(), attempt, maxAttempts, e);
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                // the remaining attempts are made without waiting
+                Thread.currentThread().interrupt();
+            }
+            backoffMs *= 2;
+        }
+    }
+}
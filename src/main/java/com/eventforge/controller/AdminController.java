@@ -1,26 +1,37 @@
 package com.eventforge.controller;
 
+import com.eventforge.constants.OrganisationStatus;
 import com.eventforge.dto.request.ChangePasswordRequest;
+import com.eventforge.dto.request.PageRequestDto;
 import com.eventforge.dto.response.CommonEventResponse;
 import com.eventforge.dto.response.OrganisationResponse;
 import com.eventforge.dto.response.OrganisationResponseForAdmin;
 import com.eventforge.email.AdminContactEvent;
 import com.eventforge.model.Contact;
-import com.eventforge.model.Spammer;
+import com.eventforge.model.User;
 import com.eventforge.repository.ContactRepository;
-import com.eventforge.repository.SpammerRepository;
+import com.eventforge.security.CurrentUser;
 import com.eventforge.service.EventService;
+import com.eventforge.service.OrganisationExportService;
 import com.eventforge.service.OrganisationService;
+import com.eventforge.service.SpammerService;
 import com.eventforge.service.UserService;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -31,11 +42,13 @@ public class AdminController {
 
     private final OrganisationService organisationService;
 
+    private final OrganisationExportService organisationExportService;
+
     private final EventService eventService;
 
     private final ContactRepository contactRepository;
 
-    private final SpammerRepository spammerRepository;
+    private final SpammerService spammerService;
     private final ApplicationEventPublisher publisher;
 
     @GetMapping("/settings")
@@ -45,14 +58,36 @@ public class AdminController {
     }
 
     @PutMapping("update-profile")
-    public ResponseEntity<String> updateAdminProfile(@RequestHeader("Authorization")String authHeader , @Validated @RequestBody ChangePasswordRequest passwordRequest){
-        String result = userService.changeAccountPassword(authHeader , passwordRequest);
+    public ResponseEntity<String> updateAdminProfile(@CurrentUser User user , @Validated @RequestBody ChangePasswordRequest passwordRequest){
+        String result = userService.changeAccountPassword(user , passwordRequest);
         return new ResponseEntity<>(result ,HttpStatus.OK);
     }
     @GetMapping("/organisation-management")
     public ResponseEntity<List<OrganisationResponseForAdmin>> getAllOrganisationsForAdminByApprovedOrNot(@RequestHeader("Authorization")String authHeader ){
         return new ResponseEntity<>(organisationService.getAllOrganisationsForAdminByApprovedOrNot() ,HttpStatus.OK);
     }
+
+    @GetMapping("/organisation-management/page")
+    public ResponseEntity<Page<OrganisationResponseForAdmin>> getOrganisationsForAdminByPage(@RequestHeader("Authorization")String authHeader
+            , @RequestParam(value = "pageNo", required = false) Integer pageNo
+            , @RequestParam(value = "pageSize" , required = false) Integer pageSize
+            , @RequestParam(value = "sort" , required = false) Sort.Direction sort
+            , @RequestParam(value = "sortByColumn" ,required = false)String sortByColumn
+            , @RequestParam(value = "status" , required = false) OrganisationStatus status){
+        PageRequestDto pageRequestDto = new PageRequestDto(pageNo , pageSize , sort ,sortByColumn);
+        return new ResponseEntity<>(organisationService.getOrganisationsForAdmin(pageRequestDto, status) ,HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/organisation-management/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportOrganisationsForAdmin(@RequestHeader("Authorization")String authHeader
+            , @RequestParam(value = "status" , required = false) OrganisationStatus status){
+        StreamingResponseBody body = outputStream -> organisationExportService.writeCsv(status,
+                new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"organisations.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
     @GetMapping("/organisation/details/{id}")
     public ResponseEntity<OrganisationResponse> showOrganisationDetailsForAdmin(@RequestHeader("Authorization")String authHeader ,@PathVariable("id")Long orgId){
         return new ResponseEntity<>(organisationService.getOrganisationDetailsByIdWithoutCondition(orgId) , HttpStatus.OK);
@@ -97,15 +132,12 @@ public class AdminController {
     }
     @GetMapping("/spammer-list")
     public ResponseEntity<List<String>> listSpammers(@RequestHeader("Authorization")String authHeader){
-        List<String>spammersEmails = spammerRepository.findAll().stream().map(Spammer::getEmail).toList();
-        return new ResponseEntity<>(spammersEmails , HttpStatus.OK);
+        return new ResponseEntity<>(spammerService.getSpammerRules() , HttpStatus.OK);
     }
 
     @PostMapping("/spammer/{email}")
     public ResponseEntity<Void> markSpammer(@RequestHeader("Authorization")String authHeader , @PathVariable("email")String email){
-        if(spammerRepository.findByEmail(email).isEmpty()){
-            Spammer spammer = new Spammer(email);
-            spammerRepository.save(spammer);
+        if(spammerService.markSpammer(email)){
             return new ResponseEntity<>(HttpStatus.CREATED);
         }
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -113,8 +145,7 @@ public class AdminController {
 
     @DeleteMapping("/delete/spammer/{email}")
     public ResponseEntity<Void> removeSpammerFromBlackList(@RequestHeader("Authorization")String authHeader,@PathVariable("email")String email){
-        Optional<Spammer> spammer = spammerRepository.findByEmail(email);
-        spammer.ifPresent(spammerRepository::delete);
+        spammerService.removeSpammer(email);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
     @DeleteMapping("/delete-contact/{id}")
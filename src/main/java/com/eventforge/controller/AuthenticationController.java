@@ -61,8 +61,10 @@ public class AuthenticationController {
 
 
     @PostMapping("/authenticate")
-    public ResponseEntity<AuthenticationResponse> getTokenForAuthenticatedUser(@RequestBody JWTAuthenticationRequest authRequest) {
-        AuthenticationResponse authenticationResponse = authenticationService.authenticate(authRequest);
+    public ResponseEntity<AuthenticationResponse> getTokenForAuthenticatedUser(@RequestBody JWTAuthenticationRequest authRequest,
+                                                                               HttpServletRequest request) {
+        // the client behind a trusted proxy , see LoginAttemptThrottle
+        AuthenticationResponse authenticationResponse = authenticationService.authenticate(authRequest, request.getRemoteAddr());
         return ResponseEntity.ok().body(authenticationResponse);
     }
 
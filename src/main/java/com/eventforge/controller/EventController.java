@@ -3,6 +3,7 @@ package com.eventforge.controller;
 import com.eventforge.dto.request.CriteriaFilterRequest;
 import com.eventforge.dto.request.PageRequestDto;
 import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.dto.response.CursorPageResponse;
 import com.eventforge.service.PaginationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -23,10 +24,22 @@ public class EventController {
     public Page<CommonEventResponse> getEventsByCriteria(@RequestParam(value = "pageNo", required = false) Integer pageNo
             , @RequestParam(value = "pageSize", required = false) Integer pageSize
             , @RequestParam(value = "sort", required = false) Sort.Direction sort
-            , @RequestParam(value = "sortByColumn", required = false) String sortByColumn, @RequestBody CriteriaFilterRequest filterRequest) {
+            , @RequestParam(value = "sortByColumn", required = false) String sortByColumn
+            , @RequestParam(value = "withTotal", required = false, defaultValue = "true") boolean withTotal, @RequestBody CriteriaFilterRequest filterRequest) {
         PageRequestDto pageRequestDto = new PageRequestDto(pageNo, pageSize, sort, sortByColumn);
+        pageRequestDto.setWithTotal(withTotal);
 
         return paginationService.getEventsByCriteriaAndPagination(filterRequest, pageRequestDto);
     }
 
+    @PostMapping("/filter-by-criteria/scroll")
+    public CursorPageResponse<CommonEventResponse> scrollEventsByCriteria(@RequestParam(value = "after", required = false) String after
+            , @RequestParam(value = "pageSize", required = false) Integer pageSize
+            , @RequestParam(value = "sort", required = false) Sort.Direction sort
+            , @RequestParam(value = "sortByColumn", required = false) String sortByColumn, @RequestBody CriteriaFilterRequest filterRequest) {
+        PageRequestDto pageRequestDto = new PageRequestDto(0, pageSize, sort, sortByColumn);
+
+        return paginationService.scrollEventsByCriteria(filterRequest, pageRequestDto, after);
+    }
+
 }
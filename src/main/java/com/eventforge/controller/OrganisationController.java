@@ -11,6 +11,7 @@ import com.eventforge.model.Image;
 import com.eventforge.model.Organisation;
 import com.eventforge.model.User;
 import com.eventforge.repository.ImageRepository;
+import com.eventforge.security.CurrentUser;
 import com.eventforge.service.EventService;
 import com.eventforge.service.ImageService;
 import com.eventforge.service.OrganisationService;
@@ -44,18 +45,14 @@ public class OrganisationController {
     private final ImageRepository imageRepository;
 
     @GetMapping("/show-pictures")
-    public ResponseEntity<List<String>> getOrganisationLogoAndCover(@RequestHeader(AUTHORIZATION)String authHeader){
-        User user = userService.getLoggedUserByToken(authHeader);
-        Organisation org = organisationService.getOrganisationByUserId(user.getId());
+    public ResponseEntity<List<String>> getOrganisationLogoAndCover(@CurrentUser Organisation org){
         Image logo = imageRepository.findOrganisationLogoByOrgId(org.getId());
         Image cover = imageRepository.findOrganisationCoverPictureByOrgId(org.getId());
         return new ResponseEntity<>(Arrays.asList(logo.getUrl(),cover.getUrl()),HttpStatus.OK);
     }
 
     @PostMapping("/change-picture")
-    public ResponseEntity<String> updateLogo(@RequestHeader(AUTHORIZATION)String authHeader,@RequestParam(value = "logo" , required = false) String logo , @RequestParam(value = "cover" , required = false)String cover){
-        User user = userService.getLoggedUserByToken(authHeader);
-        Organisation organisation = organisationService.getOrganisationByUserId(user.getId());
+    public ResponseEntity<String> updateLogo(@CurrentUser Organisation organisation,@RequestParam(value = "logo" , required = false) String logo , @RequestParam(value = "cover" , required = false)String cover){
         imageService.saveImageToDb(logo, null , null, organisation , null);
         imageService.saveImageToDb(null , cover , null , organisation , null);
             return new ResponseEntity<>("Успешно променихте логото/корицата." , HttpStatus.OK);
@@ -63,13 +60,13 @@ public class OrganisationController {
 
 
     @GetMapping("/account-update")
-    public ResponseEntity<UpdateAccountRequest> updateAccountRequestResponseEntity(@RequestHeader(AUTHORIZATION) String authHeader) {
-        return new ResponseEntity<>(requestFactory.createUpdateAccountRequest(authHeader), HttpStatus.OK);
+    public ResponseEntity<UpdateAccountRequest> updateAccountRequestResponseEntity(@CurrentUser User user) {
+        return new ResponseEntity<>(requestFactory.createUpdateAccountRequest(user), HttpStatus.OK);
     }
 
     @PutMapping("/update")
-    public ResponseEntity<String> updateAccount(@RequestHeader(AUTHORIZATION) String authHeader, @Valid @RequestBody UpdateAccountRequest request) {
-        organisationService.updateOrganisation(request, authHeader);
+    public ResponseEntity<String> updateAccount(@CurrentUser User user, @Valid @RequestBody UpdateAccountRequest request) {
+        organisationService.updateOrganisation(request, user);
         return new ResponseEntity<>("Успешно обновихте акаунта си.", HttpStatus.OK);
     }
 
@@ -79,8 +76,8 @@ public class OrganisationController {
         return new ResponseEntity<>(changePasswordRequest , HttpStatus.OK);
     }
     @PutMapping("/update-password")
-    public ResponseEntity<String> changePassword(@RequestHeader(AUTHORIZATION) String token, @Validated @RequestBody ChangePasswordRequest request) {
-        return new ResponseEntity<>(userService.changeAccountPassword(token, request), HttpStatus.OK);
+    public ResponseEntity<String> changePassword(@CurrentUser User user, @Validated @RequestBody ChangePasswordRequest request) {
+        return new ResponseEntity<>(userService.changeAccountPassword(user, request), HttpStatus.OK);
     }
 
     @GetMapping("/getOrgByName/{name}")
@@ -89,8 +86,8 @@ public class OrganisationController {
     }
 
     @GetMapping("/show-my-events")
-    public ResponseEntity<List<CommonEventResponse>> showAllOrganisationEvents(@RequestHeader(AUTHORIZATION) String authHeader){
-       List<CommonEventResponse> eventResponse = eventService.getAllEventsByUserIdForOrganisation(authHeader);
+    public ResponseEntity<List<CommonEventResponse>> showAllOrganisationEvents(@CurrentUser User user){
+       List<CommonEventResponse> eventResponse = eventService.getAllEventsByUserIdForOrganisation(user);
         return new ResponseEntity<>(eventResponse , HttpStatus.OK);
     }
     @GetMapping("/create-event")
@@ -98,26 +95,26 @@ public class OrganisationController {
         return new ResponseEntity<>(new EventRequest() ,HttpStatus.OK);
     }
     @PostMapping("create-event")
-    public ResponseEntity<String> submitCreatedEvent(@Validated @RequestBody EventRequest eventRequest, @RequestHeader(AUTHORIZATION) String authHeader) {
-        entityFactory.createEvent(eventRequest , authHeader);
+    public ResponseEntity<String> submitCreatedEvent(@Validated @RequestBody EventRequest eventRequest, @CurrentUser Organisation organisation) {
+        entityFactory.createEvent(eventRequest , organisation);
         return new ResponseEntity<>("Успешно създадохте събитие", HttpStatus.CREATED);
     }
 
     @GetMapping("/update-event/{id}")
-    public ResponseEntity<EventRequest> getEventToUpdateByIdAndByOrganisation(@RequestHeader(AUTHORIZATION) String authHeader , @PathVariable("id") Long id){
-        EventRequest eventRequest = requestFactory.createEventRequestForUpdateOperation(id, authHeader);
+    public ResponseEntity<EventRequest> getEventToUpdateByIdAndByOrganisation(@CurrentUser User user , @PathVariable("id") Long id){
+        EventRequest eventRequest = requestFactory.createEventRequestForUpdateOperation(id, user);
         return new ResponseEntity<>(eventRequest , HttpStatus.CREATED);
     }
     @PutMapping("update/{id}")
-    public ResponseEntity<String> updateEventByOrganisation(@RequestHeader(AUTHORIZATION)String authHeader  ,@PathVariable("id") Long id,
+    public ResponseEntity<String> updateEventByOrganisation(@CurrentUser User user  ,@PathVariable("id") Long id,
                                               @Validated @RequestBody EventRequest eventRequest) {
-        eventService.updateEvent(id, eventRequest , authHeader);
+        eventService.updateEvent(id, eventRequest , user);
         return new ResponseEntity<>("Успешно редактирахте събитието си.", HttpStatus.OK);
     }
 
     @DeleteMapping("delete-event/{id}")
-    public ResponseEntity<String> deleteEventById(@RequestHeader("Authorization") String authHeader , @PathVariable("id")Long id){
-        eventService.deleteEventByIdAndUserIdForOrganisation(id , authHeader);
+    public ResponseEntity<String> deleteEventById(@CurrentUser User user , @PathVariable("id")Long id){
+        eventService.deleteEventByIdAndUserIdForOrganisation(id , user);
         return new ResponseEntity<>("Успешно изтрихте събитието си." , HttpStatus.OK);
     }
 
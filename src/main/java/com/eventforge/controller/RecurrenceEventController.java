@@ -2,6 +2,7 @@ package com.eventforge.controller;
 
 import com.eventforge.dto.request.PageRequestDto;
 import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.dto.response.CursorPageResponse;
 import com.eventforge.service.PaginationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -37,4 +38,22 @@ public class RecurrenceEventController{
 
         return paginationService.getAllExpiredRecurrenceEventsByPagination(pageRequestDto);
     }
+
+    @GetMapping("/active/scroll")
+    public CursorPageResponse<CommonEventResponse> scrollActiveRecurrenceEvents(@RequestParam(value = "after", required = false) String after
+            , @RequestParam(value = "pageSize" , required = false) Integer pageSize
+            , @RequestParam(value = "sort" , required = false) Sort.Direction sort
+            , @RequestParam(value = "sortByColumn" ,required = false)String sortByColumn) {
+        PageRequestDto pageRequestDto = new PageRequestDto(0 , pageSize , sort ,sortByColumn);
+        return paginationService.scrollEvents(false, false, pageRequestDto, after);
+    }
+
+    @GetMapping("/expired/scroll")
+    public CursorPageResponse<CommonEventResponse> scrollExpiredRecurrenceEvents(@RequestParam(value = "after", required = false) String after
+            , @RequestParam(value = "pageSize" , required = false) Integer pageSize
+            , @RequestParam(value = "sort" , required = false) Sort.Direction sort
+            , @RequestParam(value = "sortByColumn" ,required = false)String sortByColumn) {
+        PageRequestDto pageRequestDto = new PageRequestDto(0 , pageSize , sort ,sortByColumn);
+        return paginationService.scrollEvents(false, true, pageRequestDto, after);
+    }
 }
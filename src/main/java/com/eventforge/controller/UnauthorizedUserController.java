@@ -1,15 +1,16 @@
 package com.eventforge.controller;
 
 import com.eventforge.constants.Constant;
+import com.eventforge.contact.ContactIngestionQueue;
 import com.eventforge.dto.request.PageRequestDto;
 import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.dto.response.CursorPageResponse;
 import com.eventforge.dto.response.OrganisationResponse;
 import com.eventforge.model.Contact;
-import com.eventforge.repository.ContactRepository;
-import com.eventforge.repository.SpammerRepository;
 import com.eventforge.service.EventService;
 import com.eventforge.service.OrganisationService;
 import com.eventforge.service.PaginationService;
+import com.eventforge.service.SpammerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
@@ -32,9 +33,9 @@ public class UnauthorizedUserController {
 
     private final PaginationService paginationService;
 
-    private final ContactRepository contactRepository;
+    private final ContactIngestionQueue contactIngestionQueue;
 
-    private final SpammerRepository spammerRepository;
+    private final SpammerService spammerService;
 
     @GetMapping
     public Page<OrganisationResponse> showAllOrganisationsForUnauthorizedUser(@RequestParam(name = "search", required = false) String search
@@ -46,6 +47,15 @@ public class UnauthorizedUserController {
         return paginationService.getAllOrganisationsForUnauthorizedUser(pageRequestDto, search);
     }
 
+    @GetMapping("/scroll")
+    public CursorPageResponse<OrganisationResponse> scrollOrganisationsForUnauthorizedUser(@RequestParam(value = "after", required = false) String after
+            , @RequestParam(value = "pageSize", required = false) Integer pageSize
+            , @RequestParam(value = "sort", required = false) Sort.Direction sort
+            , @RequestParam(value = "sortByColumn", required = false) String sortByColumn) {
+        PageRequestDto pageRequestDto = new PageRequestDto(0 , pageSize , sort ,sortByColumn);
+        return paginationService.scrollOrganisationsForUnauthorizedUser(pageRequestDto, after);
+    }
+
     @GetMapping("/organisation/details/{organisationId}")
     public ResponseEntity<OrganisationResponse> getOrganisationDetails(@PathVariable("organisationId") Long id) {
         return new ResponseEntity<>(organisationService.getOrganisationDetailsByIdWithCondition(id), HttpStatus.OK);
@@ -61,9 +71,8 @@ public class UnauthorizedUserController {
     }
     @PostMapping("send-contact")
     public ResponseEntity<Void> contact(@RequestBody Contact contactForm){
-        if(spammerRepository.findByEmail(contactForm.getEmail()).isEmpty()){
-            contactForm.setIsAnswered(false);
-            contactRepository.save(contactForm);
+        if(!spammerService.isBlocked(contactForm.getEmail())){
+            contactIngestionQueue.submit(contactForm);
             return new ResponseEntity<>(HttpStatus.CREATED);
         }
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
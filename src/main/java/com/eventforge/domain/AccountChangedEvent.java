@@ -0,0 +1,22 @@
+package com.eventforge.domain;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class AccountChangedEvent extends ApplicationEvent {
+    public enum ChangeType {
+        APPROVED, ENABLED, LOCKED, UNLOCKED, PROFILE_UPDATED
+    }
+
+    private final Long userId;
+    private final String username;
+    private final ChangeType changeType;
+
+    public AccountChangedEvent(Long userId, String username, ChangeType changeType) {
+        super(changeType);
+        this.userId = userId;
+        this.username = username;
+        this.changeType = changeType;
+    }
+}
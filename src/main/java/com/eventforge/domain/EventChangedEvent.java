@@ -0,0 +1,36 @@
+package com.eventforge.domain;
+
+import com.eventforge.model.Event;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+@Getter
+public class EventChangedEvent extends ApplicationEvent {
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Long eventId;
+    private final ChangeType changeType;
+    // null for DELETED
+    private final transient Event event;
+
+    public EventChangedEvent(Long eventId, ChangeType changeType, Event event) {
+        super(event != null ? event : eventId);
+        this.eventId = eventId;
+        this.changeType = changeType;
+        this.event = event;
+    }
+
+    public static EventChangedEvent created(Event event) {
+        return new EventChangedEvent(event.getId(), ChangeType.CREATED, event);
+    }
+
+    public static EventChangedEvent updated(Event event) {
+        return new EventChangedEvent(event.getId(), ChangeType.UPDATED, event);
+    }
+
+    public static EventChangedEvent deleted(Long eventId) {
+        return new EventChangedEvent(eventId, ChangeType.DELETED, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.eventforge.dto.projection;
+
+import java.time.LocalDateTime;
+
+// The columns an event list renders , read straight into CommonEventResponse without managing the entity.
+public record EventListView(Long id,
+                            Long orgId,
+                            Long imageId,
+                            String imageUrl,
+                            String name,
+                            String organisationName,
+                            Boolean isOnline,
+                            String description,
+                            String address,
+                            String facebookLink,
+                            String eventCategories,
+                            double price,
+                            Integer minAge,
+                            Integer maxAge,
+                            LocalDateTime startsAt,
+                            LocalDateTime endsAt,
+                            Boolean isOneTime,
+                            String recurrenceDetails) {
+}
@@ -0,0 +1,5 @@
+package com.eventforge.dto.projection;
+
+// How many events an organisation created in a period.
+public record OrganisationActivityView(Long orgId, Long events) {
+}
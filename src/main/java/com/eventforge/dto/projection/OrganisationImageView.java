@@ -0,0 +1,7 @@
+package com.eventforge.dto.projection;
+
+import com.eventforge.constants.ImageType;
+
+// Logo or cover url of an organisation , read for a whole page of organisations at once.
+public record OrganisationImageView(Long orgId, ImageType type, String url) {
+}
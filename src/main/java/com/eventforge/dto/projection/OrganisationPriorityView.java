@@ -0,0 +1,5 @@
+package com.eventforge.dto.projection;
+
+// One priority category of an organisation , read for a whole page of organisations at once.
+public record OrganisationPriorityView(Long orgId, String category) {
+}
@@ -22,6 +22,8 @@ public class PageRequestDto {
 
     private String sortByColumn = "name";
 
+    private boolean withTotal = true;
+
     public Pageable getPageable(PageRequestDto pageRequestDto) {
         Integer page = Objects.nonNull(pageRequestDto.getPageNo()) ? pageRequestDto.getPageNo() : this.pageNo;
         Integer size = Objects.nonNull(pageRequestDto.getPageSize()) ? pageRequestDto.getPageSize() : this.pageSize;
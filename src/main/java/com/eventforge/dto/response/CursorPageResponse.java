@@ -0,0 +1,31 @@
+package com.eventforge.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    // opaque token that has to be sent back as "after" to receive the next slice
+    private String nextCursor;
+
+    public <R> CursorPageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mappedContent = content.stream().<R>map(mapper).toList();
+        return new CursorPageResponse<>(mappedContent, size, hasNext, nextCursor);
+    }
+
+    // for mappers that convert the whole slice at once
+    public <R> CursorPageResponse<R> mapContent(Function<List<T>, List<R>> mapper) {
+        return new CursorPageResponse<>(mapper.apply(content), size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,305 @@
+package com.eventforge.email;
+
+import com.eventforge.constants.OutboxEmailStatus;
+import com.eventforge.lifecycle.BackgroundWorker;
+import com.eventforge.model.OutboxEmail;
+import com.eventforge.repository.OutboxEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Outgoing email. enqueue writes a row to email_outbox in the caller's transaction , so the mail is sent
+// exactly when the registration , token or answer it belongs to commits , and the request never waits for smtp.
+// A poller claims due rows and hands them in batches to a small pool ; each batch goes out over one smtp connection.
+// A failed mail is retried with exponential backoff until max-attempts , then it is kept as FAILED.
+// The body holds generated passwords and verification links , it is cleared once the row is SENT or FAILED
+// and the row itself is purged by the Scheduler after the retention.
+// A claim moves next_attempt_at forward by the lease , a row whose sender died is picked up again after it.
+@Service
+@Slf4j
+public class EmailOutbox extends BackgroundWorker {
+    private static final String SENDER_NAME = "Активна Варна";
+    private static final String REPLY_TO = "noreply@active-varna.com";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender mailSender;
+    private final String senderEmail;
+    private final int threads;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration drainTimeout;
+
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+    private final Counter retried;
+    private final Counter failed;
+
+    // one permit per idle sending thread , the poller only claims what it can send right away
+    private final Semaphore idleSenders;
+    private final Semaphore wakeUps = new Semaphore(0);
+
+    private ExecutorService senders;
+
+    public EmailOutbox(OutboxEmailRepository outboxEmailRepository,
+                       JavaMailSender mailSender,
+                       MeterRegistry meterRegistry,
+                       @Value("${spring.mail.username}") String senderEmail,
+                       @Value("${eventforge.email.outbox.threads:2}") int threads,
+                       @Value("${eventforge.email.outbox.batch-size:20}") int batchSize,
+                       @Value("${eventforge.email.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                       @Value("${eventforge.email.outbox.max-attempts:8}") int maxAttempts,
+                       @Value("${eventforge.email.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                       @Value("${eventforge.email.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+                       @Value("${eventforge.email.outbox.lease-seconds:300}") long leaseSeconds,
+                       @Value("${eventforge.email.outbox.drain-timeout-seconds:20}") long drainTimeoutSeconds) {
+        super("email-outbox", pollIntervalMs);
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.mailSender = mailSender;
+        this.senderEmail = senderEmail;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.drainTimeout = Duration.ofSeconds(drainTimeoutSeconds);
+        this.idleSenders = new Semaphore(threads);
+        // counted on scrape , not on every poll
+        Gauge.builder("eventforge.email.outbox.depth", outboxEmailRepository, repository -> repository.countByStatus(OutboxEmailStatus.PENDING))
+                .description("Emails waiting to be sent")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("eventforge.email.send")
+                .description("Time to send one batch of emails over one smtp connection")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("eventforge.email.outbox.delivery")
+                .description("Time from enqueueing an email to sending it")
+                .register(meterRegistry);
+        this.retried = Counter.builder("eventforge.email.retried")
+                .description("Email sends that failed and were scheduled again")
+                .register(meterRegistry);
+        this.failed = Counter.builder("eventforge.email.failed")
+                .description("Emails given up after the last attempt")
+                .register(meterRegistry);
+    }
+
+    public OutboxEmail enqueue(String recipient, String subject, String htmlBody) {
+        OutboxEmail email = outboxEmailRepository.save(new OutboxEmail(recipient, subject, htmlBody, LocalDateTime.now()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+        return email;
+    }
+
+    public void wakeUp() {
+        wakeUps.release();
+    }
+
+    @Override
+    protected void onStart() {
+        AtomicInteger count = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "email-sender-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    protected void onStopping() {
+        wakeUp();
+    }
+
+    // the timed acquire returns while every sender is busy , so a stop is noticed within one poll interval
+    @Override
+    protected void work() throws InterruptedException {
+        if (!idleSenders.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS)) {
+            return;
+        }
+        List<OutboxEmail> batch;
+        try {
+            batch = isRunning() ? claimBatch() : List.of();
+        } catch (RuntimeException e) {
+            // the database is unavailable , the rows are still there on the next poll
+            idleSenders.release();
+            throw e;
+        }
+        if (batch.isEmpty()) {
+            idleSenders.release();
+            wakeUps.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+            wakeUps.drainPermits();
+            return;
+        }
+        senders.execute(() -> {
+            try {
+                send(batch);
+            } finally {
+                idleSenders.release();
+            }
+        });
+    }
+
+    // batches already on their way are finished , then what is due is sent from here until the deadline
+    @Override
+    protected void drain() {
+        LocalDateTime deadline = LocalDateTime.now().plus(drainTimeout);
+        int drained = 0;
+        senders.shutdown();
+        try {
+            senders.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            List<OutboxEmail> batch;
+            while (LocalDateTime.now().isBefore(deadline) && !(batch = claimBatch()).isEmpty()) {
+                send(batch);
+                drained += batch.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Email outbox stopped , {} emails sent on shutdown", drained);
+    }
+
+    private List<OutboxEmail> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(lease);
+        List<Long> claimed = outboxEmailRepository.findDueIds(OutboxEmailStatus.PENDING, now, PageRequest.of(0, batchSize)).stream()
+                .filter(id -> outboxEmailRepository.claim(id, OutboxEmailStatus.PENDING, now, leaseUntil) == 1)
+                .toList();
+        return claimed.isEmpty() ? List.of() : outboxEmailRepository.findAllById(claimed);
+    }
+
+    private void send(List<OutboxEmail> batch) {
+        Map<MimeMessage, OutboxEmail> messages = new LinkedHashMap<>();
+        for (OutboxEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException | UnsupportedEncodingException e) {
+                // a bad address does not get better with retries
+                giveUp(email, e);
+            }
+        }
+        Map<Object, Exception> failures = Map.of();
+        if (!messages.isEmpty()) {
+            Timer.Sample sample = Timer.start();
+            try {
+                mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                failures = e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+            } catch (MailException e) {
+                failures = allFailed(messages, e);
+            }
+            sample.stop(sendTimer);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<MimeMessage, OutboxEmail> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sent(entry.getValue(), now);
+            } else {
+                retryLater(entry.getValue(), failure, now);
+            }
+        }
+        outboxEmailRepository.saveAll(batch);
+    }
+
+    private MimeMessage toMimeMessage(OutboxEmail email) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        message.setSubject(email.getSubject(), "utf-8");
+        message.setFrom(new InternetAddress(senderEmail, SENDER_NAME));
+        message.setReplyTo(new InternetAddress[]{new InternetAddress(REPLY_TO)});
+        message.addRecipient(Message.RecipientType.TO, new InternetAddress(email.getRecipient()));
+        // the body is the rendered EmailTemplates html , there are no attachments to relate it to
+        message.setText(email.getBody(), "utf-8", "html");
+        return message;
+    }
+
+    private void sent(OutboxEmail email, LocalDateTime now) {
+        email.setAttempts(email.getAttempts() + 1);
+        email.setStatus(OutboxEmailStatus.SENT);
+        email.setSentAt(now);
+        email.setLastError(null);
+        email.setBody(null);
+        if (email.getCreatedAt() != null) {
+            deliveryTimer.record(Duration.between(email.getCreatedAt(), now));
+        }
+    }
+
+    private void retryLater(OutboxEmail email, Exception failure, LocalDateTime now) {
+        email.setAttempts(email.getAttempts() + 1);
+        if (email.getAttempts() >= maxAttempts) {
+            giveUp(email, failure);
+            return;
+        }
+        email.setLastError(describe(failure));
+        email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+        retried.increment();
+        log.warn("Sending email {} to {} failed , attempt {} of {}", email.getId(), email.getRecipient(),
+                email.getAttempts(), maxAttempts, failure);
+    }
+
+    private void giveUp(OutboxEmail email, Exception failure) {
+        email.setStatus(OutboxEmailStatus.FAILED);
+        email.setLastError(describe(failure));
+        email.setBody(null);
+        failed.increment();
+        log.error("Email {} to {} was not sent , giving up after {} attempts", email.getId(), email.getRecipient(),
+                email.getAttempts(), failure);
+    }
+
+    // initialBackoff , then doubled after every failed attempt up to maxBackoff
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff;
+        for (int i = 1; i < attempts && backoff.compareTo(maxBackoff) < 0; i++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, OutboxEmail> messages, Exception failure) {
+        Map<Object, Exception> failures = new LinkedHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, failure));
+        return failures;
+    }
+
+    private static String describe(Exception failure) {
+        String description = String.valueOf(failure.getMessage());
+        return description.length() > MAX_ERROR_LENGTH ? description.substring(0, MAX_ERROR_LENGTH) : description;
+    }
+}
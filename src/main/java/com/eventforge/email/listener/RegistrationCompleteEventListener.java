@@ -1,29 +1,19 @@
 package com.eventforge.email.listener;
 
 import com.eventforge.constants.TokenType;
+import com.eventforge.email.EmailOutbox;
 import com.eventforge.email.RegistrationCompleteEvent;
-import com.eventforge.exception.EmailConfirmationNotSentException;
+import com.eventforge.email.template.EmailTemplates;
 import com.eventforge.exception.InvalidEmailConfirmationLinkException;
 import com.eventforge.model.User;
 import com.eventforge.service.UserService;
-import jakarta.activation.DataHandler;
-import jakarta.activation.DataSource;
-import jakarta.activation.FileDataSource;
-import jakarta.mail.Message;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.InternetAddress;
-import jakarta.mail.internet.MimeBodyPart;
-import jakarta.mail.internet.MimeMessage;
-import jakarta.mail.internet.MimeMultipart;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationListener;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.UnsupportedEncodingException;
 import java.util.UUID;
 
 @Component
@@ -34,15 +24,14 @@ public class RegistrationCompleteEventListener implements ApplicationListener<Re
 
     private final UserService userService;
 
-    private final JavaMailSender mailSender;
-    @Value("${spring.mail.username}")
-    private String senderEmail;
+    private final EmailOutbox emailOutbox;
 
-
-    private static final String [] TR_TD_TAG = {"<tr><td>" , "</td></tr>"};
+    private final EmailTemplates emailTemplates;
 
 
+    // the verification token and the email are committed together , the email is sent by EmailOutbox
     @Override
+    @Transactional
     public void onApplicationEvent(RegistrationCompleteEvent event) {
 
         //1. Get the newly registered user
@@ -71,61 +60,18 @@ public class RegistrationCompleteEventListener implements ApplicationListener<Re
         String url = event.getApplicationUrl()+verificationToken;
         log.info("Линк за потвърждение на регистрация : {} ",url);
       
-        //5. Send  the email.
-        try {
-            sendEmail(url, theUser);
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            throw new EmailConfirmationNotSentException(theUser.getUsername());
-        }
+        //5. Queue the email.
+        sendEmail(url, theUser);
     }
 
-    public void sendEmail(String url, User user) throws MessagingException, UnsupportedEncodingException {
+    public void sendEmail(String url, User user) {
         String subject = "Потвърждение на акаунт";
 
-        MimeMessage message = mailSender.createMimeMessage();
-
-        message.setSubject(subject);
-        message.setFrom(new InternetAddress(senderEmail ,"Активна Варна"));
-        message.setReplyTo(new InternetAddress[]{new InternetAddress("noreply@active-varna.com")});
-        message.addRecipient(Message.RecipientType.TO, new InternetAddress(user.getUsername()));
-
-        MimeBodyPart messageBodyPart = new MimeBodyPart();
-
-        // Set the HTML content, be sure it references the attachment
-        String htmlContent = "<html><body>" +
-                "<table style='width:100%; text-align:left;'>" +
-                TR_TD_TAG[0] +
-                "<p style='font-size:18px;'>Здравей, " + user.getFullName() + "!</p>" +
-                "<p>Благодарим ти за създадената регистрация! Моля, посетете долния линк, за да потвърдите регистрацията си.</p>" +
-                "<p><a href='" + url + "'>Потвърждаване на регистрация</a></p>" +
-                TR_TD_TAG[1] +
-                TR_TD_TAG[0] +
-                "<p style='font-size:14px;'>Благодарим ти!</p>" +
-                "<p style='font-size:14px;'>С най-добри пожелания,<br>" +
-                "\uD83D\uDC4B Екипът на Активна Варна!</p>" +
-                TR_TD_TAG[1] +
-                TR_TD_TAG[0] +
-                "<p style='font-size:14px; font-weight: bold;'>" +
-                "Това е автоматично съобщение, генерирано от нашата система. Моля не отговаряйте на този имейл.<br> " +
-                "Ако имате въпроси или нужда от помощ, свържете се с нас чрез предоставената контактна форма на сайта." +
-                "</p>" +
-                TR_TD_TAG[1] +
-                "</table>" +
-                "</body></html>";
-
-
-        messageBodyPart.setContent(htmlContent, "text/html; charset=utf-8");
-
-        // Create a related multi-part to combine the parts
-        MimeMultipart multipart = new MimeMultipart("related");
-
-        // Add body part to multipart
-        multipart.addBodyPart(messageBodyPart);
-
-        // Associate multi-part with message
-        message.setContent(multipart);
-
-        mailSender.send(message);
+        String htmlContent = emailTemplates.render(EmailTemplates.REGISTRATION_CONFIRMATION,
+                "fullName", user.getFullName(),
+                "url", url);
+
+        emailOutbox.enqueue(user.getUsername(), subject, htmlContent);
     }
 
 
@@ -0,0 +1,79 @@
+package com.eventforge.email.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A template parsed once into the text between the {{name}} placeholders and the placeholder names.
+// Rendering appends the text and the html escaped values , nothing is searched or concatenated per send.
+public final class EmailTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    // literals.length == placeholders.length + 1
+    private final String[] literals;
+    private final String[] placeholders;
+
+    private EmailTemplate(String name, String[] literals, String[] placeholders) {
+        this.name = name;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    public static EmailTemplate compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, from)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in email template " + name + " at " + open);
+            }
+            literals.add(source.substring(from, open));
+            placeholders.add(source.substring(open + OPEN.length(), close).trim());
+            from = close + CLOSE.length();
+        }
+        literals.add(source.substring(from));
+        return new EmailTemplate(name, literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // namesAndValues alternate , a placeholder without a value or with a null one renders empty
+    public void renderTo(StringBuilder out, String... namesAndValues) {
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+            appendEscaped(out, valueOf(placeholders[i], namesAndValues));
+        }
+        out.append(literals[placeholders.length]);
+    }
+
+    private static String valueOf(String placeholder, String[] namesAndValues) {
+        for (int i = 0; i + 1 < namesAndValues.length; i += 2) {
+            if (placeholder.equals(namesAndValues[i])) {
+                return namesAndValues[i + 1];
+            }
+        }
+        return null;
+    }
+
+    static void appendEscaped(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
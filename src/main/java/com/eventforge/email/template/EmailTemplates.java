@@ -0,0 +1,57 @@
+package com.eventforge.email.template;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// The email bodies , read from resources/email and compiled once at startup , a missing template fails the start.
+// Each thread renders into its own buffer , so a send allocates only the resulting string.
+@Component
+public class EmailTemplates {
+    public static final String REGISTRATION_CONFIRMATION = "registration-confirmation";
+    public static final String FORGOTTEN_PASSWORD = "forgotten-password";
+    public static final String GENERATED_PASSWORD = "generated-password";
+    public static final String CONTACT_ANSWER = "contact-answer";
+
+    private static final String LOCATION = "email/";
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    public EmailTemplates() {
+        for (String name : new String[]{REGISTRATION_CONFIRMATION, FORGOTTEN_PASSWORD, GENERATED_PASSWORD, CONTACT_ANSWER}) {
+            templates.put(name, EmailTemplate.compile(name, read(name)));
+        }
+    }
+
+    public String render(String template, String... namesAndValues) {
+        EmailTemplate emailTemplate = templates.get(template);
+        if (emailTemplate == null) {
+            throw new IllegalArgumentException("Unknown email template " + template);
+        }
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        emailTemplate.renderTo(buffer, namesAndValues);
+        String html = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            // one huge answer should not stay pinned to the thread
+            buffers.remove();
+        }
+        return html;
+    }
+
+    private static String read(String name) {
+        try (InputStream in = new ClassPathResource(LOCATION + name + ".html").getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).strip();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Email template " + name + " could not be read", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.eventforge.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ContactQueueFullException extends RetryAfterException {
+    public ContactQueueFullException(int retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds, "Твърде много запитвания в момента. Моля опитайте отново след малко.");
+    }
+}
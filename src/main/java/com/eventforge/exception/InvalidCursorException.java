@@ -0,0 +1,13 @@
+package com.eventforge.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class InvalidCursorException extends RuntimeException {
+    private final int httpStatusCode = HttpStatus.BAD_REQUEST.value();
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.eventforge.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class PasswordHashingBusyException extends RetryAfterException {
+    public PasswordHashingBusyException(int retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds, "Услугата за вход е претоварена в момента. Моля опитайте отново след малко.");
+    }
+}
@@ -0,0 +1,17 @@
+package com.eventforge.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+// Answered with the given status and a Retry-After header , the request may be sent again after retryAfterSeconds.
+@Getter
+public class RetryAfterException extends RuntimeException {
+    private final int httpStatusCode;
+    private final long retryAfterSeconds;
+
+    public RetryAfterException(HttpStatus status, long retryAfterSeconds, String message) {
+        super(message);
+        this.httpStatusCode = status.value();
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,9 @@
+package com.eventforge.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyLoginAttemptsException extends RetryAfterException {
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds, "Твърде много неуспешни опити за вход. Моля опитайте отново по-късно.");
+    }
+}
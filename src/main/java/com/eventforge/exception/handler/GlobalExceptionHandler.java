@@ -1,9 +1,10 @@
 package com.eventforge.exception.handler;
 
-import com.eventforge.slack.SlackNotifier;
+import com.eventforge.slack.SlackAlerts;
 import com.eventforge.exception.*;
 import com.eventforge.service.Utils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -12,32 +13,17 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
 @RestControllerAdvice
 @RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
     private final Utils utils;
 
-    private final SlackNotifier slackNotifier;
+    private final SlackAlerts slackAlerts;
     @ExceptionHandler(Throwable.class)
     public void sendNotificationToSlackWhenInternalServerErrorOccurs(Throwable throwable) {
-        // Get the current timestamp
-        LocalDateTime timestamp = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
-
-        // Create a detailed message including timestamp, exception message, and cause
-        String message = String.format(
-                "Exception occurred at %s%nBACKEND APPLICATION%nMessage: %s%nCause: %s",
-                formatter.format(timestamp),
-                throwable.getMessage(),
-                throwable.getCause()
-        );
-
-        // Send the exception details to Slack
-        slackNotifier.sendNotification(message);
+        // Queued and grouped by SlackAlerts , the request does not wait for Slack
+        slackAlerts.report(throwable);
     }
 
     @ExceptionHandler(UsernameNotFoundException.class)
@@ -107,4 +93,16 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleOrganisationRequestException(OrganisationRequestException ex){
         return ResponseEntity.status(ex.getHttpStatusCode()).contentType(MediaType.TEXT_PLAIN).body(ex.getMessage());
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex){
+        return ResponseEntity.status(ex.getHttpStatusCode()).contentType(MediaType.TEXT_PLAIN).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(RetryAfterException.class)
+    public ResponseEntity<String> handleRetryAfterException(RetryAfterException ex){
+        return ResponseEntity.status(ex.getHttpStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .contentType(MediaType.TEXT_PLAIN).body(ex.getMessage());
+    }
 }
@@ -1,6 +1,7 @@
 package com.eventforge.factory;
 
 import com.eventforge.constants.Role;
+import com.eventforge.domain.EventChangedEvent;
 import com.eventforge.dto.request.EventRequest;
 import com.eventforge.dto.request.RegistrationRequest;
 import com.eventforge.model.*;
@@ -11,8 +12,10 @@ import com.eventforge.service.UserService;
 import com.eventforge.service.Utils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.Set;
 
 @Service
@@ -28,16 +31,17 @@ public class EntityFactory {
 
     private final ImageService imageService;
 
+    private final ApplicationEventPublisher publisher;
 
-    public Event createEvent(EventRequest eventRequest, String authHeader) {
-        User user = userService.getLoggedUserByToken(authHeader);
-        Organisation organisation = organisationService.getOrganisationByUserId(user.getId());
+
+    public Event createEvent(EventRequest eventRequest, Organisation organisation) {
         Event event = Event.builder()
                 .name(eventRequest.getName())
                 .description(eventRequest.getDescription())
                 .address(eventRequest.getAddress())
                 .facebookLink(eventRequest.getFacebookLink())
                 .eventCategories(eventRequest.getEventCategories())
+                .categories(new HashSet<>(utils.splitStringByComma(eventRequest.getEventCategories())))
                 .organisation(organisation)
                 .isOnline(eventRequest.getIsOnline())
                 .startsAt(eventRequest.getStartsAt())
@@ -50,6 +54,7 @@ public class EntityFactory {
                 .build();
         eventService.saveEvent(event);
         imageService.saveImageToDb(null, null, eventRequest.getImageUrl(), null, event);
+        publisher.publishEvent(EventChangedEvent.created(event));
         return event;
     }
 
@@ -65,6 +70,8 @@ public class EntityFactory {
                 .user(user)
                 .address(request.getAddress())
                 .organisationPriorities(organisationPriorities)
+                .priorityText(utils.convertOrganisationPrioritiesToSearchText(organisationPriorities))
+                .userEmail(user.getUsername())
                 .website(request.getWebsite())
                 .facebookLink(request.getFacebookLink())
                 .charityOption(request.getCharityOption())
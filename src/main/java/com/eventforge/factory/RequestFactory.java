@@ -9,7 +9,6 @@ import com.eventforge.model.Organisation;
 import com.eventforge.model.User;
 import com.eventforge.repository.EventRepository;
 import com.eventforge.service.OrganisationService;
-import com.eventforge.service.UserService;
 import com.eventforge.service.Utils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,8 +21,6 @@ import java.util.Set;
 @Slf4j
 public class RequestFactory {
 
-    private final UserService userService;
-
     private final OrganisationService organisationService;
 
     private final Utils utils;
@@ -32,8 +29,7 @@ public class RequestFactory {
     private final EventRepository eventRepository;
 
 
-    public UpdateAccountRequest createUpdateAccountRequest(String token) {
-        User user = userService.getLoggedUserByToken(token);
+    public UpdateAccountRequest createUpdateAccountRequest(User user) {
         if (user != null) {
             Organisation organisation = organisationService.getOrganisationByUserId(user.getId());
             Set<String> staticOrganisationPriorities = Constant.staticCategories;
@@ -62,8 +58,7 @@ public class RequestFactory {
     }
 
 
-    public EventRequest createEventRequestForUpdateOperation(Long eventId, String token) {
-        User user = userService.getLoggedUserByToken(token);
+    public EventRequest createEventRequestForUpdateOperation(Long eventId, User user) {
         Event foundEvent = eventRepository.findEventByIdAndUserId(user.getId(), eventId);
             if(foundEvent==null){
                throw new EventRequestException("Няма намерено събитие с посоченият от вас идентификационен номер: " + eventId);
@@ -1,20 +1,33 @@
 package com.eventforge.factory;
 
+import com.eventforge.catalog.CatalogSnapshotService;
+import com.eventforge.catalog.EventTimeline;
+import com.eventforge.constants.ImageType;
+import com.eventforge.dto.projection.EventListView;
+import com.eventforge.dto.projection.OrganisationImageView;
+import com.eventforge.dto.projection.OrganisationPriorityView;
 import com.eventforge.dto.response.CommonEventResponse;
 import com.eventforge.dto.response.OrganisationResponse;
 import com.eventforge.dto.response.OrganisationResponseForAdmin;
 import com.eventforge.model.Event;
-import com.eventforge.model.Image;
 import com.eventforge.model.Organisation;
 import com.eventforge.repository.EventRepository;
 import com.eventforge.repository.ImageRepository;
+import com.eventforge.repository.OrganisationRepository;
 import com.eventforge.service.Utils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +36,9 @@ public class ResponseFactory {
     private final Utils utils;
     private final ImageRepository imageRepository;
     private final EventRepository eventRepository;
+    private final OrganisationRepository organisationRepository;
+    // provider because the catalog maps its entries through this factory
+    private final ObjectProvider<CatalogSnapshotService> catalogSnapshotService;
 
     public OrganisationResponseForAdmin buildOrganisationResponseForAdmin(Organisation org) {
 
@@ -44,48 +60,108 @@ public class ResponseFactory {
 
 
     public OrganisationResponse buildOrganisationResponse(Organisation org) {
-        Image logo = imageRepository.findOrganisationLogoByOrgId(org.getId());
-        Image background = imageRepository.findOrganisationCoverPictureByOrgId(org.getId());
-        Set<String> orgPriorities = utils.convertListOfOrganisationPrioritiesToString(org.getOrganisationPriorities());
-
-        String logoData = logo.getUrl();
-        String backgroundData = background.getUrl();
-
-        return OrganisationResponse.builder().
-                orgId(org.getId())
-                .logo(logoData)
-                .background(backgroundData)
-                .name(org.getName())
-                .email(org.getUser().getUsername())
-                .address(org.getAddress())
-                .website(org.getWebsite())
-                .facebookLink(org.getFacebookLink())
-                .charityOption(org.getCharityOption())
-                .organisationPurpose(org.getOrganisationPurpose())
-                .organisationPriorities(orgPriorities)
-                .expiredEvents(fetchExpiredEvents(org.getId()))
-                .activeEvents(fetchActiveEvents(org.getId()))
-                .upcomingEvents(fetchUpcomingEvents(org.getId()))
-                .build();
+        return buildOrganisationResponses(List.of(org)).get(0);
     }
 
-    private List<CommonEventResponse> fetchExpiredEvents(Long orgId) {
+    // Builds a whole page of organisations with one query each for images , priorities and events ,
+    // however many organisations the page holds.
+    public List<OrganisationResponse> buildOrganisationResponses(List<Organisation> organisations) {
+        if (organisations.isEmpty()) {
+            return List.of();
+        }
+        List<Long> orgIds = organisations.stream().map(Organisation::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Map<ImageType, String>> imagesByOrg = imageRepository.findOrganisationImageViews(orgIds).stream()
+                .collect(Collectors.groupingBy(OrganisationImageView::orgId,
+                        Collectors.toMap(OrganisationImageView::type, OrganisationImageView::url, (first, second) -> first)));
+        Map<Long, Set<String>> prioritiesByOrg = organisationRepository.findOrganisationPriorityViews(orgIds).stream()
+                .collect(Collectors.groupingBy(OrganisationPriorityView::orgId,
+                        Collectors.mapping(OrganisationPriorityView::category, Collectors.toSet())));
+        Map<Long, OrganisationEvents> eventsByOrg = fetchOrganisationEvents(organisations, now);
+
+        return organisations.stream().map(org -> {
+            Map<ImageType, String> images = imagesByOrg.getOrDefault(org.getId(), Map.of());
+            OrganisationEvents events = eventsByOrg.get(org.getId());
+            return OrganisationResponse.builder().
+                    orgId(org.getId())
+                    .logo(images.get(ImageType.LOGO))
+                    .background(images.get(ImageType.COVER))
+                    .name(org.getName())
+                    .email(org.getUser().getUsername())
+                    .address(org.getAddress())
+                    .website(org.getWebsite())
+                    .facebookLink(org.getFacebookLink())
+                    .charityOption(org.getCharityOption())
+                    .organisationPurpose(org.getOrganisationPurpose())
+                    .organisationPriorities(prioritiesByOrg.getOrDefault(org.getId(), new HashSet<>()))
+                    .expiredEvents(events.expired())
+                    .activeEvents(events.active())
+                    .upcomingEvents(events.upcoming())
+                    .build();
+        }).toList();
+    }
 
-        return eventRepository.findAllExpiredEvents(orgId, LocalDateTime.now()).stream()
-                .map(this::buildCommonEventResponse)
-                .toList();
+    // organisations the catalog can serve are answered from memory , the rest share one query
+    private Map<Long, OrganisationEvents> fetchOrganisationEvents(List<Organisation> organisations, LocalDateTime now) {
+        Map<Long, OrganisationEvents> eventsByOrg = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Organisation org : organisations) {
+            Optional<OrganisationEvents> cached = fromCatalog(org, now);
+            if (cached.isPresent()) {
+                eventsByOrg.put(org.getId(), cached.get());
+            } else {
+                uncached.add(org.getId());
+            }
+        }
+        if (!uncached.isEmpty()) {
+            Map<Long, List<EventListView>> viewsByOrg = eventRepository.findOrganisationEventViews(uncached).stream()
+                    .collect(Collectors.groupingBy(EventListView::orgId));
+            for (Long orgId : uncached) {
+                eventsByOrg.put(orgId, splitByTime(viewsByOrg.getOrDefault(orgId, List.of()), now));
+            }
+        }
+        return eventsByOrg;
+    }
+
+    // same conditions as the findAllExpired/Active/UpcomingEvents(orgId , now) queries , the views come ordered by startsAt
+    private OrganisationEvents splitByTime(List<EventListView> views, LocalDateTime now) {
+        List<CommonEventResponse> expired = new ArrayList<>();
+        List<CommonEventResponse> active = new ArrayList<>();
+        List<CommonEventResponse> upcoming = new ArrayList<>();
+        for (EventListView view : views) {
+            if (view.startsAt() == null || view.endsAt() == null) {
+                continue;
+            }
+            if (view.endsAt().isBefore(now)) {
+                expired.add(buildCommonEventResponse(view));
+            } else if (view.startsAt().isBefore(now)) {
+                active.add(buildCommonEventResponse(view));
+            }
+            if (view.startsAt().isAfter(now)) {
+                upcoming.add(buildCommonEventResponse(view));
+            }
+        }
+        return new OrganisationEvents(expired, active, upcoming);
     }
 
-    private List<CommonEventResponse> fetchActiveEvents(Long orgId) {
-        return eventRepository.findAllActiveEvents(orgId, LocalDateTime.now()).stream()
-                .map(this::buildCommonEventResponse)
-                .toList();
+    private Optional<OrganisationEvents> fromCatalog(Organisation org, LocalDateTime now) {
+        CatalogSnapshotService catalog = catalogSnapshotService.getIfAvailable();
+        if (catalog == null) {
+            return Optional.empty();
+        }
+        Optional<List<CommonEventResponse>> expired = catalog.findOrganisationEvents(org, EventTimeline.Section.EXPIRED, now);
+        Optional<List<CommonEventResponse>> active = catalog.findOrganisationEvents(org, EventTimeline.Section.ACTIVE, now);
+        Optional<List<CommonEventResponse>> upcoming = catalog.findOrganisationEvents(org, EventTimeline.Section.UPCOMING, now);
+        if (expired.isEmpty() || active.isEmpty() || upcoming.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new OrganisationEvents(expired.get(), active.get(), upcoming.get()));
     }
 
-    private List<CommonEventResponse> fetchUpcomingEvents(Long orgId) {
-        return eventRepository.findAllUpcomingEvents(orgId, LocalDateTime.now()).stream()
-                .map(this::buildCommonEventResponse)
-                .toList();
+    private record OrganisationEvents(List<CommonEventResponse> expired,
+                                      List<CommonEventResponse> active,
+                                      List<CommonEventResponse> upcoming) {
     }
 
 
@@ -118,4 +194,31 @@ public class ResponseFactory {
 
         return eventResponse;
     }
+
+    // same rendering as buildCommonEventResponse(Event) for the list view projection
+    public CommonEventResponse buildCommonEventResponse(EventListView view) {
+        CommonEventResponse eventResponse = new CommonEventResponse();
+
+        eventResponse.setId(view.id());
+        eventResponse.setOrgId(view.orgId());
+        eventResponse.setImageId(view.imageId());
+        eventResponse.setImageUrl(view.imageUrl());
+        eventResponse.setName(view.name());
+        eventResponse.setOrganisationName(view.organisationName());
+        eventResponse.setOnline(view.isOnline());
+        eventResponse.setDescription(view.description());
+        eventResponse.setAddress(view.address());
+        eventResponse.setFacebookLink(view.facebookLink());
+        eventResponse.setEventCategories(view.eventCategories());
+        eventResponse.setPrice(utils.convertPriceToString(view.price()));
+        eventResponse.setAgeBoundary(utils.convertAgeToString(view.minAge(), view.maxAge()));
+        eventResponse.setStartsAt(view.startsAt());
+        eventResponse.setEndsAt(view.endsAt());
+        eventResponse.setIsOneTime(utils.convertIsOneTimeToString(view.isOneTime()));
+        if (view.recurrenceDetails() != null && !view.isOneTime()) {
+            eventResponse.setRecurrenceDetails(view.recurrenceDetails());
+        }
+
+        return eventResponse;
+    }
 }
@@ -0,0 +1,134 @@
+package com.eventforge.featured;
+
+import com.eventforge.domain.AccountChangedEvent;
+import com.eventforge.dto.projection.OrganisationActivityView;
+import com.eventforge.repository.EventRepository;
+import com.eventforge.repository.OrganisationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Draws the organisations shown on the menu page from an in-memory pool of the eligible ids
+// (enabled , approved and non locked) instead of sorting the organisation table with ORDER BY RAND().
+// The pool is replaced as a whole , readers only dereference the current one.
+@Service
+@Slf4j
+public class FeaturedOrganisationSampler {
+    // a heavily weighted organisation could make rejection sampling spin , the rest is filled uniformly then
+    private static final int MAX_ATTEMPTS_PER_DRAW = 32;
+
+    private final OrganisationRepository organisationRepository;
+    private final EventRepository eventRepository;
+    private final boolean weightedByActivity;
+    private final int activityDays;
+
+    private volatile Pool pool;
+
+    public FeaturedOrganisationSampler(OrganisationRepository organisationRepository,
+                                       EventRepository eventRepository,
+                                       @Value("${eventforge.featured.weighted-by-activity:false}") boolean weightedByActivity,
+                                       @Value("${eventforge.featured.activity-days:30}") int activityDays) {
+        this.organisationRepository = organisationRepository;
+        this.eventRepository = eventRepository;
+        this.weightedByActivity = weightedByActivity;
+        this.activityDays = activityDays;
+    }
+
+    // Empty until the pool is loaded. At most count distinct ids , all of them when the pool is smaller.
+    public Optional<List<Long>> sample(int count) {
+        Pool current = pool;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(current.sample(count, ThreadLocalRandom.current()));
+    }
+
+    public int size() {
+        Pool current = pool;
+        return current == null ? 0 : current.ids.length;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialise() {
+        refresh();
+    }
+
+    // approving , locking and confirming an email change who is eligible , profile edits do not
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent changedEvent) {
+        if (changedEvent.getChangeType() != AccountChangedEvent.ChangeType.PROFILE_UPDATED) {
+            refresh();
+        }
+    }
+
+    // picks up changes made outside the application and keeps the activity weights current
+    @Scheduled(fixedDelayString = "${eventforge.featured.refresh-interval-ms:600000}",
+            initialDelayString = "${eventforge.featured.refresh-interval-ms:600000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        long[] ids = organisationRepository.findFeaturableOrganisationIds().stream().mapToLong(Long::longValue).toArray();
+        pool = new Pool(ids, weightedByActivity ? cumulativeWeights(ids) : null);
+        log.debug("Featured organisation pool refreshed with {} organisations", ids.length);
+    }
+
+    // every organisation weighs 1 plus the events it created in the last activityDays days
+    private long[] cumulativeWeights(long[] ids) {
+        Map<Long, Long> recentEvents = eventRepository.countEventsCreatedSince(LocalDateTime.now().minusDays(activityDays)).stream()
+                .collect(Collectors.toMap(OrganisationActivityView::orgId, OrganisationActivityView::events));
+        long[] cumulative = new long[ids.length];
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            total += 1 + recentEvents.getOrDefault(ids[i], 0L);
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private record Pool(long[] ids, long[] cumulativeWeights) {
+
+        List<Long> sample(int count, ThreadLocalRandom random) {
+            if (ids.length <= count) {
+                List<Long> all = new ArrayList<>(Arrays.stream(ids).boxed().toList());
+                Collections.shuffle(all, random);
+                return all;
+            }
+            // count is tiny next to the pool , redrawing the few collisions is cheaper than shuffling
+            List<Integer> picked = new ArrayList<>(count);
+            while (picked.size() < count) {
+                int index = cumulativeWeights == null ? random.nextInt(ids.length) : drawWeighted(picked, random);
+                if (!picked.contains(index)) {
+                    picked.add(index);
+                }
+            }
+            return picked.stream().map(index -> ids[index]).toList();
+        }
+
+        private int drawWeighted(List<Integer> picked, ThreadLocalRandom random) {
+            long total = cumulativeWeights[cumulativeWeights.length - 1];
+            for (int attempt = 0; attempt < MAX_ATTEMPTS_PER_DRAW; attempt++) {
+                int index = Arrays.binarySearch(cumulativeWeights, random.nextLong(total) + 1);
+                index = index >= 0 ? index : -index - 1;
+                if (!picked.contains(index)) {
+                    return index;
+                }
+            }
+            return random.nextInt(ids.length);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.eventforge.lifecycle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+// One daemon thread that calls work() until stop. stop lets the current work() finish , it is not interrupted ,
+// and then drain() hands over what is still queued. work() must return within pollTimeoutMs when there is nothing to do.
+// Every worker shares PHASE , below the web server , so they stop once requests no longer arrive and the drain
+// sees everything that was accepted.
+@Slf4j
+public abstract class BackgroundWorker implements SmartLifecycle {
+    // below the web server phases (SmartLifecycle.DEFAULT_PHASE - 1024 / - 2048)
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    // time for a work() in progress , on top of one poll timeout
+    private static final long STOP_GRACE_MS = 10_000;
+
+    private final String threadName;
+    private final long pollTimeoutMs;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    protected BackgroundWorker(String threadName, long pollTimeoutMs) {
+        this.threadName = threadName;
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    protected abstract void work() throws InterruptedException;
+
+    // called from stop once the worker has finished
+    protected abstract void drain();
+
+    // called from start before the worker runs
+    protected void onStart() {
+    }
+
+    // called from stop before waiting for the worker , to wake it up early
+    protected void onStopping() {
+    }
+
+    @Override
+    public final synchronized void start() {
+        if (running) {
+            return;
+        }
+        onStart();
+        running = true;
+        worker = new Thread(this::run, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public final synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        onStopping();
+        try {
+            worker.join(pollTimeoutMs + STOP_GRACE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.error("Draining {} failed", threadName, e);
+        }
+    }
+
+    @Override
+    public final boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public final int getPhase() {
+        return PHASE;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                work();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("{} failed", threadName, e);
+                pause();
+            }
+        }
+    }
+
+    // a failing dependency is not hammered in a tight loop
+    private void pause() {
+        try {
+            Thread.sleep(pollTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
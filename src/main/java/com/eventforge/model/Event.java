@@ -8,8 +8,19 @@ import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Entity
+// everything buildCommonEventResponse touches , so a page of events loads in one statement
+@NamedEntityGraph(name = "Event.listView",
+        attributeNodes = {
+                @NamedAttributeNode("eventImage"),
+                @NamedAttributeNode(value = "organisation", subgraph = "organisation")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "organisation", attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user")),
+                @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("verificationToken"))
+        })
 @Getter
 @Setter
 @AllArgsConstructor
@@ -24,6 +35,11 @@ public class Event {
     private String address;
     private String facebookLink;
     private String eventCategories;
+    // normalised copy of eventCategories , used for filtering
+    @ElementCollection
+    @CollectionTable(name = "event_category", joinColumns = @JoinColumn(name = "event_id"))
+    @Column(name = "category")
+    private Set<String> categories;
     private double price;
     private Integer minAge;
     private Integer maxAge;
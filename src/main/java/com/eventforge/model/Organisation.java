@@ -46,6 +46,11 @@ public class Organisation {
 
     private String organisationPurpose;
 
+    // copies for the ft_organisation_search fulltext index , kept in sync wherever the priorities are assigned
+    private String priorityText;
+
+    private String userEmail;
+
     @CreationTimestamp
     private LocalDateTime registeredAt;
 
@@ -0,0 +1,45 @@
+package com.eventforge.model;
+
+import com.eventforge.constants.OutboxEmailStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "email_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEmail {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String recipient;
+    private String subject;
+    // null once the email is SENT or FAILED
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxEmailStatus status;
+    private int attempts;
+    // also the lease of a claimed row , see EmailOutbox
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    public OutboxEmail(String recipient, String subject, String body, LocalDateTime nextAttemptAt) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.status = OutboxEmailStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
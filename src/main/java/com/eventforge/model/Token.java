@@ -4,6 +4,8 @@ import com.eventforge.constants.TokenType;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @Builder
@@ -26,6 +28,9 @@ public class Token {
 
     private boolean expired;
 
+    // copied from the exp claim , the expiry sweep reads it instead of parsing the token
+    private LocalDateTime expiresAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     public User user;
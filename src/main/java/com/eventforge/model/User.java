@@ -38,5 +38,8 @@ public class User {
     private Boolean isEnabled = false;
     private Boolean isNonLocked = true;
     private Boolean isApprovedByAdmin;
+    // only changed by UserRepository.incrementTokenVersion , a stale entity must never write it back
+    @Column(name = "token_version", insertable = false, updatable = false)
+    private Long tokenVersion;
 
 }
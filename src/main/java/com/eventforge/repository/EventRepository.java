@@ -1,56 +1,135 @@
 package com.eventforge.repository;
 
+import com.eventforge.dto.projection.EventListView;
+import com.eventforge.dto.projection.OrganisationActivityView;
 import com.eventforge.model.Event;
+import com.eventforge.search.IndexedEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
       String LEGAL_USER_CONDITION ="e.organisation.user.isNonLocked = true AND e.organisation.user.isApprovedByAdmin = true";
       String UNEXPIRED_CONDITION = "e.endsAt >= ?1";
       String EXPIRED_CONDITION = "e.endsAt < ?1";
+      String LIST_VIEW_GRAPH = "Event.listView";
 
       //queries that find organisation events by active , expired and upcoming
 
+    @EntityGraph(LIST_VIEW_GRAPH)
     @Query("SELECT e FROM Event e WHERE e.organisation.id = :orgId AND e.endsAt < :now  ORDER BY e.startsAt ASC")
     List<Event> findAllExpiredEvents(Long orgId , LocalDateTime now);
 
+    @EntityGraph(LIST_VIEW_GRAPH)
     @Query("SELECT e FROM Event e WHERE e.organisation.id = :orgId AND e.startsAt < :now AND e.endsAt >= :now ORDER BY e.startsAt ASC")
     List<Event> findAllActiveEvents (Long orgId , LocalDateTime now);
 
+    @EntityGraph(LIST_VIEW_GRAPH)
     @Query("SELECT e FROM Event e WHERE e.organisation.id = :orgId AND e.startsAt > :now ORDER BY e.startsAt ASC")
     List<Event> findAllUpcomingEvents(Long orgId , LocalDateTime now);
 
     // queries accessible for everyone!
 
+    @EntityGraph(LIST_VIEW_GRAPH)
     @Query("SELECT e FROM Event e WHERE "+LEGAL_USER_CONDITION + " AND e.startsAt > :now ORDER BY e.startsAt ASC LIMIT 3")
     List<Event> findThreeUpcomingEvents(LocalDateTime now);
+    @EntityGraph(LIST_VIEW_GRAPH)
     @Query("SELECT e FROM Event e WHERE e.id = :eventId AND "+LEGAL_USER_CONDITION)
     Event findEventByIdWithCondition(Long eventId);
+    @EntityGraph(LIST_VIEW_GRAPH)
     @Query("SELECT e FROM Event e WHERE e.isOneTime = true AND "+LEGAL_USER_CONDITION + " AND e.organisation.id = :orgId ORDER BY e.createdAt ASC")
     List<Event> findAllOneTimeEventsByOrganisationId(Long orgId);
+    @EntityGraph(LIST_VIEW_GRAPH)
     @Query("SELECT e FROM Event e WHERE e.isOneTime = false AND "+LEGAL_USER_CONDITION +" AND e.organisation.id = :orgId ORDER BY e.createdAt ASC")
     List<Event> findAllRecurrenceEventsByOrganisationId(Long orgId);
-    @Query("SELECT e FROM Event e WHERE e.isOneTime = true AND "+ LEGAL_USER_CONDITION+" AND "+UNEXPIRED_CONDITION)
-    Page<Event> findAllActiveOneTimeEvents(LocalDateTime date ,
-                                           Pageable pageable);
+    // paged public listings , read as EventListView projections instead of managed entities
+    String LIST_VIEW_SELECT = "SELECT new com.eventforge.dto.projection.EventListView(e.id, o.id, i.id, i.url, e.name, o.name, e.isOnline, "
+            + "e.description, e.address, e.facebookLink, e.eventCategories, e.price, e.minAge, e.maxAge, e.startsAt, e.endsAt, e.isOneTime, e.recurrenceDetails)";
+    String LIST_VIEW_FROM = " FROM Event e JOIN e.organisation o JOIN o.user u";
+    String LIST_VIEW_IMAGE_JOIN = " LEFT JOIN e.eventImage i";
+    String LIST_VIEW_LEGAL_CONDITION = " WHERE u.isNonLocked = true AND u.isApprovedByAdmin = true";
+    String LIST_VIEW_QUERY = LIST_VIEW_SELECT + LIST_VIEW_FROM + LIST_VIEW_IMAGE_JOIN + LIST_VIEW_LEGAL_CONDITION;
+    String LIST_VIEW_COUNT_QUERY = "SELECT count(e)" + LIST_VIEW_FROM + LIST_VIEW_LEGAL_CONDITION;
 
-    @Query("SELECT e FROM Event e WHERE e.isOneTime = false AND "+ LEGAL_USER_CONDITION+" AND "+UNEXPIRED_CONDITION)
-    Page<Event> findAllActiveRecurrenceEvents(LocalDateTime date , Pageable pageable);
+    @Query(value = LIST_VIEW_QUERY + " AND e.isOneTime = true AND " + UNEXPIRED_CONDITION,
+            countQuery = LIST_VIEW_COUNT_QUERY + " AND e.isOneTime = true AND " + UNEXPIRED_CONDITION)
+    Page<EventListView> findActiveOneTimeEventViews(LocalDateTime date, Pageable pageable);
 
-    @Query("SELECT e FROM Event e WHERE e.isOneTime = true AND "+LEGAL_USER_CONDITION+ " AND "+EXPIRED_CONDITION)
-    Page<Event> findAllExpiredOneTimeEvents(LocalDateTime passedDate , Pageable pageable);
-    @Query("SELECT e FROM Event e WHERE e.isOneTime = false AND "+LEGAL_USER_CONDITION+ " AND "+EXPIRED_CONDITION)
-    Page<Event> findAllExpiredRecurrenceEvents(LocalDateTime passedDate , Pageable pageable);
+    @Query(value = LIST_VIEW_QUERY + " AND e.isOneTime = false AND " + UNEXPIRED_CONDITION,
+            countQuery = LIST_VIEW_COUNT_QUERY + " AND e.isOneTime = false AND " + UNEXPIRED_CONDITION)
+    Page<EventListView> findActiveRecurrenceEventViews(LocalDateTime date, Pageable pageable);
+
+    @Query(value = LIST_VIEW_QUERY + " AND e.isOneTime = true AND " + EXPIRED_CONDITION,
+            countQuery = LIST_VIEW_COUNT_QUERY + " AND e.isOneTime = true AND " + EXPIRED_CONDITION)
+    Page<EventListView> findExpiredOneTimeEventViews(LocalDateTime passedDate, Pageable pageable);
+
+    @Query(value = LIST_VIEW_QUERY + " AND e.isOneTime = false AND " + EXPIRED_CONDITION,
+            countQuery = LIST_VIEW_COUNT_QUERY + " AND e.isOneTime = false AND " + EXPIRED_CONDITION)
+    Page<EventListView> findExpiredRecurrenceEventViews(LocalDateTime passedDate, Pageable pageable);
+
+    // the ids were already filtered by the caller , no visibility condition here
+    @Query(LIST_VIEW_SELECT + LIST_VIEW_FROM + LIST_VIEW_IMAGE_JOIN + " WHERE e.id IN :ids")
+    List<EventListView> findListViewsByIdIn(Collection<Long> ids);
+
+    // every event of a page of organisations , split into expired / active / upcoming by the caller
+    @Query(LIST_VIEW_SELECT + LIST_VIEW_FROM + LIST_VIEW_IMAGE_JOIN + " WHERE o.id IN :orgIds ORDER BY e.startsAt ASC, e.id ASC")
+    List<EventListView> findOrganisationEventViews(Collection<Long> orgIds);
+
+    @Query("SELECT new com.eventforge.dto.projection.OrganisationActivityView(e.organisation.id, count(e)) FROM Event e " +
+            "WHERE e.createdAt >= :since GROUP BY e.organisation.id")
+    List<OrganisationActivityView> countEventsCreatedSince(LocalDateTime since);
+
+    // feed of UpcomingEventHeap
+    @Query(LIST_VIEW_QUERY + " AND e.startsAt > :now ORDER BY e.startsAt ASC, e.id ASC")
+    List<EventListView> findUpcomingEventViews(LocalDateTime now, Pageable pageable);
+
+    @Query(LIST_VIEW_QUERY + " AND e.id = :eventId")
+    EventListView findLegalEventView(Long eventId);
 
     // queries accessible for organisations!
+    @EntityGraph(LIST_VIEW_GRAPH)
     @Query("SELECT e FROM Event e WHERE e.organisation.user.id = :userId AND e.organisation.user.isNonLocked = true ORDER BY e.startsAt ASC")
     List<Event> findAllEventsForOrganisationByUserId(Long userId);
 
     @Query("SELECT e FROM Event e WHERE e.organisation.user.id = :userId AND e.id = :eventId")
     Event findEventByIdAndUserId(Long userId , Long eventId);
+
+    // feed for the search index rebuild , read in id order batches
+    @Query("SELECT new com.eventforge.search.IndexedEvent(e.id, e.name, e.description, e.address, e.updatedAt) FROM Event e WHERE e.id > :afterId ORDER BY e.id ASC")
+    List<IndexedEvent> findIndexedEventsAfter(Long afterId, Pageable pageable);
+
+    // feed for the search index catch-up , read in (updatedAt , id) order batches on idx_event_updated_at
+    @Query("SELECT new com.eventforge.search.IndexedEvent(e.id, e.name, e.description, e.address, e.updatedAt) FROM Event e " +
+            "WHERE e.updatedAt > :since OR (e.updatedAt = :since AND e.id > :afterId) ORDER BY e.updatedAt ASC, e.id ASC")
+    List<IndexedEvent> findIndexedEventsUpdatedAfter(LocalDateTime since, Long afterId, Pageable pageable);
+
+    // catalog snapshot , every entry is mapped to a response
+    String CATALOG_SELECT = "SELECT e FROM Event e WHERE " + LEGAL_USER_CONDITION;
+
+    @EntityGraph(LIST_VIEW_GRAPH)
+    @Query(CATALOG_SELECT)
+    List<Event> findAllLegalEventsForCatalog();
+
+    @EntityGraph(LIST_VIEW_GRAPH)
+    @Query(CATALOG_SELECT + " AND e.organisation.user.id = :userId")
+    List<Event> findAllLegalEventsForCatalogByUserId(Long userId);
+
+    @EntityGraph(LIST_VIEW_GRAPH)
+    @Query(CATALOG_SELECT + " AND e.id = :eventId")
+    Event findLegalEventForCatalog(Long eventId);
+
+    @Override
+    @EntityGraph(LIST_VIEW_GRAPH)
+    Optional<Event> findById(Long id);
+
+    @Override
+    @EntityGraph(LIST_VIEW_GRAPH)
+    List<Event> findAllById(Iterable<Long> ids);
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.eventforge.repository;
 
+import com.eventforge.dto.projection.OrganisationImageView;
 import com.eventforge.model.Image;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface ImageRepository extends JpaRepository<Image, Long> {
     @Query("select i from Image i where i.url= :imageUrl AND i.organisation.id = :orgId AND i.type = 'LOGO'")
     Image findLogoByUrlAndOrgId(String imageUrl , Long orgId);
@@ -20,4 +24,8 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
 
     @Query("SELECT i FROM Image i WHERE i.event.id = :eventId AND i.type = 'EVENT_PICTURE'")
     Image findEventPicture(Long eventId);
+
+    @Query("SELECT new com.eventforge.dto.projection.OrganisationImageView(i.organisation.id, i.type, i.url) FROM Image i " +
+            "WHERE i.organisation.id IN :orgIds AND i.type IN ('LOGO', 'COVER')")
+    List<OrganisationImageView> findOrganisationImageViews(Collection<Long> orgIds);
 }
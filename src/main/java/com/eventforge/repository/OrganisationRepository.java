@@ -1,5 +1,6 @@
 package com.eventforge.repository;
 
+import com.eventforge.dto.projection.OrganisationPriorityView;
 import com.eventforge.model.Organisation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,17 +10,39 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrganisationRepository extends JpaRepository<Organisation, Long> {
 
-    @Query("SELECT o FROM Organisation o WHERE o.user.isNonLocked = true AND o.user.isApprovedByAdmin = true AND o.user.isEnabled = true ORDER BY RAND() LIMIT 3")
-    List<Organisation> findThreeRandomOrganisations();
-    @Query("SELECT o FROM Organisation o ORDER BY o.registeredAt ASC")
+    String FEATURABLE_CONDITION = "o.user.isNonLocked = true AND o.user.isApprovedByAdmin = true AND o.user.isEnabled = true";
+
+    // sampling pool of FeaturedOrganisationSampler
+    @Query("SELECT o.id FROM Organisation o WHERE " + FEATURABLE_CONDITION)
+    List<Long> findFeaturableOrganisationIds();
+
+    // the condition is checked again , the sampled ids may be a refresh behind
+    @Query("SELECT o FROM Organisation o WHERE o.id IN :ids AND " + FEATURABLE_CONDITION)
+    List<Organisation> findFeaturableOrganisationsByIdIn(Collection<Long> ids);
+    @Query("SELECT o FROM Organisation o JOIN FETCH o.user u LEFT JOIN FETCH u.verificationToken ORDER BY o.registeredAt ASC")
     List<Organisation> findAllOrganisationsForAdmin();
 
+    // admin organisation management , a null flag does not filter
+    String ADMIN_STATUS_CONDITION = " WHERE (:approvedByAdmin IS NULL OR u.isApprovedByAdmin = :approvedByAdmin)" +
+            " AND (:nonLocked IS NULL OR u.isNonLocked = :nonLocked)" +
+            " AND (:enabled IS NULL OR u.isEnabled = :enabled)";
+
+    @Query(value = "SELECT o FROM Organisation o JOIN FETCH o.user u LEFT JOIN FETCH u.verificationToken" + ADMIN_STATUS_CONDITION,
+            countQuery = "SELECT count(o) FROM Organisation o JOIN o.user u" + ADMIN_STATUS_CONDITION)
+    Page<Organisation> findAllOrganisationsForAdmin(Boolean approvedByAdmin, Boolean nonLocked, Boolean enabled, Pageable pageable);
+
+    // read by OrganisationExportService as a stream , straight into the response rows
+    String ADMIN_EXPORT_QUERY = "SELECT new com.eventforge.dto.response.OrganisationResponseForAdmin(u.id, o.id, o.name, u.fullName," +
+            " u.phoneNumber, u.username, o.bullstat, u.isEnabled, u.isApprovedByAdmin, u.isNonLocked, u.registeredAt, u.updatedAt)" +
+            " FROM Organisation o JOIN o.user u" + ADMIN_STATUS_CONDITION + " ORDER BY o.registeredAt ASC, o.id ASC";
+
     @Query("SELECT o FROM Organisation o WHERE o.id = :id AND o.user.isNonLocked = true AND o.user.isApprovedByAdmin = true AND o.user.isEnabled = true")
     Organisation findOrganisationById(Long id);
     @Query("SELECT o FROM Organisation o WHERE o.user.username = :email")
@@ -33,12 +56,29 @@ public interface OrganisationRepository extends JpaRepository<Organisation, Long
     @Query("SELECT o FROM Organisation o WHERE o.user.isEnabled = true AND o.user.isApprovedByAdmin = true AND o.user.isNonLocked = true")
     Page<Organisation> findAllOrganisations(Pageable pageable);
 
-    @Query("SELECT o FROM Organisation o " +
-            "JOIN o.organisationPriorities op " +
+    // fallback for terms shorter than an ngram , distinct because of the priority join
+    @Query("SELECT DISTINCT o FROM Organisation o " +
+            "LEFT JOIN o.organisationPriorities op " +
             "WHERE o.user.isEnabled = true " +
             "AND o.user.isApprovedByAdmin = true " +
             "AND o.user.isNonLocked = true " +
             "AND (o.name LIKE %:search% OR o.address LIKE %:search% OR o.website LIKE %:search% OR o.facebookLink LIKE %:search%" +
             " OR op.category LIKE %:search% OR o.user.username LIKE %:search%)")
     Page<Organisation> findAllOrganisationsForUserBySearchField(@RequestParam("search") String search , Pageable pageable);
+
+    @Query("SELECT new com.eventforge.dto.projection.OrganisationPriorityView(o.id, op.category) FROM Organisation o " +
+            "JOIN o.organisationPriorities op WHERE o.id IN :orgIds")
+    List<OrganisationPriorityView> findOrganisationPriorityViews(Collection<Long> orgIds);
+
+    String FULLTEXT_COLUMNS = "o.name, o.address, o.website, o.facebook_link, o.priority_text, o.user_email";
+    String FULLTEXT_FROM = " FROM organisation o JOIN user u ON u.id = o.user_id" +
+            " WHERE u.is_enabled = true AND u.is_approved_by_admin = true AND u.is_non_locked = true" +
+            " AND MATCH(" + FULLTEXT_COLUMNS + ") AGAINST (:phrase IN BOOLEAN MODE)";
+
+    // one row per organisation , the priorities are matched through priority_text instead of a join
+    @Query(value = "SELECT o.*" + FULLTEXT_FROM +
+            " ORDER BY MATCH(" + FULLTEXT_COLUMNS + ") AGAINST (:search IN NATURAL LANGUAGE MODE) DESC, o.id ASC",
+            countQuery = "SELECT count(*)" + FULLTEXT_FROM,
+            nativeQuery = true)
+    Page<Organisation> searchOrganisations(String phrase, String search, Pageable pageable);
 }
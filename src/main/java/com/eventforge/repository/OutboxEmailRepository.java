@@ -0,0 +1,31 @@
+package com.eventforge.repository;
+
+import com.eventforge.constants.OutboxEmailStatus;
+import com.eventforge.model.OutboxEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+    @Query("SELECT e.id FROM OutboxEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(OutboxEmailStatus status, LocalDateTime now, Pageable pageable);
+
+    // 1 for the poller that moved the row out of reach of the others , 0 when another one was faster
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.nextAttemptAt = :leaseUntil WHERE e.id = :id AND e.status = :status AND e.nextAttemptAt <= :now")
+    int claim(Long id, OutboxEmailStatus status, LocalDateTime now, LocalDateTime leaseUntil);
+
+    long countByStatus(OutboxEmailStatus status);
+
+    // next_attempt_at of a finished row is its last claim , so this is a range scan on the status index
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM email_outbox WHERE status IN ('SENT', 'FAILED') AND next_attempt_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteFinishedBefore(LocalDateTime cutoff, int limit);
+}
@@ -2,8 +2,11 @@ package com.eventforge.repository;
 
 import com.eventforge.model.Token;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +19,16 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
     List<Token> findAllValidTokenByUser(Long id);
 
     Optional<Token> findByTokenValue(String tokenValue);
-    @Query("SELECT t FROM Token t WHERE t.expired = false AND t.revoked = false")
-    List<Token> getAllUnexpiredTokensForInspection();
+
+    // native for the limit , each call is one short transaction on the expires_at index
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE token SET expired = true, revoked = true WHERE expires_at <= :now AND expired = false LIMIT :limit",
+            nativeQuery = true)
+    int expireTokensBefore(LocalDateTime now, int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM token WHERE expires_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteTokensExpiredBefore(LocalDateTime cutoff, int limit);
 }
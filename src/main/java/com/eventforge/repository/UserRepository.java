@@ -2,8 +2,11 @@ package com.eventforge.repository;
 
 import com.eventforge.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -24,4 +27,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE u.isEnabled = false AND u.registeredAt < :cutoffDateTime")
     List<User> getUnverifiedAccountsOlderThan(LocalDateTime cutoffDateTime);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = COALESCE(u.tokenVersion, 0) + 1 WHERE u.username = :username")
+    int incrementTokenVersion(String username);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.username = :username")
+    Optional<Long> findTokenVersion(String username);
 }
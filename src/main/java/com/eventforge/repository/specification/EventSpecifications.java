@@ -0,0 +1,38 @@
+package com.eventforge.repository.specification;
+
+import com.eventforge.model.Event;
+import com.eventforge.model.Organisation;
+import com.eventforge.model.User;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+// criteria counterparts of the conditions in EventRepository , used where the query has to be built dynamically
+public final class EventSpecifications {
+
+    private static final String ENDS_AT = "endsAt";
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> legalUser() {
+        return (root, query, cb) -> {
+            Join<Event, Organisation> orgJoin = root.join("organisation");
+            Join<Organisation, User> userJoin = orgJoin.join("user");
+            return cb.and(cb.isTrue(userJoin.get("isNonLocked")), cb.isTrue(userJoin.get("isApprovedByAdmin")));
+        };
+    }
+
+    public static Specification<Event> isOneTime(boolean isOneTime) {
+        return (root, query, cb) -> cb.equal(root.get("isOneTime"), isOneTime);
+    }
+
+    public static Specification<Event> unexpired(LocalDateTime now) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(ENDS_AT), now);
+    }
+
+    public static Specification<Event> expired(LocalDateTime now) {
+        return (root, query, cb) -> cb.lessThan(root.get(ENDS_AT), now);
+    }
+}
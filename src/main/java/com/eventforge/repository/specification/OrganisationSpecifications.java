@@ -0,0 +1,22 @@
+package com.eventforge.repository.specification;
+
+import com.eventforge.model.Organisation;
+import com.eventforge.model.User;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class OrganisationSpecifications {
+
+    private OrganisationSpecifications() {
+    }
+
+    // same condition as OrganisationRepository.findAllOrganisations
+    public static Specification<Organisation> visible() {
+        return (root, query, cb) -> {
+            Join<Organisation, User> userJoin = root.join("user");
+            return cb.and(cb.isTrue(userJoin.get("isEnabled")),
+                    cb.isTrue(userJoin.get("isApprovedByAdmin")),
+                    cb.isTrue(userJoin.get("isNonLocked")));
+        };
+    }
+}
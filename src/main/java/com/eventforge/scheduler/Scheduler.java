@@ -1,43 +1,74 @@
 package com.eventforge.scheduler;
 
-import com.eventforge.model.Token;
 import com.eventforge.model.User;
+import com.eventforge.repository.OutboxEmailRepository;
 import com.eventforge.repository.TokenRepository;
 import com.eventforge.repository.UserRepository;
-import com.eventforge.security.jwt.JWTService;
-import io.jsonwebtoken.ExpiredJwtException;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.IntUnaryOperator;
 
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class Scheduler {
 
     private final UserRepository userRepository;
 
     private final TokenRepository tokenRepository;
 
-    private final JWTService jwtService;
+    private final OutboxEmailRepository outboxEmailRepository;
 
+    private final int chunkSize;
+
+    private final Duration tokenRetention;
+
+    private final Duration emailOutboxRetention;
+
+    public Scheduler(UserRepository userRepository,
+                     TokenRepository tokenRepository,
+                     OutboxEmailRepository outboxEmailRepository,
+                     @Value("${eventforge.token.sweep.chunk-size:1000}") int chunkSize,
+                     @Value("${eventforge.token.retention-days:7}") long tokenRetentionDays,
+                     @Value("${eventforge.email.outbox.retention-days:30}") long emailOutboxRetentionDays) {
+        this.userRepository = userRepository;
+        this.tokenRepository = tokenRepository;
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.chunkSize = chunkSize;
+        this.tokenRetention = Duration.ofDays(tokenRetentionDays);
+        this.emailOutboxRetention = Duration.ofDays(emailOutboxRetentionDays);
+    }
+
+    // set based on token.expires_at , in chunks so no run holds a long lock on the token table
     @Scheduled(cron = "0 0 * * * *") // Run every hour at the start of the hour
     public void tokenExpirationTimeInspection() {
-        List<Token> tokensToInspect = tokenRepository.getAllUnexpiredTokensForInspection();
-        if (tokensToInspect != null && !tokensToInspect.isEmpty()) {
-            for (Token token : tokensToInspect) {
-                try {
-                    jwtService.isTokenExpired(token.getTokenValue());
-                } catch (ExpiredJwtException e) {
-                    token.setRevoked(true);
-                    token.setExpired(true);
-                    tokenRepository.save(token);
-                }
-            }
-        }
+        LocalDateTime now = LocalDateTime.now();
+        int expired = inChunks(limit -> tokenRepository.expireTokensBefore(now, limit));
+        // expired and revoked rows are rejected anyway , after the retention they are only kept for auditing
+        int purged = inChunks(limit -> tokenRepository.deleteTokensExpiredBefore(now.minus(tokenRetention), limit));
+        log.info("Token sweep marked {} tokens as expired and purged {}", expired, purged);
+    }
+
+    // sent and failed emails only matter for support questions , pending ones are never purged
+    @Scheduled(cron = "0 30 * * * *") // Run every hour at half past
+    public void emailOutboxPurge() {
+        int purged = inChunks(limit -> outboxEmailRepository.deleteFinishedBefore(LocalDateTime.now().minus(emailOutboxRetention), limit));
+        log.info("Email outbox purge removed {} finished emails", purged);
+    }
+
+    private int inChunks(IntUnaryOperator chunk) {
+        int total = 0;
+        int affected;
+        do {
+            affected = chunk.applyAsInt(chunkSize);
+            total += affected;
+        } while (affected == chunkSize);
+        return total;
     }
 
     @Scheduled(cron = "0 0 0 * * *")
@@ -0,0 +1,291 @@
+package com.eventforge.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.bg.BulgarianAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// On-disk inverted index over event name , description and address.
+// Holds only the text fields and the id , everything else is still filtered in MySQL.
+// Every commit stores the latest event updatedAt it has seen , EventSearchIndexer catches up from it.
+// The writes share one monitor , so a rebuild never interleaves with a single update.
+@Component
+@Slf4j
+public class EventSearchIndex implements DisposableBean {
+    public static final String ID = "id";
+    public static final String NAME = "name";
+    public static final String DESCRIPTION = "description";
+    public static final String ADDRESS = "address";
+
+    private static final float EXACT_TERM_BOOST = 2f;
+    private static final String INDEXED_UNTIL = "indexedUntil";
+
+    private final boolean enabled;
+    // most ids handed to the sql IN filter , broader text is filtered by the sql predicates instead
+    private final int maxHits;
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // false while a rebuild is running , callers fall back to the sql filter meanwhile
+    private volatile boolean ready = true;
+
+    @Autowired
+    public EventSearchIndex(@Value("${eventforge.search.enabled:true}") boolean enabled,
+                            @Value("${eventforge.search.index-dir:data/event-index}") String indexDir,
+                            @Value("${eventforge.search.max-hits:1000}") int maxHits) throws IOException {
+        this(enabled ? FSDirectory.open(Path.of(indexDir)) : null, maxHits);
+    }
+
+    public EventSearchIndex(Directory directory, int maxHits) throws IOException {
+        this.enabled = directory != null;
+        this.maxHits = maxHits;
+        this.analyzer = new BulgarianAnalyzer();
+        this.directory = directory;
+        if (enabled) {
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            this.writer = new IndexWriter(directory, config);
+            this.searcherManager = new SearcherManager(writer, null);
+        } else {
+            this.writer = null;
+            this.searcherManager = null;
+        }
+    }
+
+    public boolean isAvailable() {
+        return enabled && ready;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return enabled ? writer.getDocStats().numDocs : 0;
+    }
+
+    // the latest updatedAt of the indexed events , empty for a new index or one written before the watermark was kept
+    public Optional<LocalDateTime> indexedUntil() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+            if (INDEXED_UNTIL.equals(entry.getKey())) {
+                return Optional.of(LocalDateTime.parse(entry.getValue()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public synchronized void index(Long id, String name, String description, String address) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writer.updateDocument(idTerm(id), toDocument(id, name, description, address));
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Adds or replaces the given documents in one commit and moves the watermark to their latest updatedAt.
+    public synchronized int indexAll(Iterable<IndexedEvent> events) {
+        if (!enabled) {
+            return 0;
+        }
+        LocalDateTime indexedUntil = indexedUntil().orElse(null);
+        int count = 0;
+        try {
+            for (IndexedEvent event : events) {
+                writer.updateDocument(idTerm(event.id()), toDocument(event.id(), event.name(), event.description(), event.address()));
+                indexedUntil = latest(indexedUntil, event.updatedAt());
+                count++;
+            }
+            commit(indexedUntil);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writer.deleteDocuments(idTerm(id));
+            commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Replaces the whole index with the given documents. The index is marked unavailable until the commit.
+    public synchronized int rebuild(Iterable<IndexedEvent> events) {
+        if (!enabled) {
+            return 0;
+        }
+        ready = false;
+        LocalDateTime indexedUntil = null;
+        int count = 0;
+        try {
+            writer.deleteAll();
+            for (IndexedEvent event : events) {
+                writer.addDocument(toDocument(event.id(), event.name(), event.description(), event.address()));
+                indexedUntil = latest(indexedUntil, event.updatedAt());
+                count++;
+            }
+            commit(indexedUntil);
+            log.info("Event search index rebuilt with {} documents", count);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            ready = true;
+        }
+    }
+
+    // Ranked ids of events matching every given term. Empty optional means the criteria contain nothing
+    // searchable (all blank or stop words) or match more than maxHits events , the text is then left to the sql predicates.
+    public Optional<List<Long>> search(String name, String description, String address) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int clauses = addFieldClauses(query, NAME, name)
+                + addFieldClauses(query, DESCRIPTION, description)
+                + addFieldClauses(query, ADDRESS, address);
+        if (clauses == 0) {
+            return Optional.empty();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // every match is needed , the ids become the sql IN filter of the page , the count and the relevance filter
+                TopDocs topDocs = searcher.search(query.build(), maxHits + 1);
+                if (topDocs.scoreDocs.length > maxHits) {
+                    log.debug("Event search matched more than {} documents , filtering the text in sql", maxHits);
+                    return Optional.empty();
+                }
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    ids.add(Long.valueOf(storedFields.document(scoreDoc.doc).get(ID)));
+                }
+                return Optional.of(ids);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int addFieldClauses(BooleanQuery.Builder query, String field, String text) {
+        if (text == null || text.isBlank()) {
+            return 0;
+        }
+        List<String> terms = analyze(field, text);
+        for (String term : terms) {
+            // the whole term ranks higher , the prefix keeps "as you type" input matching like the old LIKE did
+            Query termQuery = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(field, term)), EXACT_TERM_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new PrefixQuery(new Term(field, term)), BooleanClause.Occur.SHOULD)
+                    .build();
+            query.add(termQuery, BooleanClause.Occur.MUST);
+        }
+        return terms.size();
+    }
+
+    private List<String> analyze(String field, String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokenStream = analyzer.tokenStream(field, text)) {
+            CharTermAttribute termAttribute = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                terms.add(termAttribute.toString());
+            }
+            tokenStream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private Document toDocument(Long id, String name, String description, String address) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.YES));
+        addText(document, NAME, name);
+        addText(document, DESCRIPTION, description);
+        addText(document, ADDRESS, address);
+        return document;
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private Term idTerm(Long id) {
+        return new Term(ID, String.valueOf(id));
+    }
+
+    private void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private void commit(LocalDateTime indexedUntil) throws IOException {
+        if (indexedUntil != null) {
+            writer.setLiveCommitData(Map.of(INDEXED_UNTIL, indexedUntil.toString()).entrySet());
+        }
+        commit();
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (enabled) {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+        analyzer.close();
+    }
+}
@@ -0,0 +1,100 @@
+package com.eventforge.search;
+
+import com.eventforge.domain.EventChangedEvent;
+import com.eventforge.model.Event;
+import com.eventforge.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Keeps EventSearchIndex in sync with the event table. Changes made by this instance are indexed right away ,
+// changes made by other instances , by hand in sql or while the application was down are caught up on a schedule
+// from the updatedAt watermark of the index.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventSearchIndexer {
+    private static final int REBUILD_BATCH_SIZE = 500;
+    // rows committed after a later updatedAt was already read , or stamped by another instance's slower clock
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(5);
+
+    private final EventSearchIndex eventSearchIndex;
+    private final EventRepository eventRepository;
+
+    @EventListener
+    public void onEventChanged(EventChangedEvent changedEvent) {
+        if (changedEvent.getChangeType() == EventChangedEvent.ChangeType.DELETED) {
+            eventSearchIndex.remove(changedEvent.getEventId());
+            return;
+        }
+        Event event = changedEvent.getEvent();
+        eventSearchIndex.index(event.getId(), event.getName(), event.getDescription(), event.getAddress());
+    }
+
+    // Start : a new , wiped or pre-watermark index is rebuilt , otherwise it catches up on what changed while it was down.
+    // Events deleted meanwhile leave more documents than rows , that also needs a rebuild.
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStart() {
+        if (!eventSearchIndex.isEnabled()) {
+            return;
+        }
+        if (eventSearchIndex.indexedUntil().isEmpty()) {
+            log.info("Event search index has no watermark , rebuilding from the database");
+            rebuild();
+            return;
+        }
+        catchUp();
+        long events = eventRepository.count();
+        if (eventSearchIndex.size() != events) {
+            log.info("Event search index has {} documents for {} events , rebuilding from the database", eventSearchIndex.size(), events);
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${eventforge.search.catch-up-interval-ms:60000}",
+            initialDelayString = "${eventforge.search.catch-up-interval-ms:60000}")
+    public void scheduledCatchUp() {
+        if (eventSearchIndex.isEnabled()) {
+            catchUp();
+        }
+    }
+
+    // re-indexes every event updated since the watermark , minus the overlap
+    public int catchUp() {
+        Optional<LocalDateTime> indexedUntil = eventSearchIndex.indexedUntil();
+        if (indexedUntil.isEmpty()) {
+            return rebuild();
+        }
+        LocalDateTime since = indexedUntil.get().minus(CATCH_UP_OVERLAP);
+        int count = 0;
+        List<IndexedEvent> batch = eventRepository.findIndexedEventsUpdatedAfter(since, 0L, PageRequest.of(0, REBUILD_BATCH_SIZE));
+        while (!batch.isEmpty()) {
+            count += eventSearchIndex.indexAll(batch);
+            IndexedEvent last = batch.get(batch.size() - 1);
+            batch = eventRepository.findIndexedEventsUpdatedAfter(last.updatedAt(), last.id(), PageRequest.of(0, REBUILD_BATCH_SIZE));
+        }
+        log.debug("Event search index caught up on {} events updated since {}", count, since);
+        return count;
+    }
+
+    public int rebuild() {
+        Stream<IndexedEvent> events = Stream.iterate(nextBatch(0L), batch -> !batch.isEmpty(),
+                        batch -> nextBatch(batch.get(batch.size() - 1).id()))
+                .flatMap(List::stream);
+        return eventSearchIndex.rebuild(events::iterator);
+    }
+
+    private List<IndexedEvent> nextBatch(Long afterId) {
+        return eventRepository.findIndexedEventsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventforge.search;
+
+import java.time.LocalDateTime;
+
+// The fields of an event that go into the search index , updatedAt moves the catch-up watermark.
+public record IndexedEvent(Long id, String name, String description, String address, LocalDateTime updatedAt) {
+}
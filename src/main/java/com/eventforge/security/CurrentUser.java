@@ -0,0 +1,14 @@
+package com.eventforge.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Injects the authenticated User , or the Organisation of that user , into a controller method.
+// Resolved from the authenticated principal , the token is not parsed again. The User is a lazy reference ,
+// services that only need its id do not query it.
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
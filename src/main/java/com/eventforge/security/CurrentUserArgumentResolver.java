@@ -0,0 +1,45 @@
+package com.eventforge.security;
+
+import com.eventforge.model.Organisation;
+import com.eventforge.model.User;
+import com.eventforge.repository.OrganisationRepository;
+import com.eventforge.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserRepository userRepository;
+    private final OrganisationRepository organisationRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (parameter.getParameterType() == User.class || parameter.getParameterType() == Organisation.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof MyUserDetails userDetails)) {
+            // only reachable from an endpoint that is not behind authentication
+            throw new UsernameNotFoundException("Моля впишете се в профила си.");
+        }
+        if (parameter.getParameterType() == Organisation.class) {
+            return organisationRepository.findOrganisationByUserId(userDetails.getUserId());
+        }
+        // a proxy bound to the request's entity manager , loaded only when more than the id is read
+        return userRepository.getReferenceById(userDetails.getUserId());
+    }
+}
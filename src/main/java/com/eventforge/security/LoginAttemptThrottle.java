@@ -0,0 +1,93 @@
+package com.eventforge.security;
+
+import com.eventforge.exception.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Failed logins per username and per client ip. Once either reaches its limit further attempts are refused
+// with 429 before the password is checked , so guessing costs no bcrypt work. Every failure restarts the window
+// of its key , a successful login clears the username.
+// The client ip is request.getRemoteAddr(). Behind a reverse proxy that is the proxy , so server.forward-headers-strategy
+// is native : Tomcat's RemoteIpValve replaces it with the X-Forwarded-For client , but only when the request comes
+// from a trusted proxy. Tomcat trusts the private and loopback ranges by default , a proxy outside them is listed in
+// server.tomcat.remoteip.internal-proxies (SERVER_TOMCAT_REMOTEIP_INTERNALPROXIES). A header sent by a client that
+// reaches the server directly is ignored , so it can not pick a fresh ip per attempt.
+@Component
+@Slf4j
+public class LoginAttemptThrottle {
+    private final Cache<String, Integer> failuresByUsername;
+    private final Cache<String, Integer> failuresByIp;
+    private final int maxFailuresPerUsername;
+    private final int maxFailuresPerIp;
+    private final long windowSeconds;
+    private final Counter throttled;
+
+    public LoginAttemptThrottle(MeterRegistry meterRegistry,
+                                @Value("${eventforge.security.login-throttle.max-failures-per-username:5}") int maxFailuresPerUsername,
+                                @Value("${eventforge.security.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+                                @Value("${eventforge.security.login-throttle.window-seconds:900}") long windowSeconds,
+                                @Value("${eventforge.security.login-throttle.max-size:100000}") long maxSize) {
+        this.failuresByUsername = newCounter(windowSeconds, maxSize);
+        this.failuresByIp = newCounter(windowSeconds, maxSize);
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.windowSeconds = windowSeconds;
+        this.throttled = Counter.builder("eventforge.login.throttled")
+                .description("Login attempts refused because of earlier failures")
+                .register(meterRegistry);
+    }
+
+    public void checkAllowed(String username, String clientIp) {
+        if (reached(failuresByUsername, key(username), maxFailuresPerUsername)
+                || reached(failuresByIp, clientIp, maxFailuresPerIp)) {
+            throttled.increment();
+            throw new TooManyLoginAttemptsException(windowSeconds);
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        int failures = increment(failuresByUsername, key(username));
+        increment(failuresByIp, clientIp);
+        if (failures == maxFailuresPerUsername) {
+            log.warn("Login for user {} throttled after {} failed attempts", username, failures);
+        }
+    }
+
+    public void recordSuccess(String username) {
+        String key = key(username);
+        if (key != null) {
+            failuresByUsername.invalidate(key);
+        }
+    }
+
+    private static boolean reached(Cache<String, Integer> failures, String key, int limit) {
+        if (key == null) {
+            return false;
+        }
+        Integer count = failures.getIfPresent(key);
+        return count != null && count >= limit;
+    }
+
+    private static int increment(Cache<String, Integer> failures, String key) {
+        return key == null ? 0 : failures.asMap().merge(key, 1, Integer::sum);
+    }
+
+    private static String key(String username) {
+        return username == null ? null : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Cache<String, Integer> newCounter(long windowSeconds, long maxSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.eventforge.security;
 
 import com.eventforge.repository.TokenRepository;
+import com.eventforge.security.jwt.JWTService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -17,6 +19,8 @@ import org.springframework.stereotype.Service;
 public class LogoutService implements LogoutHandler {
 
     private final TokenRepository tokenRepository;
+    private final JWTService jwtService;
+    private final TokenRevocationService tokenRevocationService;
     @Override
     public void logout(
             HttpServletRequest request,
@@ -30,12 +34,35 @@ public class LogoutService implements LogoutHandler {
             return;
         }
         jwt = authHeader.substring(7);
-        var storedToken = tokenRepository.findByTokenValue(jwt)
-                .orElse(null);
-        if (storedToken != null) {
-            storedToken.setExpired(true);
-            storedToken.setRevoked(true);
-            tokenRepository.save(storedToken);
+        String username;
+        Long tokenVersion;
+        try {
+            var claims = jwtService.parseClaims(jwt);
+            username = claims.getSubject();
+            tokenVersion = jwtService.extractTokenVersion(claims);
+        } catch (JwtException ex) {
+            log.warn("Logout with an invalid or expired token");
+            return;
+        }
+        boolean loggedOut = false;
+        if (tokenVersion != null) {
+            // revokes every access token of the user , they are not tracked one by one.
+            // A token that is already revoked must not sign out the sessions opened after it.
+            if (tokenVersion == tokenRevocationService.currentTokenVersion(username)) {
+                tokenRevocationService.revokeAllTokens(username);
+                loggedOut = true;
+            }
+        } else {
+            var storedToken = tokenRepository.findByTokenValue(jwt)
+                    .orElse(null);
+            if (storedToken != null) {
+                storedToken.setExpired(true);
+                storedToken.setRevoked(true);
+                tokenRepository.save(storedToken);
+                loggedOut = true;
+            }
+        }
+        if (loggedOut) {
             SecurityContextHolder.clearContext();
             HttpSession session = request.getSession(false);
             if (session != null) {
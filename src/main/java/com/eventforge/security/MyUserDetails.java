@@ -25,12 +25,23 @@ public class MyUserDetails implements UserDetails {
     private boolean isAccountEnabled;
     private List<GrantedAuthority> authorities;
 
+    // the controllers resolve the user by this id through @CurrentUser
+    private Long userId;
+    // access tokens with another "ver" claim were revoked
+    private long tokenVersion;
+
     public MyUserDetails(User user) {
-        this.userName = user.getUsername();
-        this.password = user.getPassword();
-        this.isAccountNonLocked = user.getIsNonLocked();
-        this.isAccountEnabled = user.getIsEnabled();
-        this.authorities = Arrays.stream(user.getRole()
+        this(UserDetailsSnapshot.of(user));
+    }
+
+    public MyUserDetails(UserDetailsSnapshot user) {
+        this.userId = user.userId();
+        this.tokenVersion = user.tokenVersion();
+        this.userName = user.username();
+        this.password = user.password();
+        this.isAccountNonLocked = user.nonLocked();
+        this.isAccountEnabled = user.enabled();
+        this.authorities = Arrays.stream(user.role()
                 .split(","))
                 .map(SimpleGrantedAuthority::new)
                 .collect(toList());
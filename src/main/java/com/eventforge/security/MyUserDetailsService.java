@@ -12,10 +12,15 @@ import org.springframework.stereotype.Component;
 public class MyUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .map(MyUserDetails::new)
-                .orElseThrow(() -> new UsernameNotFoundException(String.format("Потребител с електронна поща %s не е намерен.", username)));
+        UserDetailsSnapshot snapshot = userDetailsCache.get(username, key -> userRepository.findByUsername(key)
+                .map(UserDetailsSnapshot::of)
+                .orElse(null));
+        if (snapshot == null) {
+            throw new UsernameNotFoundException(String.format("Потребител с електронна поща %s не е намерен.", username));
+        }
+        return new MyUserDetails(snapshot);
     }
 }
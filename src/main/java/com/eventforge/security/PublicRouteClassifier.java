@@ -0,0 +1,44 @@
+package com.eventforge.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Requests that JWTAuthenticationFilter lets through without looking at the Authorization header.
+// The permitAll routes of SecurityConfig , compiled once , minus the admin actuator operations below /actuator/**.
+// Nothing behind them reads the security context , so an anonymous catalog request pays no auth cost
+// and a stale token on it is never parsed.
+@Component
+public class PublicRouteClassifier {
+
+    private final List<PathPattern> publicRoutes;
+    private final List<PathPattern> adminRoutes;
+
+    public PublicRouteClassifier() {
+        this.publicRoutes = compile(SecurityConfig.UNSECURED_URLs);
+        this.adminRoutes = compile(SecurityConfig.ADMIN_ACTUATOR_URLs);
+    }
+
+    public boolean isPublic(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getServletPath());
+        return matches(publicRoutes, path) && !matches(adminRoutes, path);
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> compile(String[] routes) {
+        return Arrays.stream(routes).map(PathPatternParser.defaultInstance::parse).toList();
+    }
+}
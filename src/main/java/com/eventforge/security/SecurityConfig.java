@@ -5,6 +5,7 @@ import com.eventforge.exception.CustomAuthenticationEntryPoint;
 import com.eventforge.security.jwt.JWTAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,7 +23,10 @@ import org.springframework.security.web.authentication.logout.LogoutHandler;
 public class SecurityConfig {
 
     private static final String[] SECURED_URLs = {"/admin/**"};
-    private static final String[] UNSECURED_URLs = {"/actuator/**","/menu/**", "/auth/**", "/api/v1/events/**" ,"/api/v1/one-time-events/**","/unauthorized/**", "/api/v1/recurrence-events/**" ,"/filter-by-criteria"};
+    // also skipped by JWTAuthenticationFilter , see PublicRouteClassifier
+    static final String[] UNSECURED_URLs = {"/actuator/**","/menu/**", "/auth/**", "/api/v1/events/**" ,"/api/v1/one-time-events/**","/unauthorized/**", "/api/v1/recurrence-events/**" ,"/filter-by-criteria" ,"/filter-by-criteria/scroll"};
+    // write operations that must not be reachable through the public /actuator/** rule
+    static final String[] ADMIN_ACTUATOR_URLs = {"/actuator/event-index"};
     private static final String ORGANISATION_URL = "/organisation/**";
     private final JWTAuthenticationFilter authenticationFilter;
     private final MyUserDetailsService userDetailsService;
@@ -57,6 +61,8 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http.csrf().disable().cors().disable()
+                .authorizeHttpRequests().requestMatchers(HttpMethod.POST, ADMIN_ACTUATOR_URLs).hasAuthority(Role.ADMIN.toString())
+                .and()
                 .authorizeHttpRequests().requestMatchers(UNSECURED_URLs).permitAll()
                 .and()
                 .authorizeHttpRequests().requestMatchers(ORGANISATION_URL).hasAnyAuthority(Role.ORGANISATION.toString()).and()
@@ -0,0 +1,32 @@
+package com.eventforge.security;
+
+import com.eventforge.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+// Stateless revocation of access tokens. Every access token carries the token_version of its user as the "ver" claim
+// and JWTAuthenticationFilter accepts it only while it matches the cached version , so validation reads no token table.
+// Bumping the version revokes every access token issued to the user so far.
+// Another instance keeps accepting a revoked token until its UserDetailsCache entry expires.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    // the update commits before the eviction , a concurrent request can not cache the old version again
+    public long revokeAllTokens(String username) {
+        userRepository.incrementTokenVersion(username);
+        userDetailsCache.evict(username);
+        long tokenVersion = userRepository.findTokenVersion(username).orElse(0L);
+        log.info("Access tokens of user {} revoked , token version is now {}", username, tokenVersion);
+        return tokenVersion;
+    }
+
+    public long currentTokenVersion(String username) {
+        return userRepository.findTokenVersion(username).orElse(0L);
+    }
+}
@@ -0,0 +1,49 @@
+package com.eventforge.security;
+
+import com.eventforge.domain.AccountChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Username to UserDetailsSnapshot for MyUserDetailsService , so an authenticated request does not query the user.
+// Account state changes evict through AccountChangedEvent , token revocations evict through TokenRevocationService.
+// The ttl bounds how long a change made outside the application (manual sql , another instance) goes unnoticed.
+@Component
+public class UserDetailsCache {
+    private final Cache<String, UserDetailsSnapshot> cache;
+
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${eventforge.security.user-details-cache.max-size:10000}") long maxSize,
+                            @Value("${eventforge.security.user-details-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss} , cache.evictions , cache.size
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    // the loader returns null for an unknown username , nothing is cached then
+    public UserDetailsSnapshot get(String username, Function<String, UserDetailsSnapshot> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    @EventListener
+    public void onAccountChanged(AccountChangedEvent changedEvent) {
+        evict(changedEvent.getUsername());
+    }
+}
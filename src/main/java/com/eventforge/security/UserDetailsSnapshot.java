@@ -0,0 +1,25 @@
+package com.eventforge.security;
+
+import com.eventforge.model.User;
+
+// What authentication needs from a user , detached from the entity so it can be shared between requests
+public record UserDetailsSnapshot(Long userId,
+                                  String username,
+                                  String password,
+                                  String role,
+                                  boolean enabled,
+                                  boolean nonLocked,
+                                  boolean approvedByAdmin,
+                                  long tokenVersion) {
+
+    public static UserDetailsSnapshot of(User user) {
+        return new UserDetailsSnapshot(user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getRole(),
+                Boolean.TRUE.equals(user.getIsEnabled()),
+                Boolean.TRUE.equals(user.getIsNonLocked()),
+                Boolean.TRUE.equals(user.getIsApprovedByAdmin()),
+                user.getTokenVersion() == null ? 0 : user.getTokenVersion());
+    }
+}
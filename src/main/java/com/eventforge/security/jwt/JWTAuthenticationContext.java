@@ -0,0 +1,36 @@
+package com.eventforge.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+// Claims of the bearer token verified by JWTAuthenticationFilter. They live as a request attribute ,
+// so the services handling the same request read them instead of parsing and verifying the token again.
+@Component
+public class JWTAuthenticationContext {
+    private static final String ATTRIBUTE = JWTAuthenticationContext.class.getName() + ".VERIFIED_TOKEN";
+
+    public void store(HttpServletRequest request, String token, Claims claims) {
+        request.setAttribute(ATTRIBUTE, new VerifiedToken(token, claims));
+    }
+
+    // empty outside of a request or when the filter did not verify this token
+    public Optional<Claims> claimsOf(String token) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || token == null) {
+            return Optional.empty();
+        }
+        if (attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof VerifiedToken verified
+                && verified.token().equals(token)) {
+            return Optional.of(verified.claims());
+        }
+        return Optional.empty();
+    }
+
+    private record VerifiedToken(String token, Claims claims) {
+    }
+}
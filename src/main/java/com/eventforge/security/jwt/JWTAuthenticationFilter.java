@@ -1,9 +1,10 @@
 package com.eventforge.security.jwt;
 
-import com.eventforge.model.Token;
 import com.eventforge.repository.TokenRepository;
 import com.eventforge.security.MyUserDetails;
 import com.eventforge.security.MyUserDetailsService;
+import com.eventforge.security.PublicRouteClassifier;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -18,7 +19,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -27,46 +27,57 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
     private final JWTService jwtService;
     private final MyUserDetailsService userDetailsService;
     private final TokenRepository tokenRepository;
+    private final JWTAuthenticationContext jwtAuthenticationContext;
+    private final PublicRouteClassifier publicRouteClassifier;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return publicRouteClassifier.isPublic(request);
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
-        if (request.getServletPath().contains("/auth")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
         String token = null;
         String username = null;
+        Claims claims = null;
         String authHeader = request.getHeader("Authorization");
         if(authHeader != null && authHeader.startsWith("Bearer ")){
             token = authHeader.substring(7);
             try {
-                username = jwtService.extractUsernameFromToken(token);
+                // parsed and verified once , the claims are reused for the rest of the request
+                claims = jwtService.parseClaims(token);
+                username = claims.getSubject();
             }catch (ExpiredJwtException ex){
-              Optional<Token> tokenDb= tokenRepository.findByTokenValue(token);
-              if(tokenDb.isPresent()){
-                  tokenDb.get().setRevoked(true);
-                  tokenDb.get().setExpired(true);
-                  tokenRepository.save(tokenDb.get());
-                  filterChain.doFilter(request , response);
-                  return;
-              }
+                // left unauthenticated , the hourly token sweep marks the row from token.expires_at
+                filterChain.doFilter(request , response);
+                return;
             }
         }
         if(username != null && SecurityContextHolder.getContext().getAuthentication() == null){
             MyUserDetails userDetails = (MyUserDetails) userDetailsService.loadUserByUsername(username);
-            boolean validateToken = jwtService.validateToken(token , userDetails);
-            boolean isTokenValid = tokenRepository.findByTokenValue(token)
-                    .map(t -> !t.isExpired() && !t.isRevoked())
-                    .orElse(false);
+            boolean validateToken = jwtService.validateToken(claims , userDetails);
+            boolean isTokenValid = isTokenNotRevoked(token , claims , userDetails);
             if(validateToken && isTokenValid){
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails ,null ,userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                jwtAuthenticationContext.store(request , token , claims);
 
                 logger.info("JWT filter is successful for user with email : "+username);
             }
         }
         filterChain.doFilter(request , response);
     }
+
+    // compared with the cached token version , only tokens issued before token versions read the token table
+    private boolean isTokenNotRevoked(String token , Claims claims , MyUserDetails userDetails) {
+        Long tokenVersion = jwtService.extractTokenVersion(claims);
+        if (tokenVersion != null) {
+            return tokenVersion == userDetails.getTokenVersion();
+        }
+        return tokenRepository.findByTokenValue(token)
+                .map(t -> !t.isExpired() && !t.isRevoked())
+                .orElse(false);
+    }
 }
@@ -1,12 +1,11 @@
 package com.eventforge.security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.AllArgsConstructor;
-import lombok.NoArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -18,17 +17,24 @@ import java.util.Map;
 import java.util.function.Function;
 
 @Service
-@AllArgsConstructor
-@NoArgsConstructor
 public class JWTService {
-
-
-    @Value("${spring.jwt.secret}")
-    private String jwtSecret;
-    @Value("${spring.jwt.jwtExpirationTime}")
-    private int jwtExpirationTime;
-    @Value("${application.security.jwt.refresh-token.expiration}")
-    private long refreshExpiration;
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final int jwtExpirationTime;
+    private final long refreshExpiration;
+
+    // decoding the secret and building the parser cost more than the verification itself , both are immutable
+    private final Key signKey;
+    private final JwtParser jwtParser;
+
+    public JWTService(@Value("${spring.jwt.secret}") String jwtSecret,
+                      @Value("${spring.jwt.jwtExpirationTime}") int jwtExpirationTime,
+                      @Value("${application.security.jwt.refresh-token.expiration}") long refreshExpiration) {
+        this.jwtExpirationTime = jwtExpirationTime;
+        this.refreshExpiration = refreshExpiration;
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signKey).build();
+    }
 
     public String extractTokenValueFromHeader(String authHeader) {
         if (authHeader.startsWith("Bearer ")) {
@@ -42,19 +48,26 @@ public class JWTService {
         return generateTokenForUser(claims, username);
     }
 
+    // access token bound to the current token_version of the user , see TokenRevocationService
+    public String getGeneratedToken(String username, long tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_VERSION_CLAIM, tokenVersion);
+        return generateTokenForUser(claims, username);
+    }
+
+    // null for tokens issued before token versions , those are checked against the token table
+    public Long extractTokenVersion(Claims claims) {
+        Number tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        return tokenVersion == null ? null : tokenVersion.longValue();
+    }
+
     private String generateTokenForUser(Map<String, Object> claims, String userName) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(userName)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationTime))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256).compact();
-    }
-
-
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+                .signWith(signKey, SignatureAlgorithm.HS256).compact();
     }
 
     public String extractUsernameFromToken(String theToken) {
@@ -66,28 +79,32 @@ public class JWTService {
     }
 
     public Boolean validateToken(String theToken, UserDetails userDetails) {
-        final String username = extractUsernameFromToken(theToken);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(theToken));
+        return validateToken(parseClaims(theToken), userDetails);
+    }
+
+    // for callers that already parsed the token , the signature is not verified a second time
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
     private <T> T extractClaim(String theToken, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(theToken);
+        final Claims claims = parseClaims(theToken);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // verifies the signature , throws ExpiredJwtException for an expired token
+    public Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public boolean isTokenExpired(String theToken) {
         return extractExpirationTimeFromToken(theToken).before(new Date());
     }
 
-    public String generateRefreshToken(String username) {
-        return generateTokenForUser(new HashMap<>(), username);
+    // carries the token version like the access token , a refresh token issued before a revocation is refused
+    public String generateRefreshToken(String username, long tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_VERSION_CLAIM, tokenVersion);
+        return generateTokenForUser(claims, username);
     }
 }
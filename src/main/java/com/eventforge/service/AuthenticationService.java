@@ -1,6 +1,5 @@
 package com.eventforge.service;
 
-import com.eventforge.constants.TokenType;
 import com.eventforge.dto.request.JWTAuthenticationRequest;
 import com.eventforge.dto.request.RegistrationRequest;
 import com.eventforge.dto.response.AuthenticationResponse;
@@ -8,12 +7,14 @@ import com.eventforge.exception.InvalidCredentialsException;
 import com.eventforge.exception.UserDisabledException;
 import com.eventforge.exception.UserLockedException;
 import com.eventforge.factory.EntityFactory;
-import com.eventforge.model.Token;
 import com.eventforge.model.User;
 import com.eventforge.repository.TokenRepository;
+import com.eventforge.security.LoginAttemptThrottle;
 import com.eventforge.security.MyUserDetails;
+import com.eventforge.security.TokenRevocationService;
 import com.eventforge.security.jwt.JWTService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.io.IOException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -31,24 +32,18 @@ public class AuthenticationService {
     private final EntityFactory entityFactory;
     private final TokenRepository tokenRepository;
     private final JWTService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
 
 
     public User register(RegistrationRequest registrationRequest){
         return entityFactory.createOrganisation(registrationRequest);
     }
-    private void saveUserToken(User user, String jwtToken) {
-        var token = Token.builder()
-                .user(user)
-                .tokenValue(jwtToken)
-                .tokenType(TokenType.BEARER)
-                .expired(false)
-                .revoked(false)
-                .build();
-        tokenRepository.save(token);
-    }
 
 
-    public AuthenticationResponse authenticate(JWTAuthenticationRequest request) {
+    public AuthenticationResponse authenticate(JWTAuthenticationRequest request, String clientIp) {
+       // refused before the password is hashed
+       loginAttemptThrottle.checkAllowed(request.getUserName(), clientIp);
        try{
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -57,32 +52,48 @@ public class AuthenticationService {
                 )
         );}
        catch (BadCredentialsException ex){
+           loginAttemptThrottle.recordFailure(request.getUserName(), clientIp);
            throw new InvalidCredentialsException();
        } catch (DisabledException ex){
            throw new UserDisabledException();
        } catch (LockedException ex){
            throw new UserLockedException();
        }
+        loginAttemptThrottle.recordSuccess(request.getUserName());
 
         User user = userService.getUserByEmail(request.getUserName());
-        var jwtToken = jwtService.getGeneratedToken(user.getUsername());
-        var refreshToken = jwtService.generateRefreshToken(user.getUsername());
-        saveUserToken(user, jwtToken);
+        // revocation goes through the token version , no token row is stored
+        var jwtToken = jwtService.getGeneratedToken(user.getUsername(), tokenVersionOf(user));
+        var refreshToken = jwtService.generateRefreshToken(user.getUsername(), tokenVersionOf(user));
         return AuthenticationResponse.builder()
                 .accessToken(jwtToken)
                 .refreshToken(refreshToken)
                 .userRole(user.getRole())
                 .build();
     }
-    public void revokeAllUserTokens(User user) {
+    public long revokeAllUserTokens(User user) {
+        long tokenVersion = tokenRevocationService.revokeAllTokens(user.getUsername());
+        // rows of tokens issued before token versions
         var validUserTokens = tokenRepository.findAllValidTokenByUser(user.getId());
         if (validUserTokens.isEmpty())
-            return;
+            return tokenVersion;
         validUserTokens.forEach(token -> {
             token.setExpired(true);
             token.setRevoked(true);
         });
         tokenRepository.saveAll(validUserTokens);
+        return tokenVersion;
+    }
+
+    private long tokenVersionOf(User user) {
+        return user.getTokenVersion() == null ? 0 : user.getTokenVersion();
+    }
+
+    // read from the database rather than the user details cache , a refresh is rare and must see a revocation at once.
+    // A refresh token issued before token versions counts as version 0.
+    private boolean isCurrentVersion(Claims claims, User user) {
+        Long tokenVersion = jwtService.extractTokenVersion(claims);
+        return (tokenVersion == null ? 0 : tokenVersion) >= tokenRevocationService.currentTokenVersion(user.getUsername());
     }
     public void refreshToken(
             HttpServletRequest request,
@@ -95,20 +106,21 @@ public class AuthenticationService {
             return;
         }
         refreshToken = authHeader.substring(7);
-        userEmail = jwtService.extractUsernameFromToken(refreshToken);
+        Claims claims = jwtService.parseClaims(refreshToken);
+        userEmail = claims.getSubject();
         if (userEmail != null) {
 
       
          User user = userService.getUserByEmail(userEmail);
          MyUserDetails userDetails = new MyUserDetails(user);
-         boolean validateToken = jwtService.validateToken(refreshToken , userDetails);
+         boolean validateToken = jwtService.validateToken(claims , userDetails) && isCurrentVersion(claims, user);
           if (validateToken) {
-                String accessToken = jwtService.getGeneratedToken(user.getUsername());
-                revokeAllUserTokens(user);
-                saveUserToken(user, accessToken);
+                long tokenVersion = revokeAllUserTokens(user);
+                String accessToken = jwtService.getGeneratedToken(user.getUsername(), tokenVersion);
+                // the refresh bumped the version , so the presented refresh token is spent and a new one is handed out
                 var authResponse = AuthenticationResponse.builder()
                         .accessToken(accessToken)
-                        .refreshToken(refreshToken)
+                        .refreshToken(jwtService.generateRefreshToken(user.getUsername(), tokenVersion))
                         .userRole(user.getRole())
                         .build();
                 new ObjectMapper().writeValue(response.getOutputStream(), authResponse);
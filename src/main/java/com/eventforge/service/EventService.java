@@ -1,48 +1,80 @@
 package com.eventforge.service;
 
+import com.eventforge.catalog.CatalogSnapshotService;
+import com.eventforge.catalog.UpcomingEventHeap;
+import com.eventforge.domain.EventChangedEvent;
+import com.eventforge.dto.projection.EventListView;
 import com.eventforge.dto.request.CriteriaFilterRequest;
 import com.eventforge.dto.request.EventRequest;
 import com.eventforge.dto.request.PageRequestDto;
 import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.dto.response.CursorPageResponse;
 import com.eventforge.exception.EventRequestException;
 import com.eventforge.factory.ResponseFactory;
 import com.eventforge.model.Event;
+import com.eventforge.model.Image;
 import com.eventforge.model.Organisation;
 import com.eventforge.model.User;
 import com.eventforge.repository.EventRepository;
+import com.eventforge.repository.specification.EventSpecifications;
+import com.eventforge.search.EventSearchIndex;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class EventService {
     private final EventRepository eventRepository;
-    private final UserService userService;
 
     private final EntityManager entityManager;
     private final ResponseFactory responseFactory;
     private final ImageService imageService;
+    private final KeysetPaginationService keysetPaginationService;
+    private final EventSearchIndex eventSearchIndex;
+    private final ApplicationEventPublisher publisher;
+    private final Utils utils;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final UpcomingEventHeap upcomingEventHeap;
 
     private static final String [] START_END_DATE = {"startsAt" , "endsAt"};
+    public static final String RELEVANCE_SORT_COLUMN = "relevance";
+
+    @Value("${eventforge.filter.count-cap:0}")
+    private int filterCountCap;
 
     public List<CommonEventResponse> getThreeUpcomingEvents() {
         LocalDateTime now = LocalDateTime.now();
-        return eventRepository.findThreeUpcomingEvents(now).stream().map(responseFactory::buildCommonEventResponse).toList();
+        if (catalogSnapshotService.isServing()) {
+            return catalogSnapshotService.findUpcoming(now, 3);
+        }
+        return upcomingEventHeap.next(3, now);
 
     }
 
@@ -55,34 +87,49 @@ public class EventService {
     }
 
 
-    public Page<Event> getAllActiveOneTimeEvents(PageRequestDto pageRequest) {
+    public Page<EventListView> getAllActiveOneTimeEvents(PageRequestDto pageRequest) {
         Pageable pageable = new PageRequestDto().getPageable(pageRequest);
         LocalDateTime dateTime = LocalDateTime.now();
-        return eventRepository.findAllActiveOneTimeEvents(dateTime, pageable);
+        return eventRepository.findActiveOneTimeEventViews(dateTime, pageable);
     }
 
-    public Page<Event> getAllActiveRecurrenceEvents(PageRequestDto pageRequest) {
+    public Page<EventListView> getAllActiveRecurrenceEvents(PageRequestDto pageRequest) {
         Pageable pageable = new PageRequestDto().getPageable(pageRequest);
         LocalDateTime dateTime = LocalDateTime.now();
-        return eventRepository.findAllActiveRecurrenceEvents(dateTime, pageable);
+        return eventRepository.findActiveRecurrenceEventViews(dateTime, pageable);
     }
 
 
-    public Page<Event> getAllExpiredOneTimeEvents(PageRequestDto pageRequest) {
+    public Page<EventListView> getAllExpiredOneTimeEvents(PageRequestDto pageRequest) {
         Pageable pageable = new PageRequestDto().getPageable(pageRequest);
         LocalDateTime dateTime = LocalDateTime.now();
-        return eventRepository.findAllExpiredOneTimeEvents(dateTime, pageable);
+        return eventRepository.findExpiredOneTimeEventViews(dateTime, pageable);
     }
 
-    public Page<Event> getAllExpiredRecurrenceEvents(PageRequestDto pageRequest) {
+    public Page<EventListView> getAllExpiredRecurrenceEvents(PageRequestDto pageRequest) {
         Pageable pageable = new PageRequestDto().getPageable(pageRequest);
 
         LocalDateTime dateTime = LocalDateTime.now();
-        return eventRepository.findAllExpiredRecurrenceEvents(dateTime, pageable);
+        return eventRepository.findExpiredRecurrenceEventViews(dateTime, pageable);
+    }
+
+    public CursorPageResponse<Event> scrollEvents(boolean isOneTime, boolean isExpired, PageRequestDto pageRequest, String after) {
+        LocalDateTime dateTime = LocalDateTime.now();
+        Specification<Event> specification = Specification.where(EventSpecifications.legalUser())
+                .and(EventSpecifications.isOneTime(isOneTime))
+                .and(isExpired ? EventSpecifications.expired(dateTime) : EventSpecifications.unexpired(dateTime));
+        return keysetPaginationService.scroll(Event.class, specification, KeysetPaginationService.EVENT_KEY_COLUMNS, pageRequest, after,
+                EventRepository.LIST_VIEW_GRAPH);
+    }
+
+    public CursorPageResponse<Event> scrollEventsByCriteria(CriteriaFilterRequest request, PageRequestDto pageRequest, String after) {
+        Optional<List<Long>> textMatches = resolveTextMatches(request);
+        Specification<Event> specification = (root, query, cb) -> cb.and(buildCriteriaPredicates(request, textMatches, query, cb, root));
+        return keysetPaginationService.scroll(Event.class, specification, KeysetPaginationService.EVENT_KEY_COLUMNS, pageRequest, after,
+                EventRepository.LIST_VIEW_GRAPH);
     }
 
-    public List<CommonEventResponse> getAllEventsByUserIdForOrganisation(String token) {
-        User user = userService.getLoggedUserByToken(token);
+    public List<CommonEventResponse> getAllEventsByUserIdForOrganisation(User user) {
         return eventRepository.findAllEventsForOrganisationByUserId(user.getId())
                 .stream()
                 .map(responseFactory::buildCommonEventResponse)
@@ -95,6 +142,10 @@ public class EventService {
 
 
     public CommonEventResponse getEventDetailWithConditionsById(Long eventId) {
+        Optional<CommonEventResponse> cached = catalogSnapshotService.findEvent(eventId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         Event event = eventRepository.findEventByIdWithCondition(eventId);
         if (event != null) {
             return responseFactory.buildCommonEventResponse(event);
@@ -111,11 +162,11 @@ public class EventService {
         return responseFactory.buildCommonEventResponse(event.get());
     }
 
-    public void deleteEventByIdAndUserIdForOrganisation(Long eventId, String token) {
-        User user = userService.getLoggedUserByToken(token);
+    public void deleteEventByIdAndUserIdForOrganisation(Long eventId, User user) {
         Event eventToDelete = eventRepository.findEventByIdAndUserId(user.getId(), eventId);
         if (eventToDelete != null) {
             eventRepository.delete(eventToDelete);
+            publisher.publishEvent(EventChangedEvent.deleted(eventId));
             log.info("User deleted event with id :" + eventId);
         } else {
             log.info("Unsuccessful attempt for user - {} , to delete event with id :" + eventId, user.getUsername());
@@ -126,11 +177,11 @@ public class EventService {
 
     public void deleteEventByIdForAdmin(Long eventId) {
         eventRepository.deleteById(eventId);
+        publisher.publishEvent(EventChangedEvent.deleted(eventId));
     }
 
 
-    public void updateEvent(Long eventId, EventRequest eventRequest, String token) {
-        User user = userService.getLoggedUserByToken(token);
+    public void updateEvent(Long eventId, EventRequest eventRequest, User user) {
         Event event = eventRepository.findEventByIdAndUserId(user.getId(), eventId);
 
         if (event == null) {
@@ -147,6 +198,7 @@ public class EventService {
         event.setAddress(eventRequest.getAddress());
         event.setFacebookLink(eventRequest.getFacebookLink());
         event.setEventCategories(eventRequest.getEventCategories());
+        event.setCategories(new HashSet<>(utils.splitStringByComma(eventRequest.getEventCategories())));
         event.setMinAge(eventRequest.getMinAge());
         event.setMaxAge(eventRequest.getMaxAge());
         event.setPrice(eventRequest.getPrice());
@@ -158,19 +210,128 @@ public class EventService {
 
         //invoking method to save the event in the database with the new changes
         saveEvent(event);
+        publisher.publishEvent(EventChangedEvent.updated(event));
         log.info("Successful  update for event with id :{}. Invoked by user with email:{}", eventId, user.getUsername());
 
     }
 
-    public Page<Event> filterEventsByCriteria(CriteriaFilterRequest request, PageRequestDto pageRequest) {
+    public Page<EventListView> filterEventsByCriteria(CriteriaFilterRequest request, PageRequestDto pageRequest) {
+        Optional<List<Long>> textMatches = resolveTextMatches(request);
+        if (RELEVANCE_SORT_COLUMN.equals(pageRequest.getSortByColumn())) {
+            if (textMatches.isPresent()) {
+                return filterEventsByRelevance(request, textMatches.get(), pageRequest);
+            }
+            // nothing is ranked without the index ids , the page is ordered by name like the default listing
+            PageRequestDto byName = new PageRequestDto(pageRequest.getPageNo(), pageRequest.getPageSize(), pageRequest.getSort(), "name");
+            byName.setWithTotal(pageRequest.isWithTotal());
+            pageRequest = byName;
+        }
+
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        CriteriaQuery<EventListView> query = cb.createQuery(EventListView.class);
         Root<Event> root = query.from(Event.class);
+        query.select(listViewSelection(cb, root));
+        query.where(buildCriteriaPredicates(request, textMatches, query, cb, root));
+
+        Pageable pageable = new PageRequestDto().getPageable(pageRequest);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<EventListView> typedQuery = entityManager.createQuery(query);
+        typedQuery.setFirstResult((int) pageable.getOffset());
+
+        if (!pageRequest.isWithTotal()) {
+            // one extra row tells us whether there is a next page without counting the whole result set
+            typedQuery.setMaxResults(pageable.getPageSize() + 1);
+            List<EventListView> resultList = typedQuery.getResultList();
+            boolean hasNext = resultList.size() > pageable.getPageSize();
+            List<EventListView> content = hasNext ? resultList.subList(0, pageable.getPageSize()) : resultList;
+            return new PageImpl<>(content, pageable, pageable.getOffset() + resultList.size());
+        }
+
+        typedQuery.setMaxResults(pageable.getPageSize());
+        List<EventListView> resultList = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(resultList, pageable, () -> countEventsByCriteria(request, textMatches));
+    }
+
+    // same columns as EventRepository.LIST_VIEW_SELECT
+    private CompoundSelection<EventListView> listViewSelection(CriteriaBuilder cb, Root<Event> root) {
+        Path<Organisation> organisation = root.get("organisation");
+        Join<Event, Image> image = root.join("eventImage", JoinType.LEFT);
+        return cb.construct(EventListView.class,
+                root.get("id"), organisation.get("id"), image.get("id"), image.get("url"),
+                root.get("name"), organisation.get("name"), root.get("isOnline"), root.get("description"),
+                root.get("address"), root.get("facebookLink"), root.get("eventCategories"), root.get("price"),
+                root.get("minAge"), root.get("maxAge"), root.get("startsAt"), root.get("endsAt"),
+                root.get("isOneTime"), root.get("recurrenceDetails"));
+    }
+
+    // The search index ranks the text matches , mysql only filters them by the remaining criteria.
+    private Page<EventListView> filterEventsByRelevance(CriteriaFilterRequest request, List<Long> rankedIds, PageRequestDto pageRequest) {
+        Pageable sortedPageable = new PageRequestDto().getPageable(pageRequest);
+        Pageable pageable = PageRequest.of(sortedPageable.getPageNumber(), sortedPageable.getPageSize());
+        if (rankedIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> idQuery = cb.createQuery(Long.class);
+        Root<Event> root = idQuery.from(Event.class);
+        idQuery.select(root.get("id")).where(buildCriteriaPredicates(request, Optional.of(rankedIds), idQuery, cb, root));
+        Set<Long> filteredIds = new HashSet<>(entityManager.createQuery(idQuery).getResultList());
+
+        List<Long> orderedIds = rankedIds.stream().filter(filteredIds::contains).toList();
+        int from = (int) Math.min(pageable.getOffset(), orderedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), orderedIds.size());
+        List<Long> pageIds = orderedIds.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, orderedIds.size());
+        }
+
+        Map<Long, EventListView> eventsById = eventRepository.findListViewsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(EventListView::id, Function.identity()));
+        List<EventListView> content = pageIds.stream().map(eventsById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, orderedIds.size());
+    }
+
+    public long countEventsByCriteria(CriteriaFilterRequest request) {
+        return countEventsByCriteria(request, resolveTextMatches(request));
+    }
+
+    private long countEventsByCriteria(CriteriaFilterRequest request, Optional<List<Long>> textMatches) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        if (filterCountCap > 0) {
+            // bounded probe over the ids only , the total is reported as at most filterCountCap
+            CriteriaQuery<Long> idQuery = cb.createQuery(Long.class);
+            Root<Event> root = idQuery.from(Event.class);
+            idQuery.select(root.get("id")).where(buildCriteriaPredicates(request, textMatches, idQuery, cb, root));
+            return entityManager.createQuery(idQuery).setMaxResults(filterCountCap).getResultList().size();
+        }
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Event> root = countQuery.from(Event.class);
+        countQuery.select(cb.count(root)).where(buildCriteriaPredicates(request, textMatches, countQuery, cb, root));
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    // Empty optional when the search index is unavailable , the request has no searchable text or the text matches
+    // more events than eventforge.search.max-hits. The text criteria then go to the LIKE predicates.
+    private Optional<List<Long>> resolveTextMatches(CriteriaFilterRequest request) {
+        if (!eventSearchIndex.isAvailable()) {
+            return Optional.empty();
+        }
+        return eventSearchIndex.search(request.getName(), request.getDescription(), request.getAddress());
+    }
+
+    private Predicate[] buildCriteriaPredicates(CriteriaFilterRequest request, Optional<List<Long>> textMatches, AbstractQuery<?> query, CriteriaBuilder cb, Root<Event> root) {
         List<Predicate> predicates = new ArrayList<>();
-        addCategoryPredicate(request, cb, root, predicates);
-        addNamePredicate(request, cb, root, predicates);
-        addDescriptionPredicate(request, cb, root, predicates);
-        addAddressPredicate(request, cb, root, predicates);
+        addCategoryPredicate(request, query, cb, root, predicates);
+        if (textMatches.isPresent()) {
+            addTextMatchPredicate(textMatches.get(), cb, root, predicates);
+        } else {
+            addNamePredicate(request, cb, root, predicates);
+            addDescriptionPredicate(request, cb, root, predicates);
+            addAddressPredicate(request, cb, root, predicates);
+        }
         addOnlinePredicate(request, cb, root, predicates);
         addOrganisationNamePredicate(request, cb, root, predicates);
         addAgePredicate(request, cb, root, predicates);
@@ -178,35 +339,30 @@ public class EventService {
         addOneTimePredicate(request, cb, root, predicates);
         addUserPredicates(cb, root, predicates);
         addExpiredPredicate(request, cb, root, predicates);
+        return predicates.toArray(new Predicate[0]);
+    }
 
-        query.where(predicates.toArray(new Predicate[0]));
-        if (pageRequest.getSort().isAscending()) {
-            query.orderBy(cb.asc(root.get(pageRequest.getSortByColumn())));
-        } else {
-            query.orderBy(cb.desc(root.get(pageRequest.getSortByColumn())));
+    // events having all requested categories : one pass over the (category, event_id) index grouped by event
+    public void addCategoryPredicate(CriteriaFilterRequest request, AbstractQuery<?> query, CriteriaBuilder cb, Root<Event> root, List<Predicate> predicates) {
+        List<String> categories = utils.splitStringByComma(request.getEventCategories());
+        if (categories.isEmpty()) {
+            return;
         }
-
-        Pageable pageable = new PageRequestDto().getPageable(pageRequest);
-
-        CriteriaQuery<Long> countQuery = entityManager.getCriteriaBuilder().createQuery(Long.class);
-        countQuery.select(entityManager.getCriteriaBuilder().count(countQuery.from(Event.class)));
-
-        TypedQuery<Event> typedQuery = entityManager.createQuery(query);
-        int totalElements = typedQuery.getResultList().size();
-        typedQuery.setFirstResult(pageable.getPageNumber() * pageable.getPageSize());
-        typedQuery.setMaxResults(pageable.getPageSize());
-        List<Event> resultList = typedQuery.getResultList();
-
-
-        return new PageImpl<>(resultList, pageable, totalElements);
+        Subquery<Long> matchingEvents = query.subquery(Long.class);
+        Root<Event> categorised = matchingEvents.from(Event.class);
+        Join<Event, String> category = categorised.join("categories");
+        matchingEvents.select(categorised.get("id"))
+                .where(category.in(categories))
+                .groupBy(categorised.get("id"))
+                .having(cb.equal(cb.countDistinct(category), (long) categories.size()));
+        predicates.add(root.get("id").in(matchingEvents));
     }
 
-    public void addCategoryPredicate(CriteriaFilterRequest request, CriteriaBuilder cb, Root<Event> root, List<Predicate> predicates) {
-        if (request.getEventCategories() != null) {
-            String[] categories = request.getEventCategories().split(",");
-            for (String category : categories) {
-                predicates.add(cb.like(root.get("eventCategories"), "%" + category.trim() + "%"));
-            }
+    private void addTextMatchPredicate(List<Long> matchingIds, CriteriaBuilder cb, Root<Event> root, List<Predicate> predicates) {
+        if (matchingIds.isEmpty()) {
+            predicates.add(cb.disjunction());
+        } else {
+            predicates.add(root.get("id").in(matchingIds));
         }
     }
 
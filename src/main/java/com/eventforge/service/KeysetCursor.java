@@ -0,0 +1,67 @@
+package com.eventforge.service;
+
+import com.eventforge.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// position of the last row handed out by a keyset listing - sort column , direction , its value and the id as a tie breaker.
+// A null value is encoded by leaving the value out , an empty string still has its separator.
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Невалиден курсор за страниране.";
+
+    private final String column;
+    private final Sort.Direction direction;
+    private final Long lastId;
+    // null when the last row has no value in the sort column
+    private final Comparable<?> lastValue;
+
+    public String encode() {
+        String raw = column + SEPARATOR + direction.name() + SEPARATOR + lastId + (lastValue == null ? "" : SEPARATOR + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token, Class<?> valueType) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // the value goes last , so it is allowed to contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length < 3) {
+                throw new InvalidCursorException(INVALID_CURSOR);
+            }
+            Comparable<?> lastValue = parts.length == 4 ? parseValue(parts[3], valueType) : null;
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), lastValue);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException(INVALID_CURSOR);
+        }
+    }
+
+    public static String peekColumn(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int end = raw.indexOf(SEPARATOR);
+            if (end < 0) {
+                throw new InvalidCursorException(INVALID_CURSOR);
+            }
+            return raw.substring(0, end);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(INVALID_CURSOR);
+        }
+    }
+
+    private static Comparable<?> parseValue(String value, Class<?> valueType) {
+        if (LocalDateTime.class.equals(valueType)) {
+            return LocalDateTime.parse(value);
+        }
+        return value;
+    }
+}
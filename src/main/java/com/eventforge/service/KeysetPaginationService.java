@@ -0,0 +1,124 @@
+package com.eventforge.service;
+
+import com.eventforge.dto.request.PageRequestDto;
+import com.eventforge.dto.response.CursorPageResponse;
+import com.eventforge.exception.InvalidCursorException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// seek pagination - the next slice starts right after the (sort key , id) of the last returned row instead of using OFFSET,
+// so a page costs the same at any depth and no count query is issued
+@Service
+@RequiredArgsConstructor
+public class KeysetPaginationService {
+
+    public static final Map<String, Class<?>> EVENT_KEY_COLUMNS = Map.of(
+            "name", String.class,
+            "startsAt", LocalDateTime.class,
+            "endsAt", LocalDateTime.class,
+            "createdAt", LocalDateTime.class);
+
+    public static final Map<String, Class<?>> ORGANISATION_KEY_COLUMNS = Map.of(
+            "name", String.class,
+            "registeredAt", LocalDateTime.class);
+
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    public <T> CursorPageResponse<T> scroll(Class<T> type, Specification<T> specification, Map<String, Class<?>> keyColumns,
+                                            PageRequestDto pageRequest, String after) {
+        return scroll(type, specification, keyColumns, pageRequest, after, null);
+    }
+
+    // entityGraph names a fetch graph applied to the page query , null for none
+    public <T> CursorPageResponse<T> scroll(Class<T> type, Specification<T> specification, Map<String, Class<?>> keyColumns,
+                                            PageRequestDto pageRequest, String after, String entityGraph) {
+        Pageable pageable = new PageRequestDto().getPageable(pageRequest);
+        Sort.Order order = pageable.getSort().iterator().next();
+
+        KeysetCursor cursor = null;
+        String column = order.getProperty();
+        Sort.Direction direction = order.getDirection();
+        if (after != null && !after.isBlank()) {
+            // the cursor wins over the request parameters so that a scroll session keeps its ordering
+            cursor = KeysetCursor.decode(after, keyColumns.get(KeysetCursor.peekColumn(after)));
+            column = cursor.getColumn();
+            direction = cursor.getDirection();
+        }
+        if (!keyColumns.containsKey(column)) {
+            throw new InvalidCursorException("Страниране с курсор не се поддържа за колона: " + column);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (cursor != null) {
+            predicate = predicate == null ? seekPredicate(cb, root, cursor) : cb.and(predicate, seekPredicate(cb, root, cursor));
+        }
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (direction.isAscending()) {
+            query.orderBy(cb.asc(root.get(column)), cb.asc(root.get(ID)));
+        } else {
+            query.orderBy(cb.desc(root.get(column)), cb.desc(root.get(ID)));
+        }
+
+        int pageSize = pageable.getPageSize();
+        TypedQuery<T> typedQuery = entityManager.createQuery(query).setMaxResults(pageSize + 1);
+        if (entityGraph != null) {
+            typedQuery.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(entityGraph));
+        }
+        List<T> resultList = typedQuery.getResultList();
+        boolean hasNext = resultList.size() > pageSize;
+        List<T> content = hasNext ? resultList.subList(0, pageSize) : resultList;
+
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(column, direction, (Long) entityManager.getEntityManagerFactory()
+                    .getPersistenceUnitUtil().getIdentifier(last), readKey(last, column)).encode();
+        }
+        return new CursorPageResponse<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    // NULL sorts below every value like in MySQL , so the nulls come first ascending and last descending
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Predicate seekPredicate(CriteriaBuilder cb, Root<T> root, KeysetCursor cursor) {
+        Path key = root.get(cursor.getColumn());
+        Path<Long> id = root.get(ID);
+        Comparable value = cursor.getLastValue();
+        if (value == null) {
+            if (cursor.getDirection().isAscending()) {
+                return cb.or(cb.and(cb.isNull(key), cb.greaterThan(id, cursor.getLastId())), cb.isNotNull(key));
+            }
+            return cb.and(cb.isNull(key), cb.lessThan(id, cursor.getLastId()));
+        }
+        if (cursor.getDirection().isAscending()) {
+            return cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, cursor.getLastId())));
+        }
+        return cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(id, cursor.getLastId())), cb.isNull(key));
+    }
+
+    private Comparable<?> readKey(Object entity, String column) {
+        return (Comparable<?>) PropertyAccessorFactory.forBeanPropertyAccess(entity).getPropertyValue(column);
+    }
+}
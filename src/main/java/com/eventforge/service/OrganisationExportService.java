@@ -0,0 +1,99 @@
+package com.eventforge.service;
+
+import com.eventforge.constants.OrganisationStatus;
+import com.eventforge.dto.response.OrganisationResponseForAdmin;
+import com.eventforge.repository.OrganisationRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// CSV export of the admin organisation list. Rows are read as projections from a streamed result set
+// and written one by one , so neither the heap nor the persistence context grows with the number of organisations.
+@Service
+@Slf4j
+public class OrganisationExportService {
+    // digits and phone separators can not form a function call , +359 88 123 4567 stays as it is
+    private static final Pattern PLAIN_NUMBER = Pattern.compile("[+-]?[0-9][0-9 ()./-]*");
+    private static final String HEADER = "userId,orgId,orgName,fullName,phoneNumber,email,bullstat,isEnabled,isApprovedByAdmin,isNonLocked,registeredAt,updatedAt";
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    // Integer.MIN_VALUE makes the mysql driver stream the rows instead of buffering the whole result
+    public OrganisationExportService(EntityManager entityManager,
+                                     @Value("${eventforge.admin.export.fetch-size:-2147483648}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public long writeCsv(OrganisationStatus status, Writer writer) {
+        long rows = 0;
+        try (Stream<OrganisationResponseForAdmin> organisations = entityManager
+                .createQuery(OrganisationRepository.ADMIN_EXPORT_QUERY, OrganisationResponseForAdmin.class)
+                .setParameter("approvedByAdmin", status == null ? null : status.getApprovedByAdmin())
+                .setParameter("nonLocked", status == null ? null : status.getNonLocked())
+                .setParameter("enabled", status == null ? null : status.getEnabled())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            writer.write(HEADER);
+            writer.write('\n');
+            for (OrganisationResponseForAdmin organisation : (Iterable<OrganisationResponseForAdmin>) organisations::iterator) {
+                writer.write(toCsvRow(organisation));
+                writer.write('\n');
+                rows++;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // the admin closed the download , nothing to recover
+            throw new UncheckedIOException(e);
+        }
+        log.info("Exported {} organisations for admin , status filter {}", rows, status);
+        return rows;
+    }
+
+    private String toCsvRow(OrganisationResponseForAdmin organisation) {
+        StringJoiner row = new StringJoiner(",");
+        row.add(String.valueOf(organisation.getUserId()));
+        row.add(String.valueOf(organisation.getOrgId()));
+        row.add(escape(organisation.getOrgName()));
+        row.add(escape(organisation.getFullName()));
+        row.add(escape(organisation.getPhoneNumber()));
+        row.add(escape(organisation.getEmail()));
+        row.add(escape(organisation.getBullstat()));
+        row.add(String.valueOf(organisation.isEnabled()));
+        row.add(String.valueOf(organisation.isApprovedByAdmin()));
+        row.add(String.valueOf(organisation.isNonLocked()));
+        row.add(format(organisation.getRegisteredAt()));
+        row.add(format(organisation.getUpdatedAt()));
+        return row.toString();
+    }
+
+    private String format(LocalDateTime dateTime) {
+        return dateTime == null ? "" : dateTime.toString();
+    }
+
+    // quotes every text value and defuses leading formula characters , the file is opened in spreadsheets
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value;
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !PLAIN_NUMBER.matcher(text).matches()) {
+            text = "'" + text;
+        }
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -1,22 +1,30 @@
 package com.eventforge.service;
 
+import com.eventforge.constants.OrganisationStatus;
+import com.eventforge.domain.AccountChangedEvent;
 import com.eventforge.dto.request.PageRequestDto;
 import com.eventforge.dto.request.UpdateAccountRequest;
+import com.eventforge.dto.response.CursorPageResponse;
 import com.eventforge.dto.response.OrganisationResponse;
 import com.eventforge.dto.response.OrganisationResponseForAdmin;
 import com.eventforge.exception.OrganisationRequestException;
 import com.eventforge.factory.ResponseFactory;
+import com.eventforge.featured.FeaturedOrganisationSampler;
 import com.eventforge.model.Organisation;
 import com.eventforge.model.OrganisationPriority;
 import com.eventforge.model.User;
 import com.eventforge.repository.OrganisationRepository;
+import com.eventforge.repository.specification.OrganisationSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -34,8 +42,27 @@ public class OrganisationService {
 
     private final Utils utils;
 
+    private final KeysetPaginationService keysetPaginationService;
+
+    private final ApplicationEventPublisher publisher;
+
+    private final FeaturedOrganisationSampler featuredOrganisationSampler;
+
+    private static final int FEATURED_ORGANISATIONS = 3;
+
+    // innodb_ft_ngram_token_size of the ft_organisation_search index
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
     public List<OrganisationResponse> fetchThreeRandomOrganisations(){
-        return organisationRepository.findThreeRandomOrganisations().stream().map(responseFactory::buildOrganisationResponse).toList();
+        List<Long> sampledIds = featuredOrganisationSampler.sample(FEATURED_ORGANISATIONS).orElseGet(List::of);
+        if (sampledIds.isEmpty()) {
+            return List.of();
+        }
+        // keep the drawn order , the database returns the rows by id
+        List<Organisation> organisations = organisationRepository.findFeaturableOrganisationsByIdIn(sampledIds).stream()
+                .sorted(Comparator.comparingInt(organisation -> sampledIds.indexOf(organisation.getId())))
+                .toList();
+        return responseFactory.buildOrganisationResponses(organisations);
     }
 
     public void saveOrganisationInDb(Organisation organisation){
@@ -44,12 +71,30 @@ public class OrganisationService {
     }
     public Page<Organisation> getAllOrganisationsForUnauthorizedUser(PageRequestDto pageRequest, String search){
         Pageable pageable = new PageRequestDto().getPageable(pageRequest);
-        if(search == null || search.isEmpty()){
+        if(search == null || search.isBlank()){
             return organisationRepository.findAllOrganisations(pageable);
         }
-        return organisationRepository.findAllOrganisationsForUserBySearchField(search , pageable);
+        String term = search.trim();
+        if (term.length() < NGRAM_TOKEN_SIZE) {
+            // shorter than an ngram , the fulltext index has no token for it
+            return organisationRepository.findAllOrganisationsForUserBySearchField(term , pageable);
+        }
+        // ordered by relevance , the requested sort column only applies to the unfiltered list
+        Pageable byRelevance = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return organisationRepository.searchOrganisations(toFullTextPhrase(term), term, byRelevance);
     }
 
+    // quoted , so the ngrams of the term have to appear next to each other like in LIKE '%term%'
+    // and boolean mode operators in the input are taken literally.
+    // Relies on the index being built without stopwords (V15) , otherwise latin ngrams with 'a' or 'i' are missing from it.
+    private String toFullTextPhrase(String term) {
+        return "\"" + term.replace("\"", " ") + "\"";
+    }
+
+    public CursorPageResponse<Organisation> scrollOrganisationsForUnauthorizedUser(PageRequestDto pageRequest, String after){
+        return keysetPaginationService.scroll(Organisation.class, OrganisationSpecifications.visible(),
+                KeysetPaginationService.ORGANISATION_KEY_COLUMNS, pageRequest, after);
+    }
 
     public List<OrganisationResponseForAdmin> getAllOrganisationsForAdminByApprovedOrNot(){
 
@@ -57,6 +102,14 @@ public class OrganisationService {
 
     }
 
+    public Page<OrganisationResponseForAdmin> getOrganisationsForAdmin(PageRequestDto pageRequest, OrganisationStatus status) {
+        Pageable pageable = new PageRequestDto().getPageable(pageRequest);
+        Page<Organisation> organisations = status == null
+                ? organisationRepository.findAllOrganisationsForAdmin(null, null, null, pageable)
+                : organisationRepository.findAllOrganisationsForAdmin(status.getApprovedByAdmin(), status.getNonLocked(), status.getEnabled(), pageable);
+        return organisations.map(responseFactory::buildOrganisationResponseForAdmin);
+    }
+
 
     public Organisation getOrganisationByUserId(Long userId){
         return organisationRepository.findOrganisationByUserId(userId);
@@ -66,8 +119,7 @@ public class OrganisationService {
     }
 
 
-    public void updateOrganisation(UpdateAccountRequest request, String token) {
-        User currentLoggedUser = userService.getLoggedUserByToken(token);
+    public void updateOrganisation(UpdateAccountRequest request, User currentLoggedUser) {
         Set<OrganisationPriority> organisationPriorities =utils.
                 assignOrganisationPrioritiesToOrganisation(request.getChosenPriorities(), request.getOptionalCategory());
         if(currentLoggedUser!=null) {
@@ -82,9 +134,12 @@ public class OrganisationService {
             organisation.setUser(currentLoggedUser);
             organisation.setAddress(request.getAddress());
             organisation.setOrganisationPriorities(organisationPriorities);
+            organisation.setPriorityText(utils.convertOrganisationPrioritiesToSearchText(organisationPriorities));
+            organisation.setUserEmail(currentLoggedUser.getUsername());
             organisation.setCharityOption(request.getCharityOption());
             organisation.setOrganisationPurpose(request.getOrganisationPurpose());
             organisationRepository.save(organisation);
+            publisher.publishEvent(new AccountChangedEvent(currentLoggedUser.getId(), currentLoggedUser.getUsername(), AccountChangedEvent.ChangeType.PROFILE_UPDATED));
             log.info("User with email {} successfully updated his account settings" , currentLoggedUser.getUsername() );
         }
     }
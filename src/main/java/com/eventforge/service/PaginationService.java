@@ -1,11 +1,13 @@
 package com.eventforge.service;
 
+import com.eventforge.catalog.CatalogSnapshotService;
+import com.eventforge.dto.projection.EventListView;
 import com.eventforge.dto.request.CriteriaFilterRequest;
 import com.eventforge.dto.request.PageRequestDto;
 import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.dto.response.CursorPageResponse;
 import com.eventforge.dto.response.OrganisationResponse;
 import com.eventforge.factory.ResponseFactory;
-import com.eventforge.model.Event;
 import com.eventforge.model.Organisation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -13,6 +15,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -24,48 +27,78 @@ public class PaginationService {
 
     private final OrganisationService organisationService;
 
+    private final CatalogSnapshotService catalogSnapshotService;
+
     public Page<OrganisationResponse> getAllOrganisationsForUnauthorizedUser(PageRequestDto pageRequest , String search){
         Page<Organisation> organisations = organisationService.getAllOrganisationsForUnauthorizedUser(pageRequest,search);
-        List<OrganisationResponse> mappedOrganisations =organisations.stream().map(responseFactory::buildOrganisationResponse).toList();
+        List<OrganisationResponse> mappedOrganisations = responseFactory.buildOrganisationResponses(organisations.getContent());
 
         return new PageImpl<>(mappedOrganisations , new PageRequestDto().getPageable(pageRequest) ,organisations.getTotalElements());
     }
 
 
+    public CursorPageResponse<OrganisationResponse> scrollOrganisationsForUnauthorizedUser(PageRequestDto pageRequest, String after){
+        CursorPageResponse<Organisation> organisations = organisationService.scrollOrganisationsForUnauthorizedUser(pageRequest, after);
+        return organisations.mapContent(responseFactory::buildOrganisationResponses);
+    }
 
     public Page<CommonEventResponse> getAllActiveOneTimeEventsByPagination(PageRequestDto pageRequest) {
-        Page<Event> oneTimeEvents = eventService.getAllActiveOneTimeEvents(pageRequest);
+        Optional<Page<CommonEventResponse>> cached = catalogSnapshotService.findPage(true, false, pageRequest);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Page<EventListView> oneTimeEvents = eventService.getAllActiveOneTimeEvents(pageRequest);
         List<CommonEventResponse>oneTimeEventsResponse = oneTimeEvents.stream().map(responseFactory::buildCommonEventResponse).toList();
 
         return new PageImpl<>(oneTimeEventsResponse, new PageRequestDto().getPageable(pageRequest), oneTimeEvents.getTotalElements());
     }
 
     public Page<CommonEventResponse> getAllExpiredOneTimeEventsByPagination(PageRequestDto pageRequest){
-        Page<Event> oneTimeEvents = eventService.getAllExpiredOneTimeEvents(pageRequest);
+        Optional<Page<CommonEventResponse>> cached = catalogSnapshotService.findPage(true, true, pageRequest);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Page<EventListView> oneTimeEvents = eventService.getAllExpiredOneTimeEvents(pageRequest);
         List<CommonEventResponse> oneTimeEventsResponse = oneTimeEvents.stream().map(responseFactory::buildCommonEventResponse).toList();
 
         return new PageImpl<>(oneTimeEventsResponse , new PageRequestDto().getPageable(pageRequest) , oneTimeEvents.getTotalElements());
     }
 
     public Page<CommonEventResponse> getAllActiveRecurrenceEventsByPagination(PageRequestDto pageRequest){
-        Page<Event> recurrenceEvents = eventService.getAllActiveRecurrenceEvents(pageRequest);
+        Optional<Page<CommonEventResponse>> cached = catalogSnapshotService.findPage(false, false, pageRequest);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Page<EventListView> recurrenceEvents = eventService.getAllActiveRecurrenceEvents(pageRequest);
         List<CommonEventResponse> recurrenceEventsResponse = recurrenceEvents.stream().map(responseFactory::buildCommonEventResponse).toList();
 
         return new PageImpl<>(recurrenceEventsResponse , new PageRequestDto().getPageable(pageRequest) , recurrenceEvents.getTotalElements());
     }
 
     public Page<CommonEventResponse> getAllExpiredRecurrenceEventsByPagination(PageRequestDto pageRequest){
-        Page<Event> recurrenceEvents = eventService.getAllExpiredRecurrenceEvents(pageRequest);
+        Optional<Page<CommonEventResponse>> cached = catalogSnapshotService.findPage(false, true, pageRequest);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Page<EventListView> recurrenceEvents = eventService.getAllExpiredRecurrenceEvents(pageRequest);
         List<CommonEventResponse> recurrenceEventsResponse = recurrenceEvents.stream().map(responseFactory::buildCommonEventResponse).toList();
 
         return new PageImpl<>(recurrenceEventsResponse , new PageRequestDto().getPageable(pageRequest) , recurrenceEvents.getTotalElements());
     }
 
     public Page<CommonEventResponse> getEventsByCriteriaAndPagination(CriteriaFilterRequest criteriaFilterRequest , PageRequestDto pageRequest){
-        Page<Event> events = eventService.filterEventsByCriteria(criteriaFilterRequest , pageRequest);
+        Page<EventListView> events = eventService.filterEventsByCriteria(criteriaFilterRequest , pageRequest);
         List<CommonEventResponse> eventsByCriteria = events.stream().map(responseFactory::buildCommonEventResponse).toList();
         long elements = events.getTotalElements();
         return new PageImpl<>(eventsByCriteria , new PageRequestDto().getPageable(pageRequest) ,elements);
     }
 
+    public CursorPageResponse<CommonEventResponse> scrollEvents(boolean isOneTime, boolean isExpired, PageRequestDto pageRequest, String after) {
+        return eventService.scrollEvents(isOneTime, isExpired, pageRequest, after).map(responseFactory::buildCommonEventResponse);
+    }
+
+    public CursorPageResponse<CommonEventResponse> scrollEventsByCriteria(CriteriaFilterRequest criteriaFilterRequest, PageRequestDto pageRequest, String after) {
+        return eventService.scrollEventsByCriteria(criteriaFilterRequest, pageRequest, after).map(responseFactory::buildCommonEventResponse);
+    }
+
 }
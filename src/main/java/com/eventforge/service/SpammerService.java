@@ -0,0 +1,141 @@
+package com.eventforge.service;
+
+import com.eventforge.model.Spammer;
+import com.eventforge.repository.SpammerRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// In-memory copy of the spammer table , so the public contact form is checked without a query.
+// A row is one of
+//   an exact address  - bot@mail.bg
+//   a domain          - @spam.bg , also blocks its subdomains
+//   a wildcard        - promo*@*.ru , * matches any run of characters
+// The blocklist is replaced as a whole , readers only dereference the current one.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SpammerService {
+    private final SpammerRepository spammerRepository;
+
+    private volatile Blocklist blocklist = Blocklist.of(List.of());
+
+    public boolean isBlocked(String email) {
+        if (email == null || email.isBlank()) {
+            return false;
+        }
+        return blocklist.matches(normalise(email));
+    }
+
+    public List<String> getSpammerRules() {
+        return blocklist.rules().stream().sorted().toList();
+    }
+
+    // false when the rule is already on the list
+    public synchronized boolean markSpammer(String rule) {
+        String normalised = normalise(rule);
+        if (blocklist.rules().contains(normalised) || spammerRepository.findByEmail(normalised).isPresent()) {
+            return false;
+        }
+        spammerRepository.save(new Spammer(normalised));
+        Set<String> rules = new HashSet<>(blocklist.rules());
+        rules.add(normalised);
+        blocklist = Blocklist.of(rules);
+        return true;
+    }
+
+    public synchronized void removeSpammer(String rule) {
+        String normalised = normalise(rule);
+        Optional<Spammer> spammer = spammerRepository.findByEmail(normalised);
+        spammer.ifPresent(spammerRepository::delete);
+        Set<String> rules = new HashSet<>(blocklist.rules());
+        rules.remove(normalised);
+        blocklist = Blocklist.of(rules);
+    }
+
+    // loaded while the context starts , before the web server takes the first contact form
+    @PostConstruct
+    public void initialise() {
+        refresh();
+    }
+
+    // picks up rows written by another instance or directly in the database
+    @Scheduled(fixedDelayString = "${eventforge.spammer.refresh-interval-ms:600000}",
+            initialDelayString = "${eventforge.spammer.refresh-interval-ms:600000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        blocklist = Blocklist.of(spammerRepository.findAll().stream()
+                .map(Spammer::getEmail)
+                .filter(email -> email != null && !email.isBlank())
+                .map(SpammerService::normalise)
+                .toList());
+        log.debug("Spammer blocklist refreshed with {} rules", blocklist.rules().size());
+    }
+
+    private static String normalise(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Blocklist(Set<String> rules, Set<String> emails, Set<String> domains, List<Pattern> wildcards) {
+
+        static Blocklist of(Collection<String> rules) {
+            Set<String> emails = new HashSet<>();
+            Set<String> domains = new HashSet<>();
+            List<Pattern> wildcards = new ArrayList<>();
+            for (String rule : rules) {
+                if (rule.startsWith("*@") && rule.indexOf('*', 1) < 0) {
+                    domains.add(rule.substring(2));
+                } else if (rule.startsWith("@")) {
+                    domains.add(rule.substring(1));
+                } else if (rule.indexOf('*') >= 0) {
+                    wildcards.add(Pattern.compile(Arrays.stream(rule.split("\\*", -1))
+                            .map(Pattern::quote)
+                            .collect(Collectors.joining(".*"))));
+                } else {
+                    emails.add(rule);
+                }
+            }
+            return new Blocklist(Set.copyOf(rules), emails, domains, List.copyOf(wildcards));
+        }
+
+        boolean matches(String email) {
+            if (emails.contains(email)) {
+                return true;
+            }
+            int at = email.lastIndexOf('@');
+            if (at >= 0 && !domains.isEmpty()) {
+                // mail.spam.bg , then spam.bg , then bg
+                String domain = email.substring(at + 1);
+                while (!domain.isEmpty()) {
+                    if (domains.contains(domain)) {
+                        return true;
+                    }
+                    int dot = domain.indexOf('.');
+                    domain = dot < 0 ? "" : domain.substring(dot + 1);
+                }
+            }
+            for (Pattern wildcard : wildcards) {
+                if (wildcard.matcher(email).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.eventforge.service;
 
+import com.eventforge.domain.AccountChangedEvent;
 import com.eventforge.dto.request.ChangePasswordRequest;
 import com.eventforge.exception.InvalidPasswordException;
 import com.eventforge.model.User;
 import com.eventforge.model.VerificationToken;
 import com.eventforge.repository.UserRepository;
+import com.eventforge.security.TokenRevocationService;
+import com.eventforge.security.jwt.JWTAuthenticationContext;
 import com.eventforge.security.jwt.JWTService;
+import io.jsonwebtoken.Claims;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -24,7 +29,10 @@ public class UserService {
     private final UserRepository userRepository;
     private final EmailVerificationTokenService emailVerificationTokenService;
     private final JWTService jwtService;
+    private final JWTAuthenticationContext jwtAuthenticationContext;
     private final Utils utils;
+    private final ApplicationEventPublisher publisher;
+    private final TokenRevocationService tokenRevocationService;
 
 
 
@@ -39,7 +47,10 @@ public class UserService {
 
     public User getLoggedUserByToken(String token) {
         String extractedTokenFromHeader = jwtService.extractTokenValueFromHeader(token);
-        String username = jwtService.extractUsernameFromToken(extractedTokenFromHeader);
+        // the filter already verified the token of this request
+        String username = jwtAuthenticationContext.claimsOf(extractedTokenFromHeader)
+                .map(Claims::getSubject)
+                .orElseGet(() -> jwtService.extractUsernameFromToken(extractedTokenFromHeader));
         return getUserByEmail(username);
     }
 
@@ -50,6 +61,7 @@ public class UserService {
             User user = verificationTokenDb.getUser();
             user.setIsEnabled(true);
             saveUserInDb(user);
+            publisher.publishEvent(new AccountChangedEvent(user.getId(), user.getUsername(), AccountChangedEvent.ChangeType.ENABLED));
             emailVerificationTokenService.deleteVerificationToken(verificationTokenDb);
             log.info("Успешно потвърдена електронна поща - " + user.getUsername());
             return "Успешно потвърдихте профилът си , вече можете да се впишете.";
@@ -67,8 +79,7 @@ public class UserService {
         emailVerificationTokenService.saveVerificationToken(verificationToken);
     }
 
-    public String changeAccountPassword(String token, ChangePasswordRequest request) {
-        User user = getLoggedUserByToken(token);
+    public String changeAccountPassword(User user, ChangePasswordRequest request) {
         if (user != null) {
             if(!utils.isPasswordValid(request.getOldPassword() , user.getPassword())){
                 throw new InvalidPasswordException("Текущата парола не съответства на запазената в базата данни.");
@@ -76,6 +87,8 @@ public class UserService {
                 String encodedPassword = utils.encodePassword(request.getNewPassword());
                 user.setPassword(encodedPassword);
                 saveUserInDb(user);
+                // sessions elsewhere were opened with the old password
+                tokenRevocationService.revokeAllTokens(user.getUsername());
                 log.info("Паролата за потребител " + user.getUsername() + " е променена успешно.");
                 return "Успешно променихте паролата си.";
         }
@@ -88,6 +101,7 @@ public class UserService {
             String newGeneratedPassword = utils.generateRandomPassword();
             user.setPassword(utils.encodePassword(newGeneratedPassword));
             saveUserInDb(user);
+            tokenRevocationService.revokeAllTokens(user.getUsername());
             emailVerificationTokenService.deleteVerificationToken(token);
         return newGeneratedPassword;
     }
@@ -97,6 +111,7 @@ public class UserService {
         if(user.isPresent()){
             user.get().setIsApprovedByAdmin(true);
             saveUserInDb(user.get());
+            publisher.publishEvent(new AccountChangedEvent(userId, user.get().getUsername(), AccountChangedEvent.ChangeType.APPROVED));
             log.info("Account with email {} was approved by the site administrator",user.get().getUsername());
         }
     }
@@ -106,6 +121,8 @@ public class UserService {
         if(user.isPresent()){
             user.get().setIsNonLocked(false);
             saveUserInDb(user.get());
+            publisher.publishEvent(new AccountChangedEvent(id, user.get().getUsername(), AccountChangedEvent.ChangeType.LOCKED));
+            tokenRevocationService.revokeAllTokens(user.get().getUsername());
             log.info("Account with email {} has been locked by the site administrator" , user.get().getUsername());
         }
     }
@@ -115,6 +132,7 @@ public class UserService {
         if(user.isPresent()){
             user.get().setIsNonLocked(true);
             saveUserInDb(user.get());
+            publisher.publishEvent(new AccountChangedEvent(id, user.get().getUsername(), AccountChangedEvent.ChangeType.UNLOCKED));
             log.info("Account with email {} has been unlocked by the site administrator" ,user.get().getUsername());
         }
     }
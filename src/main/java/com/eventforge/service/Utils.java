@@ -82,6 +82,18 @@ public class Utils {
         return orgPriorities;
     }
 
+    //this method builds the searchable copy of the priorities stored next to the organisation
+    public String convertOrganisationPrioritiesToSearchText(Set<OrganisationPriority> organisationPriorities) {
+        if (organisationPriorities == null || organisationPriorities.isEmpty()) {
+            return null;
+        }
+        StringJoiner searchText = new StringJoiner(" ");
+        for (OrganisationPriority priority : organisationPriorities) {
+            searchText.add(priority.getCategory());
+        }
+        return searchText.toString();
+    }
+
     //this method is цаллед upon update for organisation
     public Set<String> convertListOfStaticOrganisationPrioritiesToString(Set<OrganisationPriority> staticOrganisationPriorityCategories , int staticOrgPrioritiesSize) {
         Set<String> setOfOrgPriorities = new HashSet<>();
@@ -0,0 +1,192 @@
+package com.eventforge.slack;
+
+import com.eventforge.lifecycle.BackgroundWorker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Alerts for unhandled exceptions. report only counts the exception under its fingerprint , the request never waits for slack.
+// The first occurrence of a fingerprint in a window is queued and posted by a single worker , the repeats are
+// summed up in one message when the window closes. At most max-per-window alerts are posted per window ,
+// the rest are counted in that summary. A full queue drops the alert instead of blocking the request thread.
+@Service
+@Slf4j
+public class SlackAlerts extends BackgroundWorker {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+    private static final long POLL_TIMEOUT_MS = 500;
+
+    private final SlackNotifier slackNotifier;
+    private final BlockingQueue<AlertGroup> queue;
+    private final Map<String, AlertGroup> groups = new ConcurrentHashMap<>();
+    private final long windowMs;
+    private final int maxPerWindow;
+
+    private final Counter sent;
+    private final Counter suppressed;
+    private final Counter dropped;
+
+    // owned by the worker , and by stop once the worker is gone
+    private long windowEnd;
+    private int sentInWindow;
+    private int suppressedInWindow;
+
+    public SlackAlerts(SlackNotifier slackNotifier,
+                       MeterRegistry meterRegistry,
+                       @Value("${eventforge.slack.alerts.queue-capacity:100}") int capacity,
+                       @Value("${eventforge.slack.alerts.window-seconds:60}") long windowSeconds,
+                       @Value("${eventforge.slack.alerts.max-per-window:10}") int maxPerWindow) {
+        super("slack-alerts", POLL_TIMEOUT_MS);
+        this.slackNotifier = slackNotifier;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.windowMs = Duration.ofSeconds(windowSeconds).toMillis();
+        this.maxPerWindow = maxPerWindow;
+        this.sent = Counter.builder("eventforge.slack.alerts.sent")
+                .description("Alerts posted to slack")
+                .register(meterRegistry);
+        this.suppressed = Counter.builder("eventforge.slack.alerts.suppressed")
+                .description("Alerts not posted because the window already had max-per-window alerts")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("eventforge.slack.alerts.dropped")
+                .description("Alerts lost because the queue was full")
+                .register(meterRegistry);
+    }
+
+    public void report(Throwable throwable) {
+        String fingerprint = fingerprint(throwable);
+        AlertGroup created = new AlertGroup(fingerprint, describe(throwable));
+        AlertGroup group;
+        // a group closed after it was looked up refuses the repeat , it is counted in the group that replaces it
+        while ((group = groups.putIfAbsent(fingerprint, created)) != null) {
+            if (group.repeat()) {
+                return;
+            }
+        }
+        if (!isRunning() || !queue.offer(created)) {
+            groups.remove(fingerprint, created);
+            dropped.increment();
+        }
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    @Override
+    protected void onStart() {
+        windowEnd = System.currentTimeMillis() + windowMs;
+    }
+
+    @Override
+    protected void work() throws InterruptedException {
+        AlertGroup group = queue.poll(Math.max(1, Math.min(POLL_TIMEOUT_MS, windowEnd - System.currentTimeMillis())), TimeUnit.MILLISECONDS);
+        if (group != null) {
+            post(group);
+        }
+        if (System.currentTimeMillis() >= windowEnd) {
+            closeWindow();
+        }
+    }
+
+    @Override
+    protected void drain() {
+        List<AlertGroup> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(this::post);
+        closeWindow();
+    }
+
+    private void post(AlertGroup group) {
+        if (sentInWindow >= maxPerWindow) {
+            suppressedInWindow++;
+            suppressed.increment();
+            return;
+        }
+        sentInWindow++;
+        if (slackNotifier.sendNotification(group.message)) {
+            sent.increment();
+        }
+    }
+
+    // one summary per window , it is not limited by max-per-window
+    private void closeWindow() {
+        StringBuilder summary = new StringBuilder();
+        for (AlertGroup group : groups.values()) {
+            // removed before it is closed , a report that finds it closed already sees the replacement slot free
+            groups.remove(group.fingerprint, group);
+            int repeats = group.close() - 1;
+            if (repeats > 0) {
+                summary.append(String.format("%n%d more times: %s", repeats, group.fingerprint));
+            }
+        }
+        if (suppressedInWindow > 0) {
+            summary.append(String.format("%n%d alerts not posted , over the limit of %d per window", suppressedInWindow, maxPerWindow));
+        }
+        if (!summary.isEmpty()) {
+            if (slackNotifier.sendNotification("BACKEND APPLICATION repeated exceptions in the last " + windowMs / 1000 + "s" + summary)) {
+                sent.increment();
+            }
+        }
+        sentInWindow = 0;
+        suppressedInWindow = 0;
+        windowEnd = System.currentTimeMillis() + windowMs;
+    }
+
+    // the type and the throwing line , the message is left out as it usually carries ids
+    private static String fingerprint(Throwable throwable) {
+        StringBuilder fingerprint = new StringBuilder(throwable.getClass().getName());
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        if (stackTrace.length > 0) {
+            fingerprint.append(" at ").append(stackTrace[0]);
+        }
+        if (throwable.getCause() != null) {
+            fingerprint.append(" caused by ").append(throwable.getCause().getClass().getName());
+        }
+        return fingerprint.toString();
+    }
+
+    private static String describe(Throwable throwable) {
+        return String.format(
+                "Exception occurred at %s%nBACKEND APPLICATION%nMessage: %s%nCause: %s",
+                DATE_TIME_FORMATTER.format(LocalDateTime.now()),
+                throwable.getMessage(),
+                throwable.getCause()
+        );
+    }
+
+    private static final class AlertGroup {
+        private static final int CLOSED = -1;
+
+        private final String fingerprint;
+        private final String message;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        private AlertGroup(String fingerprint, String message) {
+            this.fingerprint = fingerprint;
+            this.message = message;
+        }
+
+        // false once the group is closed , the repeat was not counted then
+        private boolean repeat() {
+            return count.getAndUpdate(current -> current == CLOSED ? CLOSED : current + 1) != CLOSED;
+        }
+
+        // the final count , no repeat is added after it
+        private int close() {
+            return count.getAndSet(CLOSED);
+        }
+    }
+}
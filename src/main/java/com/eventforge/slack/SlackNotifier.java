@@ -2,6 +2,7 @@ package com.eventforge.slack;
 
 import com.slack.api.Slack;
 import com.slack.api.webhook.Payload;
+import com.slack.api.webhook.WebhookResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -11,26 +12,37 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+// Posts to the incoming webhook over one Slack client and its pooled http connections.
+// Called from the SlackAlerts worker , never from a request thread.
 @Component
 @Slf4j
 public class SlackNotifier {
-    @Value("${webhook.url}")
-    private  String webhookUrl;
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
 
-    public void sendNotification(String message) {
+    private final String webhookUrl;
+    private final Slack slack = Slack.getInstance();
+
+    public SlackNotifier(@Value("${webhook.url}") String webhookUrl) {
+        this.webhookUrl = webhookUrl;
+    }
+
+    public boolean sendNotification(String message) {
         Payload payload = Payload.builder()
                 .text(message)
                 .build();
 
         try {
-            Slack slack = Slack.getInstance();
-            slack.send(webhookUrl, payload);
+            WebhookResponse response = slack.send(webhookUrl, payload);
+            if (response.getCode() != 200) {
+                log.warn("Slack webhook answered {} {}", response.getCode(), response.getBody());
+                return false;
+            }
+            return true;
         } catch (IOException ex) {
             LocalDateTime timestamp = LocalDateTime.now();
             String time = String.format("%s%n",DATE_TIME_FORMATTER.format(timestamp));
             log.warn(time + ex.getMessage());
+            return false;
         }
     }
 }
-
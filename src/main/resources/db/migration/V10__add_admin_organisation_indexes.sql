@@ -0,0 +1,7 @@
+-- the admin status filters select the few pending , locked or unverified accounts
+create index idx_user_is_approved_by_admin on user (is_approved_by_admin);
+create index idx_user_is_non_locked on user (is_non_locked);
+create index idx_user_is_enabled on user (is_enabled);
+
+-- default order of the admin organisation list
+create index idx_organisation_registered_at on organisation (registered_at, id);
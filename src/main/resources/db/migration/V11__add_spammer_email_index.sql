@@ -0,0 +1,2 @@
+-- admin spammer actions look rules up by their text
+create index idx_spammer_email on spammer (email);
@@ -0,0 +1,2 @@
+-- access tokens carry this as the "ver" claim , bumping it revokes every token issued to the user
+alter table user add column token_version BIGINT NOT NULL DEFAULT 0;
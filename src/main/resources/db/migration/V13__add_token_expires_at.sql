@@ -0,0 +1,25 @@
+alter table token add column expires_at DATETIME;
+
+-- expires_at is compared with LocalDateTime.now() of the application , which runs in Europe/Sofia
+-- (hibernate.jdbc.time_zone). from_unixtime and current_timestamp use the session time zone , so the backfill runs in
+-- Europe/Sofia whatever the server default is. Needs the mysql time zone tables , the migration fails instead of
+-- writing shifted values when they are not loaded.
+set @previous_time_zone = @@session.time_zone;
+set session time_zone = 'Europe/Sofia';
+
+-- backfill from the exp claim of the jwt payload (base64url , unpadded) , no signature check is needed for that
+update token
+set expires_at = from_unixtime(cast(json_unquote(json_extract(cast(from_base64(rpad(
+        replace(replace(substring_index(substring_index(token_value, '.', 2), '.', -1), '-', '+'), '_', '/'),
+        ceil(length(substring_index(substring_index(token_value, '.', 2), '.', -1)) / 4) * 4, '=')) as char), '$.exp')) as unsigned))
+where json_valid(cast(from_base64(rpad(
+        replace(replace(substring_index(substring_index(token_value, '.', 2), '.', -1), '-', '+'), '_', '/'),
+        ceil(length(substring_index(substring_index(token_value, '.', 2), '.', -1)) / 4) * 4, '=')) as char));
+
+-- a token without a readable payload can not be verified either , it is swept on the next run
+update token set expires_at = current_timestamp where expires_at is null;
+
+set session time_zone = @previous_time_zone;
+
+-- the expiry sweep and the purge are range scans on this index
+create index idx_token_expires_at on token (expires_at);
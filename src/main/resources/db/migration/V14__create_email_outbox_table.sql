@@ -0,0 +1,16 @@
+create table if not exists email_outbox(
+                                  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+                                  recipient VARCHAR(255) NOT NULL,
+                                  subject VARCHAR(255) NOT NULL,
+                                  -- cleared once the email is SENT or FAILED , it holds generated passwords and verification links
+                                  body TEXT,
+                                  status VARCHAR(20) NOT NULL,
+                                  attempts INT NOT NULL DEFAULT 0,
+                                  next_attempt_at DATETIME NOT NULL,
+                                  last_error VARCHAR(1000),
+                                  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                  sent_at DATETIME
+);
+
+-- the poller reads the due pending rows in next_attempt_at order
+create index idx_email_outbox_status_next_attempt_at on email_outbox (status, next_attempt_at);
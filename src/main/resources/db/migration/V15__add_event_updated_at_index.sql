@@ -0,0 +1,2 @@
+-- the search index catches up on the events updated since its watermark
+create index idx_event_updated_at on event (updated_at);
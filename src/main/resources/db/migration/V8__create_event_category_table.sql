@@ -0,0 +1,18 @@
+create table if not exists event_category (
+    event_id BIGINT NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    PRIMARY KEY (event_id, category),
+    INDEX idx_event_category_category_event (category, event_id),
+    FOREIGN KEY (event_id) REFERENCES event (id) ON DELETE CASCADE
+);
+
+-- backfill from the comma separated event.event_categories , normalised the same way as Utils.splitStringByComma
+insert ignore into event_category (event_id, category)
+select e.id, lower(trim(jt.category))
+from event e
+join json_table(
+        concat('["', replace(replace(replace(e.event_categories, '\\', '\\\\'), '"', '\\"'), ',', '","'), '"]'),
+        '$[*]' columns (category VARCHAR(255) path '$')
+    ) jt
+where e.event_categories is not null
+  and trim(jt.category) <> '';
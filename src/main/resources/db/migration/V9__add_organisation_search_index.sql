@@ -0,0 +1,24 @@
+-- denormalised copies of the searchable text that lives outside the organisation row ,
+-- a FULLTEXT index can only span the columns of one table
+alter table organisation
+    add column priority_text VARCHAR(2000),
+    add column user_email VARCHAR(255);
+
+update organisation o
+set o.priority_text = (select group_concat(op.category separator ' ')
+                       from priority_id_organisation_id p
+                       join organisation_priority op on op.id = p.organisation_priority_id
+                       where p.organisation_id = o.id),
+    o.user_email = (select u.username from user u where u.id = o.user_id);
+
+-- ngram so that infixes of bulgarian words and of e-mail addresses match like the LIKE '%search%' it replaces.
+-- The ngram parser drops every ngram that contains a stopword , and the default InnoDB list has single letters
+-- like 'a' and 'i' , so latin bigrams such as 'ma' , 'ai' or 'ar' of "gmail" or "varna" would never be indexed.
+-- The stopword setting is bound to a FULLTEXT index when the index is created.
+-- Deployment: any later re-creation of ft_organisation_search has to run with innodb_ft_enable_stopword = OFF in that session as well.
+set session innodb_ft_enable_stopword = OFF;
+
+alter table organisation
+    add fulltext index ft_organisation_search (name, address, website, facebook_link, priority_text, user_email) with parser ngram;
+
+set session innodb_ft_enable_stopword = ON;
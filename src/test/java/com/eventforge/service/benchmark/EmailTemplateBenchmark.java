@@ -0,0 +1,74 @@
+package com.eventforge.service.benchmark;
+
+import com.eventforge.email.template.EmailTemplates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Messages rendered per second for the registration email , not a unit test.
+// Run main() , or org.openjdk.jmh.Main EmailTemplateBenchmark , on the test classpath after mvn test-compile.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+    private static final String[] TR_TD_TAG = {"<tr><td>", "</td></tr>"};
+
+    private final String fullName = "Иван Петров";
+    private final String url = "https://active-varna.com/verifyEmail?verificationToken=5f1c1f0e-8a4b-4b8e-9c55-0c8f2a6f3d21";
+    private EmailTemplates emailTemplates;
+
+    @Setup
+    public void setUp() {
+        emailTemplates = new EmailTemplates();
+    }
+
+    // the body as RegistrationCompleteEventListener built it , unescaped
+    @Benchmark
+    public String concatenatedBefore() {
+        return "<html><body>" +
+                "<table style='width:100%; text-align:left;'>" +
+                TR_TD_TAG[0] +
+                "<p style='font-size:18px;'>Здравей, " + fullName + "!</p>" +
+                "<p>Благодарим ти за създадената регистрация! Моля, посетете долния линк, за да потвърдите регистрацията си.</p>" +
+                "<p><a href='" + url + "'>Потвърждаване на регистрация</a></p>" +
+                TR_TD_TAG[1] +
+                TR_TD_TAG[0] +
+                "<p style='font-size:14px;'>Благодарим ти!</p>" +
+                "<p style='font-size:14px;'>С най-добри пожелания,<br>" +
+                "👋 Екипът на Активна Варна!</p>" +
+                TR_TD_TAG[1] +
+                TR_TD_TAG[0] +
+                "<p style='font-size:14px; font-weight: bold;'>" +
+                "Това е автоматично съобщение, генерирано от нашата система. Моля не отговаряйте на този имейл.<br> " +
+                "Ако имате въпроси или нужда от помощ, свържете се с нас чрез предоставената контактна форма на сайта." +
+                "</p>" +
+                TR_TD_TAG[1] +
+                "</table>" +
+                "</body></html>";
+    }
+
+    // the precompiled template , escaped , into the reused buffer
+    @Benchmark
+    public String templateAfter() {
+        return emailTemplates.render(EmailTemplates.REGISTRATION_CONFIRMATION, "fullName", fullName, "url", url);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmailTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,75 @@
+package com.eventforge.service.benchmark;
+
+import com.eventforge.security.jwt.JWTService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// JWT work of one authenticated /organisation/** request , not a unit test.
+// Run main() , or org.openjdk.jmh.Main JWTAuthenticationBenchmark , on the test classpath after mvn test-compile.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTAuthenticationBenchmark {
+    private String secret;
+    private String token;
+    private JWTService jwtService;
+
+    @Setup
+    public void setUp() {
+        secret = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        jwtService = new JWTService(secret, 3_600_000, 604_800_000L);
+        token = jwtService.getGeneratedToken("organisation@eventforge.bg");
+    }
+
+    // filter: extract the username , validateToken: the username and the expiration again ,
+    // UserService.getLoggedUserByToken: the username once more. Every parse decoded the secret and built a parser.
+    @Benchmark
+    public String perRequestBefore() {
+        String username = legacyParse().getSubject();
+        boolean valid = legacyParse().getSubject().equals(username) && !legacyParse().getExpiration().before(new Date());
+        return valid ? legacyParse().getSubject() : null;
+    }
+
+    // one verification with the cached parser , the claims are reused by the validation and the services
+    @Benchmark
+    public String perRequestAfter() {
+        Claims claims = jwtService.parseClaims(token);
+        boolean valid = !claims.getExpiration().before(new Date());
+        return valid ? claims.getSubject() : null;
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JWTAuthenticationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
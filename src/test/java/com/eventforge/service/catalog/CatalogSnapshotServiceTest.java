@@ -0,0 +1,190 @@
+package com.eventforge.service.catalog;
+
+import com.eventforge.catalog.CatalogSnapshotService;
+import com.eventforge.catalog.EventTimeline;
+import com.eventforge.domain.AccountChangedEvent;
+import com.eventforge.domain.EventChangedEvent;
+import com.eventforge.dto.request.PageRequestDto;
+import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.factory.ResponseFactory;
+import com.eventforge.model.Event;
+import com.eventforge.model.Organisation;
+import com.eventforge.model.User;
+import com.eventforge.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceTest {
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ResponseFactory responseFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogSnapshotService catalogSnapshotService;
+    private Organisation organisation;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogSnapshotService = new CatalogSnapshotService(eventRepository, responseFactory, meterRegistry, true);
+        User user = User.builder().id(7L).build();
+        organisation = Organisation.builder().id(3L).user(user).build();
+        lenient().when(responseFactory.buildCommonEventResponse(any(Event.class))).thenAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            CommonEventResponse response = new CommonEventResponse();
+            response.setId(event.getId());
+            response.setName(event.getName());
+            return response;
+        });
+    }
+
+    @Test
+    void isServing_shouldBeFalseUntilTheFirstBuild() {
+        assertFalse(catalogSnapshotService.isServing());
+        assertTrue(catalogSnapshotService.findPage(true, false, pageRequest("name", Sort.Direction.ASC)).isEmpty());
+
+        when(eventRepository.findAllLegalEventsForCatalog()).thenReturn(List.of());
+        catalogSnapshotService.rebuild();
+
+        assertTrue(catalogSnapshotService.isServing());
+    }
+
+    @Test
+    void findPage_shouldFilterByTimeAndSortLikeTheRepository() {
+        when(eventRepository.findAllLegalEventsForCatalog()).thenReturn(new ArrayList<>(List.of(
+                event(1L, "Бяла нощ", true, now.plusDays(1)),
+                event(2L, "айкидо", true, now.plusDays(2)),
+                event(3L, "Вечер", true, now.minusDays(1)),
+                event(4L, "Арт", false, now.plusDays(1)))));
+        catalogSnapshotService.rebuild();
+
+        Page<CommonEventResponse> active = catalogSnapshotService.findPage(true, false, pageRequest("name", Sort.Direction.ASC)).orElseThrow();
+        assertEquals(List.of(2L, 1L), ids(active));
+        assertEquals(2, active.getTotalElements());
+
+        Page<CommonEventResponse> byEnd = catalogSnapshotService.findPage(true, false, pageRequest("endsAt", Sort.Direction.DESC)).orElseThrow();
+        assertEquals(List.of(2L, 1L), ids(byEnd));
+
+        Page<CommonEventResponse> expired = catalogSnapshotService.findPage(true, true, pageRequest("name", Sort.Direction.ASC)).orElseThrow();
+        assertEquals(List.of(3L), ids(expired));
+
+        assertTrue(catalogSnapshotService.findPage(true, false, pageRequest("price", Sort.Direction.ASC)).isEmpty());
+        assertEquals(4.0, meterRegistry.get("eventforge.catalog.snapshot.size").gauge().value());
+    }
+
+    @Test
+    void findPage_shouldCutDeepPagesFromBothEnds() {
+        List<Event> events = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            events.add(event(id, "Събитие " + id, true, now.plusDays(id)));
+        }
+        events.add(event(6L, "Минало", true, now.minusDays(1)));
+        when(eventRepository.findAllLegalEventsForCatalog()).thenReturn(events);
+        catalogSnapshotService.rebuild();
+
+        Page<CommonEventResponse> ascending = catalogSnapshotService.findPage(true, false, new PageRequestDto(1, 2, Sort.Direction.ASC, "endsAt")).orElseThrow();
+        assertEquals(List.of(3L, 4L), ids(ascending));
+        assertEquals(5, ascending.getTotalElements());
+
+        Page<CommonEventResponse> descending = catalogSnapshotService.findPage(true, false, new PageRequestDto(2, 2, Sort.Direction.DESC, "endsAt")).orElseThrow();
+        assertEquals(List.of(1L), ids(descending));
+
+        Page<CommonEventResponse> pastTheEnd = catalogSnapshotService.findPage(true, false, new PageRequestDto(3, 2, Sort.Direction.ASC, "endsAt")).orElseThrow();
+        assertTrue(pastTheEnd.getContent().isEmpty());
+    }
+
+    @Test
+    void findUpcoming_shouldReturnTheNearestStartsFirst() {
+        when(eventRepository.findAllLegalEventsForCatalog()).thenReturn(List.of(
+                event(1L, "a", true, now.plusDays(5)),
+                event(2L, "b", false, now.plusDays(3)),
+                event(3L, "c", true, now.minusDays(2))));
+        catalogSnapshotService.rebuild();
+
+        List<CommonEventResponse> upcoming = catalogSnapshotService.findUpcoming(now, 3);
+
+        assertEquals(List.of(2L, 1L), upcoming.stream().map(CommonEventResponse::getId).toList());
+    }
+
+    @Test
+    void onEventChanged_shouldReplaceOnlyTheChangedEvent() {
+        when(eventRepository.findAllLegalEventsForCatalog()).thenReturn(List.of(event(1L, "old", true, now.plusDays(1))));
+        catalogSnapshotService.rebuild();
+
+        Event updated = event(1L, "new", true, now.plusDays(1));
+        when(eventRepository.findLegalEventForCatalog(1L)).thenReturn(updated);
+        catalogSnapshotService.onEventChanged(EventChangedEvent.updated(updated));
+        assertEquals("new", catalogSnapshotService.findEvent(1L).map(CommonEventResponse::getName).orElseThrow());
+
+        catalogSnapshotService.onEventChanged(EventChangedEvent.deleted(1L));
+        assertEquals(Optional.empty(), catalogSnapshotService.findEvent(1L));
+        verify(eventRepository, times(1)).findAllLegalEventsForCatalog();
+    }
+
+    @Test
+    void onAccountChanged_shouldDropEventsOfALockedOrganisation() {
+        when(eventRepository.findAllLegalEventsForCatalog()).thenReturn(List.of(event(1L, "a", true, now.plusDays(1))));
+        catalogSnapshotService.rebuild();
+        when(eventRepository.findAllLegalEventsForCatalogByUserId(7L)).thenReturn(List.of());
+
+        catalogSnapshotService.onAccountChanged(new AccountChangedEvent(7L, "org@mail.bg", AccountChangedEvent.ChangeType.LOCKED));
+
+        assertTrue(catalogSnapshotService.findEvent(1L).isEmpty());
+    }
+
+    @Test
+    void findOrganisationEvents_shouldServeOnlyPubliclyVisibleOrganisations() {
+        when(eventRepository.findAllLegalEventsForCatalog()).thenReturn(List.of(
+                event(1L, "a", true, now.minusDays(1)),
+                event(2L, "b", false, now.plusDays(1))));
+        catalogSnapshotService.rebuild();
+
+        organisation.getUser().setIsNonLocked(true);
+        organisation.getUser().setIsApprovedByAdmin(true);
+        assertEquals(List.of(1L), catalogSnapshotService.findOrganisationEvents(organisation, EventTimeline.Section.EXPIRED, now)
+                .orElseThrow().stream().map(CommonEventResponse::getId).toList());
+        assertEquals(List.of(2L), catalogSnapshotService.findOrganisationEvents(organisation, EventTimeline.Section.UPCOMING, now)
+                .orElseThrow().stream().map(CommonEventResponse::getId).toList());
+
+        organisation.getUser().setIsApprovedByAdmin(false);
+        assertTrue(catalogSnapshotService.findOrganisationEvents(organisation, EventTimeline.Section.EXPIRED, now).isEmpty());
+    }
+
+    private Event event(Long id, String name, boolean oneTime, LocalDateTime endsAt) {
+        return Event.builder()
+                .id(id)
+                .name(name)
+                .isOneTime(oneTime)
+                .organisation(organisation)
+                .startsAt(endsAt.minusHours(2))
+                .endsAt(endsAt)
+                .createdAt(now)
+                .build();
+    }
+
+    private PageRequestDto pageRequest(String column, Sort.Direction direction) {
+        return new PageRequestDto(0, 10, direction, column);
+    }
+
+    private List<Long> ids(Page<CommonEventResponse> page) {
+        return page.getContent().stream().map(CommonEventResponse::getId).toList();
+    }
+}
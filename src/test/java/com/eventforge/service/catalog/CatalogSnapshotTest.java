@@ -0,0 +1,114 @@
+package com.eventforge.service.catalog;
+
+import com.eventforge.catalog.CatalogEntry;
+import com.eventforge.catalog.CatalogSnapshot;
+import com.eventforge.catalog.EventTimeline;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CatalogSnapshotTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void with_shouldMatchAFullBuildAfterEveryUpdate() {
+        Random random = new Random(7);
+        Map<Long, CatalogEntry> entries = new HashMap<>();
+        for (long id = 1; id <= 200; id++) {
+            entries.put(id, randomEntry(random, id));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(entries.values());
+
+        for (int round = 0; round < 50; round++) {
+            List<CatalogEntry> upserts = new ArrayList<>();
+            List<Long> removals = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                long id = 1 + random.nextInt(250);
+                if (random.nextBoolean()) {
+                    CatalogEntry entry = randomEntry(random, id);
+                    upserts.add(entry);
+                    entries.put(id, entry);
+                } else {
+                    removals.add(id);
+                    entries.remove(id);
+                    upserts.removeIf(entry -> entry.id() == id);
+                }
+            }
+            snapshot = snapshot.with(upserts, removals);
+
+            assertSameContent(CatalogSnapshot.of(entries.values()), snapshot);
+        }
+    }
+
+    @Test
+    void with_shouldKeepTheUntouchedKindAndOrganisations() {
+        CatalogEntry oneTime = entry(1L, 1L, true, BASE, BASE.plusHours(1));
+        CatalogEntry recurring = entry(2L, 2L, false, BASE, BASE.plusHours(1));
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(oneTime, recurring));
+
+        CatalogSnapshot updated = snapshot.with(List.of(entry(1L, 1L, true, BASE.plusDays(1), BASE.plusDays(2))), List.of());
+
+        assertSame(snapshot.sortedBy(false, "name"), updated.sortedBy(false, "name"));
+        assertSame(snapshot.timelineOfOrganisation(2L), updated.timelineOfOrganisation(2L));
+        assertEquals(List.of(1L), ids(updated.timelineOfOrganisation(1L).upcoming(BASE.plusHours(2), Integer.MAX_VALUE)));
+    }
+
+    @Test
+    void with_shouldDropTheTimelineOfAnOrganisationWithoutEvents() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(entry(1L, 1L, true, BASE, BASE.plusHours(1))));
+
+        assertNull(snapshot.with(List.of(), List.of(1L)).timelineOfOrganisation(1L));
+    }
+
+    private void assertSameContent(CatalogSnapshot expected, CatalogSnapshot actual) {
+        assertEquals(expected.size(), actual.size());
+        for (boolean oneTime : List.of(true, false)) {
+            for (String column : CatalogSnapshot.SORT_COLUMNS) {
+                assertEquals(ids(expected.sortedBy(oneTime, column)), ids(actual.sortedBy(oneTime, column)));
+            }
+        }
+        for (int hour = -5; hour < 120; hour += 11) {
+            LocalDateTime now = BASE.plusHours(hour);
+            assertSameSections(expected.timeline(), actual.timeline(), now);
+            for (long orgId = 1; orgId <= 5; orgId++) {
+                EventTimeline expectedOrganisation = expected.timelineOfOrganisation(orgId);
+                EventTimeline actualOrganisation = actual.timelineOfOrganisation(orgId);
+                if (expectedOrganisation == null) {
+                    assertNull(actualOrganisation);
+                } else {
+                    assertSameSections(expectedOrganisation, actualOrganisation, now);
+                }
+            }
+        }
+    }
+
+    private void assertSameSections(EventTimeline expected, EventTimeline actual, LocalDateTime now) {
+        for (EventTimeline.Section section : EventTimeline.Section.values()) {
+            assertEquals(ids(expected.section(section, now)), ids(actual.section(section, now)));
+        }
+    }
+
+    private CatalogEntry randomEntry(Random random, long id) {
+        // some entries have no end date , like events the timeline leaves out
+        LocalDateTime startsAt = BASE.plusHours(random.nextInt(100));
+        LocalDateTime endsAt = random.nextInt(10) == 0 ? null : startsAt.plusHours(random.nextInt(24));
+        return entry(id, 1L + random.nextInt(5), random.nextBoolean(), startsAt, endsAt);
+    }
+
+    private CatalogEntry entry(Long id, Long orgId, boolean oneTime, LocalDateTime startsAt, LocalDateTime endsAt) {
+        return new CatalogEntry(id, orgId, orgId, "event " + (id % 17), oneTime, startsAt, endsAt, BASE.plusMinutes(id % 13), null);
+    }
+
+    private List<Long> ids(List<CatalogEntry> entries) {
+        return entries.stream().map(CatalogEntry::id).toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.eventforge.service.catalog;
+
+import com.eventforge.catalog.CatalogEntry;
+import com.eventforge.catalog.EventTimeline;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventTimelineTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void sections_shouldMatchTheRepositoryConditionsAtEveryMoment() {
+        Random random = new Random(42);
+        List<CatalogEntry> entries = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            LocalDateTime startsAt = BASE.plusHours(random.nextInt(500));
+            entries.add(entry(id, startsAt, startsAt.plusHours(random.nextInt(72))));
+        }
+        EventTimeline timeline = EventTimeline.of(entries);
+
+        for (int hour = -5; hour < 600; hour += 7) {
+            LocalDateTime now = BASE.plusHours(hour);
+            assertEquals(expected(entries, e -> e.endsAt().isBefore(now)), ids(timeline.expired(now)));
+            assertEquals(expected(entries, e -> e.startsAt().isBefore(now) && !e.endsAt().isBefore(now)), ids(timeline.active(now)));
+            assertEquals(expected(entries, e -> e.startsAt().isAfter(now)), ids(timeline.upcoming(now, Integer.MAX_VALUE)));
+            assertEquals(entries.stream().filter(e -> !e.endsAt().isBefore(now)).count(), timeline.countUnexpired(now));
+        }
+    }
+
+    @Test
+    void active_shouldTreatTheBoundariesLikeTheActiveEventsQuery() {
+        CatalogEntry entry = entry(1L, BASE, BASE.plusHours(2));
+        EventTimeline timeline = EventTimeline.of(List.of(entry));
+
+        assertEquals(List.of(), timeline.active(BASE));
+        assertEquals(List.of(entry), timeline.active(BASE.plusHours(1)));
+        assertEquals(List.of(entry), timeline.active(BASE.plusHours(2)));
+        assertEquals(List.of(), timeline.active(BASE.plusHours(3)));
+    }
+
+    @Test
+    void upcoming_shouldRespectTheLimit() {
+        EventTimeline timeline = EventTimeline.of(List.of(
+                entry(1L, BASE.plusDays(3), BASE.plusDays(4)),
+                entry(2L, BASE.plusDays(1), BASE.plusDays(2)),
+                entry(3L, BASE.minusDays(1), BASE.plusDays(2))));
+
+        assertEquals(List.of(2L), ids(timeline.upcoming(BASE, 1)));
+    }
+
+    private List<Long> expected(List<CatalogEntry> entries, Predicate<CatalogEntry> condition) {
+        return entries.stream()
+                .filter(condition)
+                .sorted(Comparator.comparing(CatalogEntry::startsAt).thenComparing(CatalogEntry::id))
+                .map(CatalogEntry::id)
+                .toList();
+    }
+
+    private List<Long> ids(List<CatalogEntry> entries) {
+        return entries.stream().map(CatalogEntry::id).toList();
+    }
+
+    private CatalogEntry entry(Long id, LocalDateTime startsAt, LocalDateTime endsAt) {
+        return new CatalogEntry(id, 1L, 1L, "event " + id, true, startsAt, endsAt, BASE, null);
+    }
+}
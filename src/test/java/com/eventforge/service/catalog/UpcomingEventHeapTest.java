@@ -0,0 +1,118 @@
+package com.eventforge.service.catalog;
+
+import com.eventforge.catalog.UpcomingEventHeap;
+import com.eventforge.domain.AccountChangedEvent;
+import com.eventforge.domain.EventChangedEvent;
+import com.eventforge.dto.projection.EventListView;
+import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.factory.ResponseFactory;
+import com.eventforge.model.Event;
+import com.eventforge.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpcomingEventHeapTest {
+    private static final int CAPACITY = 4;
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ResponseFactory responseFactory;
+
+    private UpcomingEventHeap upcomingEventHeap;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        upcomingEventHeap = new UpcomingEventHeap(eventRepository, responseFactory, CAPACITY);
+        lenient().when(responseFactory.buildCommonEventResponse(any(EventListView.class))).thenAnswer(invocation -> {
+            EventListView view = invocation.getArgument(0);
+            CommonEventResponse response = new CommonEventResponse();
+            response.setId(view.id());
+            return response;
+        });
+    }
+
+    @Test
+    void next_shouldServeRepeatedReadsFromMemory() {
+        when(eventRepository.findUpcomingEventViews(any(), any(Pageable.class))).thenReturn(List.of(
+                view(1L, now.plusHours(1)), view(2L, now.plusHours(2)), view(3L, now.plusHours(3))));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(upcomingEventHeap.next(3, now)));
+        assertEquals(List.of(1L, 2L, 3L), ids(upcomingEventHeap.next(3, now.plusMinutes(30))));
+
+        verify(eventRepository, times(1)).findUpcomingEventViews(any(), any(Pageable.class));
+    }
+
+    @Test
+    void next_shouldEvictEventsOnceTheyStart() {
+        when(eventRepository.findUpcomingEventViews(any(), any(Pageable.class))).thenReturn(List.of(
+                view(1L, now.plusHours(1)), view(2L, now.plusHours(2)), view(3L, now.plusHours(3)), view(4L, now.plusHours(4))));
+        upcomingEventHeap.next(3, now);
+
+        assertEquals(List.of(2L, 3L, 4L), ids(upcomingEventHeap.next(3, now.plusMinutes(90))));
+        // three events are still held after the eviction , no reload needed
+        verify(eventRepository, times(1)).findUpcomingEventViews(any(), any(Pageable.class));
+    }
+
+    @Test
+    void onEventChanged_shouldApplyCreatesAndDeletesInPlace() {
+        when(eventRepository.findUpcomingEventViews(any(), any(Pageable.class))).thenReturn(List.of(
+                view(1L, now.plusHours(1)), view(2L, now.plusHours(2))));
+        upcomingEventHeap.next(3, now);
+
+        when(eventRepository.findLegalEventView(5L)).thenReturn(view(5L, now.plusMinutes(30)));
+        upcomingEventHeap.onEventChanged(EventChangedEvent.created(Event.builder().id(5L).build()));
+        assertEquals(List.of(5L, 1L, 2L), ids(upcomingEventHeap.next(3, now)));
+
+        upcomingEventHeap.onEventChanged(EventChangedEvent.deleted(1L));
+        assertEquals(List.of(5L, 2L), ids(upcomingEventHeap.next(3, now)));
+        verify(eventRepository, times(1)).findUpcomingEventViews(any(), any(Pageable.class));
+    }
+
+    @Test
+    void next_shouldReloadWhenAFullWindowRunsShort() {
+        when(eventRepository.findUpcomingEventViews(any(), any(Pageable.class))).thenReturn(
+                List.of(view(1L, now.plusHours(1)), view(2L, now.plusHours(2)), view(3L, now.plusHours(3)), view(4L, now.plusHours(4))),
+                List.of(view(3L, now.plusHours(3)), view(4L, now.plusHours(4)), view(6L, now.plusHours(6))));
+        upcomingEventHeap.next(3, now);
+
+        upcomingEventHeap.onEventChanged(EventChangedEvent.deleted(1L));
+        upcomingEventHeap.onEventChanged(EventChangedEvent.deleted(2L));
+
+        assertEquals(List.of(3L, 4L, 6L), ids(upcomingEventHeap.next(3, now)));
+        verify(eventRepository, times(2)).findUpcomingEventViews(any(), any(Pageable.class));
+    }
+
+    @Test
+    void onAccountChanged_shouldColdStartTheHeap() {
+        when(eventRepository.findUpcomingEventViews(any(), any(Pageable.class))).thenReturn(
+                List.of(view(1L, now.plusHours(1))), List.of());
+        upcomingEventHeap.next(3, now);
+
+        upcomingEventHeap.onAccountChanged(new AccountChangedEvent(7L, "org@mail.bg", AccountChangedEvent.ChangeType.LOCKED));
+
+        assertEquals(List.of(), upcomingEventHeap.next(3, now));
+    }
+
+    private EventListView view(Long id, LocalDateTime startsAt) {
+        return new EventListView(id, 1L, null, null, "event", "organisation", false, null, null, null, null, 0,
+                null, null, startsAt, startsAt.plusHours(2), true, null);
+    }
+
+    private List<Long> ids(List<CommonEventResponse> responses) {
+        return responses.stream().map(CommonEventResponse::getId).toList();
+    }
+}
@@ -0,0 +1,128 @@
+package com.eventforge.service.contact;
+
+import com.eventforge.contact.ContactIngestionQueue;
+import com.eventforge.exception.ContactQueueFullException;
+import com.eventforge.model.Contact;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactIngestionQueueTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ContactIngestionQueue contactIngestionQueue;
+
+    @AfterEach
+    void tearDown() {
+        contactIngestionQueue.stop();
+    }
+
+    @Test
+    void submit_shouldBeWrittenInTheBackground() {
+        contactIngestionQueue = new ContactIngestionQueue(jdbcTemplate, meterRegistry, 10, 5, 20, 3, 10);
+        contactIngestionQueue.start();
+
+        contactIngestionQueue.submit(new Contact("user@mail.bg", "Въпрос", "Здравейте"));
+
+        verify(jdbcTemplate, timeout(2000)).batchUpdate(anyString(), anyList());
+        // the timer is updated after the batch returns , stopping waits for the worker
+        contactIngestionQueue.stop();
+        assertEquals(0, contactIngestionQueue.depth());
+        assertEquals(1, meterRegistry.get("eventforge.contact.queue.flush").timer().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_shouldDrainTheQueueInBatches() {
+        contactIngestionQueue = new ContactIngestionQueue(jdbcTemplate, meterRegistry, 10, 2, 20, 3, 10);
+        // the worker is parked in a batch , the rest stays queued until shutdown
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        contactIngestionQueue.start();
+        for (int i = 0; i < 5; i++) {
+            contactIngestionQueue.submit(new Contact("user" + i + "@mail.bg", "Въпрос", "Здравейте"));
+        }
+
+        contactIngestionQueue.stop();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeast(3)).batchUpdate(anyString(), rows.capture());
+        assertEquals(5, rows.getAllValues().stream().mapToInt(List::size).sum());
+        assertTrue(rows.getAllValues().stream().allMatch(batch -> batch.size() <= 2));
+        assertEquals(false, rows.getValue().get(0)[3]);
+        assertEquals(0, contactIngestionQueue.depth());
+    }
+
+    @Test
+    void submit_shouldRejectWhenTheQueueIsFull() throws InterruptedException {
+        contactIngestionQueue = new ContactIngestionQueue(jdbcTemplate, meterRegistry, 1, 1, 20, 3, 10);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        contactIngestionQueue.start();
+
+        contactIngestionQueue.submit(new Contact("first@mail.bg", "Въпрос", "Здравейте"));
+        assertTrue(writing.await(2, TimeUnit.SECONDS));
+        contactIngestionQueue.submit(new Contact("second@mail.bg", "Въпрос", "Здравейте"));
+
+        assertThrows(ContactQueueFullException.class,
+                () -> contactIngestionQueue.submit(new Contact("third@mail.bg", "Въпрос", "Здравейте")));
+        assertEquals(1.0, meterRegistry.get("eventforge.contact.queue.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("eventforge.contact.queue.depth").gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    void flush_shouldRetryAFailedBatchWithBackoff() {
+        contactIngestionQueue = new ContactIngestionQueue(jdbcTemplate, meterRegistry, 10, 5, 20, 3, 10);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("failover"))
+                .thenReturn(new int[]{1});
+        contactIngestionQueue.start();
+
+        contactIngestionQueue.submit(new Contact("user@mail.bg", "Въпрос", "Здравейте"));
+
+        verify(jdbcTemplate, timeout(2000).times(2)).batchUpdate(anyString(), anyList());
+        contactIngestionQueue.stop();
+        assertEquals(1.0, meterRegistry.get("eventforge.contact.queue.retried").counter().count());
+        assertEquals(0.0, meterRegistry.get("eventforge.contact.queue.dropped").counter().count());
+    }
+
+    @Test
+    void flush_shouldDropTheBatchOnlyAfterTheLastAttempt() {
+        contactIngestionQueue = new ContactIngestionQueue(jdbcTemplate, meterRegistry, 10, 5, 20, 3, 10);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+        contactIngestionQueue.start();
+
+        contactIngestionQueue.submit(new Contact("user@mail.bg", "Въпрос", "Здравейте"));
+
+        verify(jdbcTemplate, timeout(2000).times(3)).batchUpdate(anyString(), anyList());
+        contactIngestionQueue.stop();
+        assertEquals(2.0, meterRegistry.get("eventforge.contact.queue.retried").counter().count());
+        assertEquals(1.0, meterRegistry.get("eventforge.contact.queue.dropped").counter().count());
+    }
+}
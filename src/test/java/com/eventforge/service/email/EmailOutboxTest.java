@@ -0,0 +1,203 @@
+package com.eventforge.service.email;
+
+import com.eventforge.constants.OutboxEmailStatus;
+import com.eventforge.email.EmailOutbox;
+import com.eventforge.model.OutboxEmail;
+import com.eventforge.repository.OutboxEmailRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmailOutboxTest {
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private OutboxEmailRepository outboxEmailRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // stands in for the email_outbox table
+    private final List<OutboxEmail> table = new ArrayList<>();
+    private EmailOutbox emailOutbox;
+
+    @AfterEach
+    void tearDown() {
+        if (emailOutbox != null) {
+            emailOutbox.stop();
+        }
+    }
+
+    @Test
+    void enqueue_shouldBeSentInTheBackground() throws Exception {
+        emailOutbox = newOutbox(smtpSender(ServerSetupTest.SMTP.getPort()), 3);
+        emailOutbox.start();
+
+        emailOutbox.enqueue("user@mail.bg", "Потвърждение на акаунт", "<html><body>Здравей!</body></html>");
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertEquals("Потвърждение на акаунт", received.getSubject());
+        assertTrue(received.getContent().toString().contains("Здравей!"));
+        emailOutbox.stop();
+        assertEquals(OutboxEmailStatus.SENT, table.get(0).getStatus());
+        assertEquals(1, table.get(0).getAttempts());
+        assertNull(table.get(0).getBody());
+        assertEquals(1, meterRegistry.get("eventforge.email.send").timer().count());
+        assertEquals(0.0, meterRegistry.get("eventforge.email.outbox.depth").gauge().value());
+    }
+
+    @Test
+    void stop_shouldDrainWhatIsDue() throws Exception {
+        emailOutbox = newOutbox(smtpSender(ServerSetupTest.SMTP.getPort()), 3);
+        for (int i = 0; i < 5; i++) {
+            emailOutbox.enqueue("user" + i + "@mail.bg", "Въпрос", "<p>Отговор</p>");
+        }
+        emailOutbox.start();
+
+        emailOutbox.stop();
+
+        assertEquals(5, greenMail.getReceivedMessages().length);
+        assertTrue(table.stream().allMatch(email -> email.getStatus() == OutboxEmailStatus.SENT));
+    }
+
+    @Test
+    void send_shouldBeRetriedWithBackoffAndThenGivenUp() {
+        // nothing listens on this port
+        emailOutbox = newOutbox(smtpSender(ServerSetupTest.SMTP.getPort() + 1), 2);
+        emailOutbox.enqueue("user@mail.bg", "Въпрос", "<p>Отговор</p>");
+        emailOutbox.start();
+
+        verify(outboxEmailRepository, timeout(5000)).saveAll(any());
+        OutboxEmail email = table.get(0);
+        assertEquals(OutboxEmailStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertNotNull(email.getLastError());
+        assertEquals("<p>Отговор</p>", email.getBody());
+        assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertEquals(1.0, meterRegistry.get("eventforge.email.retried").counter().count());
+
+        synchronized (table) {
+            email.setNextAttemptAt(LocalDateTime.now());
+        }
+        emailOutbox.wakeUp();
+
+        verify(outboxEmailRepository, timeout(5000).times(2)).saveAll(any());
+        assertEquals(OutboxEmailStatus.FAILED, email.getStatus());
+        assertEquals(2, email.getAttempts());
+        assertNull(email.getBody());
+        assertEquals(1.0, meterRegistry.get("eventforge.email.failed").counter().count());
+    }
+
+    @Test
+    void nextAttemptAt_shouldBeDoubledUpToTheMaximumBackoff() {
+        // nothing listens on this port
+        emailOutbox = newOutbox(smtpSender(ServerSetupTest.SMTP.getPort() + 1), 8, 100);
+        emailOutbox.enqueue("user@mail.bg", "Въпрос", "<p>Отговор</p>");
+        OutboxEmail email = table.get(0);
+
+        assertEquals(Duration.ofSeconds(30), failedAttemptBackoff(email, 1));
+        assertEquals(Duration.ofSeconds(60), failedAttemptBackoff(email, 2));
+        assertEquals(Duration.ofSeconds(100), failedAttemptBackoff(email, 3));
+        assertEquals(Duration.ofSeconds(100), failedAttemptBackoff(email, 4));
+        assertEquals(OutboxEmailStatus.PENDING, email.getStatus());
+    }
+
+    // makes the email due , waits for the failed attempt and returns how far next_attempt_at was moved , in whole seconds
+    private Duration failedAttemptBackoff(OutboxEmail email, int attempt) {
+        LocalDateTime dueAt = LocalDateTime.now();
+        synchronized (table) {
+            email.setNextAttemptAt(dueAt);
+        }
+        if (attempt == 1) {
+            emailOutbox.start();
+        } else {
+            emailOutbox.wakeUp();
+        }
+        verify(outboxEmailRepository, timeout(5000).times(attempt)).saveAll(any());
+        assertEquals(attempt, email.getAttempts());
+        return Duration.ofSeconds(Duration.between(dueAt, email.getNextAttemptAt()).toSeconds());
+    }
+
+    private EmailOutbox newOutbox(JavaMailSenderImpl mailSender, int maxAttempts) {
+        return newOutbox(mailSender, maxAttempts, 3600);
+    }
+
+    private EmailOutbox newOutbox(JavaMailSenderImpl mailSender, int maxAttempts, long maxBackoffSeconds) {
+        AtomicLong ids = new AtomicLong();
+        when(outboxEmailRepository.save(any(OutboxEmail.class))).thenAnswer(invocation -> {
+            OutboxEmail email = invocation.getArgument(0);
+            synchronized (table) {
+                email.setId(ids.incrementAndGet());
+                email.setCreatedAt(LocalDateTime.now());
+                table.add(email);
+            }
+            return email;
+        });
+        when(outboxEmailRepository.findDueIds(any(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(1);
+            synchronized (table) {
+                return table.stream()
+                        .filter(email -> email.getStatus() == OutboxEmailStatus.PENDING && !email.getNextAttemptAt().isAfter(now))
+                        .map(OutboxEmail::getId)
+                        .toList();
+            }
+        });
+        when(outboxEmailRepository.claim(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            LocalDateTime now = invocation.getArgument(2);
+            synchronized (table) {
+                OutboxEmail email = table.get(id.intValue() - 1);
+                if (email.getStatus() != OutboxEmailStatus.PENDING || email.getNextAttemptAt().isAfter(now)) {
+                    return 0;
+                }
+                email.setNextAttemptAt(invocation.getArgument(3));
+                return 1;
+            }
+        });
+        when(outboxEmailRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> claimed = invocation.getArgument(0);
+            List<OutboxEmail> found = new ArrayList<>();
+            synchronized (table) {
+                claimed.forEach(id -> found.add(table.get(id.intValue() - 1)));
+            }
+            return found;
+        });
+        when(outboxEmailRepository.countByStatus(OutboxEmailStatus.PENDING)).thenAnswer(invocation -> {
+            synchronized (table) {
+                return table.stream().filter(email -> email.getStatus() == OutboxEmailStatus.PENDING).count();
+            }
+        });
+        return new EmailOutbox(outboxEmailRepository, mailSender, meterRegistry, "sender@active-varna.com",
+                2, 2, 50, maxAttempts, 30, maxBackoffSeconds, 300, 5);
+    }
+
+    private static JavaMailSenderImpl smtpSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        return mailSender;
+    }
+}
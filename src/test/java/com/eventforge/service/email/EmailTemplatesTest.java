@@ -0,0 +1,59 @@
+package com.eventforge.service.email;
+
+import com.eventforge.email.template.EmailTemplate;
+import com.eventforge.email.template.EmailTemplates;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplatesTest {
+    private final EmailTemplates emailTemplates = new EmailTemplates();
+
+    @Test
+    void render_shouldEscapeTheValues() {
+        String html = emailTemplates.render(EmailTemplates.CONTACT_ANSWER, "answer", "<script>alert('x')</script> & \"bye\"");
+
+        assertTrue(html.contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;bye&quot;"));
+        assertFalse(html.contains("<script>"));
+    }
+
+    @Test
+    void render_shouldFillEveryPlaceholder() {
+        String html = emailTemplates.render(EmailTemplates.FORGOTTEN_PASSWORD,
+                "fullName", "Иван Петров",
+                "url", "https://active-varna.com/reset?verificationToken=abc");
+
+        assertTrue(html.startsWith("<html><body>"));
+        assertTrue(html.endsWith("</body></html>"));
+        assertTrue(html.contains("Здравей, Иван Петров!"));
+        assertTrue(html.contains("<a href='https://active-varna.com/reset?verificationToken=abc'>"));
+        assertFalse(html.contains("{{"));
+    }
+
+    @Test
+    void render_shouldReuseTheBufferWithoutLeakingThePreviousMessage() {
+        emailTemplates.render(EmailTemplates.GENERATED_PASSWORD, "password", "first-password");
+
+        String html = emailTemplates.render(EmailTemplates.GENERATED_PASSWORD, "password", "second");
+
+        assertFalse(html.contains("first-password"));
+        assertTrue(html.contains(">second</span>"));
+    }
+
+    @Test
+    void render_shouldLeaveMissingValuesEmpty() {
+        String html = emailTemplates.render(EmailTemplates.REGISTRATION_CONFIRMATION, "url", "https://active-varna.com");
+
+        assertTrue(html.contains("Здравей, !"));
+    }
+
+    @Test
+    void render_shouldRejectAnUnknownTemplate() {
+        assertThrows(IllegalArgumentException.class, () -> emailTemplates.render("missing"));
+    }
+
+    @Test
+    void compile_shouldRejectAnUnclosedPlaceholder() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("broken", "<p>{{name</p>"));
+    }
+}
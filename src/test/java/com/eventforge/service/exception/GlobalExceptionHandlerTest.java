@@ -3,13 +3,14 @@ package com.eventforge.service.exception;
 import com.eventforge.exception.*;
 import com.eventforge.exception.handler.GlobalExceptionHandler;
 import com.eventforge.service.Utils;
-import com.eventforge.slack.SlackNotifier;
+import com.eventforge.slack.SlackAlerts;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -31,14 +32,14 @@ class GlobalExceptionHandlerTest {
     @Mock
     private Utils mockUtils;
     @Mock
-    private SlackNotifier slackNotifier;
+    private SlackAlerts slackAlerts;
 
     private GlobalExceptionHandler globalExceptionHandler;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        globalExceptionHandler = new GlobalExceptionHandler(mockUtils , slackNotifier);
+        globalExceptionHandler = new GlobalExceptionHandler(mockUtils , slackAlerts);
     }
 
     @Test
@@ -206,5 +207,26 @@ class GlobalExceptionHandlerTest {
                 "Expected response body to be 'Request expired'");
     }
 
+    @Test
+    void testHandleContactQueueFullException() {
+        ContactQueueFullException exception = new ContactQueueFullException(5);
+
+        ResponseEntity<String> response = globalExceptionHandler.handleRetryAfterException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(MediaType.TEXT_PLAIN, response.getHeaders().getContentType());
+        assertEquals(exception.getMessage(), response.getBody());
+    }
+
+    @Test
+    void testHandleTooManyLoginAttemptsException() {
+        TooManyLoginAttemptsException exception = new TooManyLoginAttemptsException(900);
 
+        ResponseEntity<String> response = globalExceptionHandler.handleRetryAfterException(exception);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("900", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(exception.getMessage(), response.getBody());
+    }
 }
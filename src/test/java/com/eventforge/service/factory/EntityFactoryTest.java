@@ -19,6 +19,7 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,6 +36,8 @@ class EntityFactoryTest {
     private EventService eventService;
     @Mock
     private ImageService imageService;
+    @Mock
+    private ApplicationEventPublisher publisher;
 
     @InjectMocks
     private EntityFactory entityFactory;
@@ -42,12 +45,11 @@ class EntityFactoryTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        entityFactory = new EntityFactory(organisationService, utils, userService, eventService, imageService);
+        entityFactory = new EntityFactory(organisationService, utils, userService, eventService, imageService, publisher);
     }
 
     @Test
     void testCreateEvent() {
-        String authHeader = "exampleAuthHeader";
         EventRequest eventRequest = EventRequest.builder()
                 .name("Test Event")
                 .description("Event description")
@@ -67,9 +69,7 @@ class EntityFactoryTest {
                 .user(user)
                 .build();
 
-        when(userService.getLoggedUserByToken(authHeader)).thenReturn(user);
-        when(organisationService.getOrganisationByUserId(user.getId())).thenReturn(organisation);
-        Event result = entityFactory.createEvent(eventRequest, authHeader);
+        Event result = entityFactory.createEvent(eventRequest, organisation);
 
         assertEquals(eventRequest.getName(), result.getName());
         assertEquals(eventRequest.getDescription(), result.getDescription());
@@ -12,7 +12,6 @@ import com.eventforge.model.User;
 import com.eventforge.repository.EventRepository;
 import com.eventforge.service.OrganisationPriorityService;
 import com.eventforge.service.OrganisationService;
-import com.eventforge.service.UserService;
 import com.eventforge.service.Utils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,9 +32,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class RequestFactoryTest {
 
-    @Mock
-    private UserService userService;
-
     @Mock
     private OrganisationService organisationService;
 
@@ -54,27 +50,21 @@ class RequestFactoryTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        requestFactory = new RequestFactory(userService, organisationService, utils, eventRepository);
+        requestFactory = new RequestFactory(organisationService, utils, eventRepository);
     }
 
 
     @Test
     void testCreateUpdateAccountRequestThenReturnNull() {
-        String token = "tokenExample";
-
-        when(userService.getLoggedUserByToken(token)).thenReturn(null);
-
-        UpdateAccountRequest result = requestFactory.createUpdateAccountRequest(token);
+        UpdateAccountRequest result = requestFactory.createUpdateAccountRequest(null);
 
         assertNull(result);
-        verify(userService, times(1)).getLoggedUserByToken(eq(token));
         verifyNoMoreInteractions(organisationService, utils, organisationPriorityService);
     }
     @Test
     void createEventRequestForUpdateOperation_ShouldReturnEventRequest() {
         // Arrange
         Long eventId = 1L;
-        String token = "exampleToken";
         Image eventImage = new Image();
         eventImage.setUrl("picture");
         User user = new User();
@@ -94,11 +84,10 @@ class RequestFactoryTest {
         foundEvent.setStartsAt(LocalDateTime.now());
         foundEvent.setEndsAt(LocalDateTime.now());
         foundEvent.setRecurrenceDetails("Example Recurrence Details");
-        when(userService.getLoggedUserByToken(eq(token))).thenReturn(user);
         when(eventRepository.findEventByIdAndUserId(eq(user.getId()), eq(eventId))).thenReturn(foundEvent);
 
         // Act
-        EventRequest result = requestFactory.createEventRequestForUpdateOperation(eventId, token);
+        EventRequest result = requestFactory.createEventRequestForUpdateOperation(eventId, user);
 
         // Assert
         assertNotNull(result);
@@ -112,7 +101,6 @@ class RequestFactoryTest {
         assertEquals(40, result.getMaxAge());
         assertEquals(true, result.getIsOneTime());
         // Add more assertions for the remaining properties
-        verify(userService, times(1)).getLoggedUserByToken(eq(token));
         verify(eventRepository, times(1)).findEventByIdAndUserId(eq(user.getId()), eq(eventId));
     }
 
@@ -120,15 +108,12 @@ class RequestFactoryTest {
     void createEventRequestForUpdateOperation_ShouldThrowEventRequestExceptionWhenEventNotFound() {
         // Arrange
         Long eventId = 1L;
-        String token = "exampleToken";
         User user = new User();
         user.setId(1L);
-        when(userService.getLoggedUserByToken(eq(token))).thenReturn(user);
         when(eventRepository.findEventByIdAndUserId(eq(user.getId()), eq(eventId))).thenReturn(null);
 
         // Act and Assert
-        assertThrows(EventRequestException.class, () -> requestFactory.createEventRequestForUpdateOperation(eventId, token));
-        verify(userService, times(1)).getLoggedUserByToken(eq(token));
+        assertThrows(EventRequestException.class, () -> requestFactory.createEventRequestForUpdateOperation(eventId, user));
         verify(eventRepository, times(1)).findEventByIdAndUserId(eq(user.getId()), eq(eventId));
     }
 }
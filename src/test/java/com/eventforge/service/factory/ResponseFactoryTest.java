@@ -1,5 +1,10 @@
 package com.eventforge.service.factory;
 
+import com.eventforge.catalog.CatalogSnapshotService;
+import com.eventforge.constants.ImageType;
+import com.eventforge.dto.projection.EventListView;
+import com.eventforge.dto.projection.OrganisationImageView;
+import com.eventforge.dto.projection.OrganisationPriorityView;
 import com.eventforge.dto.response.CommonEventResponse;
 import com.eventforge.dto.response.OrganisationResponse;
 import com.eventforge.dto.response.OrganisationResponseForAdmin;
@@ -7,6 +12,7 @@ import com.eventforge.factory.ResponseFactory;
 import com.eventforge.model.*;
 import com.eventforge.repository.EventRepository;
 import com.eventforge.repository.ImageRepository;
+import com.eventforge.repository.OrganisationRepository;
 import com.eventforge.service.Utils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,10 +25,13 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +44,10 @@ class ResponseFactoryTest {
 
     @Mock
     private EventRepository eventRepository;
+    @Mock
+    private OrganisationRepository organisationRepository;
+    @Mock
+    private ObjectProvider<CatalogSnapshotService> catalogSnapshotService;
     @InjectMocks
     private ResponseFactory responseFactory;
 
@@ -109,4 +122,41 @@ class ResponseFactoryTest {
 
 
     }
+
+    @Test
+    void testBuildOrganisationResponses_shouldLoadThePageOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        Organisation first = Organisation.builder().id(1L).name("first").user(User.builder().username("first@mail.bg").build()).build();
+        Organisation second = Organisation.builder().id(2L).name("second").user(User.builder().username("second@mail.bg").build()).build();
+        List<Long> orgIds = List.of(1L, 2L);
+        when(imageRepository.findOrganisationImageViews(orgIds)).thenReturn(List.of(
+                new OrganisationImageView(1L, ImageType.LOGO, "logo-1"),
+                new OrganisationImageView(1L, ImageType.COVER, "cover-1"),
+                new OrganisationImageView(2L, ImageType.LOGO, "logo-2")));
+        when(organisationRepository.findOrganisationPriorityViews(orgIds)).thenReturn(List.of(
+                new OrganisationPriorityView(2L, "Спорт")));
+        when(eventRepository.findOrganisationEventViews(orgIds)).thenReturn(List.of(
+                eventView(10L, 1L, now.minusDays(3), now.minusDays(2)),
+                eventView(11L, 1L, now.minusHours(1), now.plusHours(1)),
+                eventView(12L, 1L, now.plusDays(1), now.plusDays(2)),
+                eventView(13L, 2L, now.plusDays(2), now.plusDays(3))));
+
+        List<OrganisationResponse> responses = responseFactory.buildOrganisationResponses(List.of(first, second));
+
+        assertEquals(2, responses.size());
+        assertEquals("logo-1", responses.get(0).getLogo());
+        assertEquals("cover-1", responses.get(0).getBackground());
+        assertEquals(10L, responses.get(0).getExpiredEvents().get(0).getId());
+        assertEquals(11L, responses.get(0).getActiveEvents().get(0).getId());
+        assertEquals(12L, responses.get(0).getUpcomingEvents().get(0).getId());
+        assertEquals(Set.of("Спорт"), responses.get(1).getOrganisationPriorities());
+        assertTrue(responses.get(1).getExpiredEvents().isEmpty());
+        assertEquals(13L, responses.get(1).getUpcomingEvents().get(0).getId());
+        verify(eventRepository, times(1)).findOrganisationEventViews(orgIds);
+    }
+
+    private EventListView eventView(Long id, Long orgId, LocalDateTime startsAt, LocalDateTime endsAt) {
+        return new EventListView(id, orgId, null, null, "event", "organisation", false, null, null, null, null, 0,
+                null, null, startsAt, endsAt, true, null);
+    }
 }
@@ -0,0 +1,92 @@
+package com.eventforge.service.featured;
+
+import com.eventforge.domain.AccountChangedEvent;
+import com.eventforge.dto.projection.OrganisationActivityView;
+import com.eventforge.featured.FeaturedOrganisationSampler;
+import com.eventforge.repository.EventRepository;
+import com.eventforge.repository.OrganisationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeaturedOrganisationSamplerTest {
+    @Mock
+    private OrganisationRepository organisationRepository;
+    @Mock
+    private EventRepository eventRepository;
+
+    @Test
+    void sample_shouldBeEmptyUntilThePoolIsLoaded() {
+        FeaturedOrganisationSampler sampler = new FeaturedOrganisationSampler(organisationRepository, eventRepository, false, 30);
+
+        assertEquals(Optional.empty(), sampler.sample(3));
+    }
+
+    @Test
+    void sample_shouldDrawDistinctEligibleIds() {
+        List<Long> eligible = LongStream.rangeClosed(1, 20).boxed().toList();
+        when(organisationRepository.findFeaturableOrganisationIds()).thenReturn(eligible);
+        FeaturedOrganisationSampler sampler = new FeaturedOrganisationSampler(organisationRepository, eventRepository, false, 30);
+        sampler.refresh();
+
+        for (int i = 0; i < 200; i++) {
+            List<Long> sample = sampler.sample(3).orElseThrow();
+            assertEquals(3, sample.size());
+            assertEquals(3, new HashSet<>(sample).size());
+            assertTrue(eligible.containsAll(sample));
+        }
+    }
+
+    @Test
+    void sample_shouldReturnTheWholePoolWhenItIsSmall() {
+        when(organisationRepository.findFeaturableOrganisationIds()).thenReturn(List.of(4L, 9L));
+        FeaturedOrganisationSampler sampler = new FeaturedOrganisationSampler(organisationRepository, eventRepository, false, 30);
+        sampler.refresh();
+
+        assertEquals(new HashSet<>(List.of(4L, 9L)), new HashSet<>(sampler.sample(3).orElseThrow()));
+    }
+
+    @Test
+    void onAccountChanged_shouldReloadThePoolExceptForProfileEdits() {
+        when(organisationRepository.findFeaturableOrganisationIds()).thenReturn(List.of(1L, 2L), List.of(1L));
+        FeaturedOrganisationSampler sampler = new FeaturedOrganisationSampler(organisationRepository, eventRepository, false, 30);
+        sampler.refresh();
+
+        sampler.onAccountChanged(new AccountChangedEvent(5L, "org@mail.bg", AccountChangedEvent.ChangeType.PROFILE_UPDATED));
+        assertEquals(2, sampler.size());
+
+        sampler.onAccountChanged(new AccountChangedEvent(5L, "org@mail.bg", AccountChangedEvent.ChangeType.LOCKED));
+        assertEquals(List.of(1L), sampler.sample(3).orElseThrow());
+        verify(eventRepository, never()).countEventsCreatedSince(any());
+    }
+
+    @Test
+    void sample_shouldFavourActiveOrganisationsWhenWeighted() {
+        when(organisationRepository.findFeaturableOrganisationIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        when(eventRepository.countEventsCreatedSince(any())).thenReturn(List.of(new OrganisationActivityView(6L, 99L)));
+        FeaturedOrganisationSampler sampler = new FeaturedOrganisationSampler(organisationRepository, eventRepository, true, 30);
+        sampler.refresh();
+
+        Map<Long, Integer> hits = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            List<Long> sample = sampler.sample(3).orElseThrow();
+            assertEquals(3, new HashSet<>(sample).size());
+            sample.forEach(id -> hits.merge(id, 1, Integer::sum));
+        }
+        // weight 100 against 1 , the active organisation is in practically every sample
+        assertTrue(hits.get(6L) > 490);
+    }
+}
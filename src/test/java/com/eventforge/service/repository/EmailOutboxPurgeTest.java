@@ -0,0 +1,69 @@
+package com.eventforge.service.repository;
+
+import com.eventforge.constants.OutboxEmailStatus;
+import com.eventforge.model.OutboxEmail;
+import com.eventforge.repository.OutboxEmailRepository;
+import com.eventforge.repository.TokenRepository;
+import com.eventforge.repository.UserRepository;
+import com.eventforge.scheduler.Scheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("jpa-test")
+class EmailOutboxPurgeTest {
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+    @Autowired
+    private TokenRepository tokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void emailOutboxPurge_shouldRemoveFinishedEmailsPastTheRetentionInChunks() {
+        for (int i = 0; i < 3; i++) {
+            email("sent-" + i + "@mail.bg", OutboxEmailStatus.SENT, now.minusDays(40));
+        }
+        email("failed@mail.bg", OutboxEmailStatus.FAILED, now.minusDays(40));
+        email("recent@mail.bg", OutboxEmailStatus.SENT, now.minusDays(1));
+        // a pending email is kept whatever its age
+        email("pending@mail.bg", OutboxEmailStatus.PENDING, now.minusDays(40));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // a chunk of two needs three rounds for the four old rows
+        new Scheduler(userRepository, tokenRepository, outboxEmailRepository, 2, 7, 30).emailOutboxPurge();
+
+        List<String> recipients = outboxEmailRepository.findAll().stream().map(OutboxEmail::getRecipient).sorted().toList();
+        assertEquals(List.of("pending@mail.bg", "recent@mail.bg"), recipients);
+    }
+
+    @Test
+    void deleteFinishedBefore_shouldStopAtTheLimit() {
+        email("sent-1@mail.bg", OutboxEmailStatus.SENT, now.minusDays(40));
+        email("sent-2@mail.bg", OutboxEmailStatus.SENT, now.minusDays(35));
+        email("failed@mail.bg", OutboxEmailStatus.FAILED, now.minusDays(31));
+        testEntityManager.flush();
+
+        assertEquals(2, outboxEmailRepository.deleteFinishedBefore(now.minusDays(30), 2));
+        assertEquals(1, outboxEmailRepository.deleteFinishedBefore(now.minusDays(30), 2));
+    }
+
+    private void email(String recipient, OutboxEmailStatus status, LocalDateTime nextAttemptAt) {
+        OutboxEmail email = new OutboxEmail(recipient, "Въпрос", "<p>Отговор</p>", nextAttemptAt);
+        email.setStatus(status);
+        testEntityManager.persist(email);
+    }
+}
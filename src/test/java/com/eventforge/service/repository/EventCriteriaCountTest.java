@@ -0,0 +1,121 @@
+package com.eventforge.service.repository;
+
+import com.eventforge.catalog.CatalogSnapshotService;
+import com.eventforge.catalog.UpcomingEventHeap;
+import com.eventforge.dto.projection.EventListView;
+import com.eventforge.dto.request.CriteriaFilterRequest;
+import com.eventforge.dto.request.PageRequestDto;
+import com.eventforge.model.Event;
+import com.eventforge.model.Organisation;
+import com.eventforge.model.User;
+import com.eventforge.repository.EventRepository;
+import com.eventforge.search.EventSearchIndex;
+import com.eventforge.service.EventService;
+import com.eventforge.service.KeysetPaginationService;
+import com.eventforge.service.Utils;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// countEventsByCriteria runs a real COUNT , or a probe bounded by eventforge.filter.count-cap.
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:eventforge-count;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@ActiveProfiles("jpa-test")
+class EventCriteriaCountTest {
+    private static final int EVENTS = 7;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final CriteriaFilterRequest request = new CriteriaFilterRequest();
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User user = testEntityManager.persist(User.builder()
+                .username("org@eventforge.bg")
+                .isEnabled(true)
+                .isNonLocked(true)
+                .isApprovedByAdmin(true)
+                .build());
+        Organisation organisation = testEntityManager.persist(Organisation.builder().name("Организация").user(user).build());
+        for (int i = 0; i < EVENTS; i++) {
+            testEntityManager.persist(Event.builder()
+                    .name("Събитие " + i)
+                    .organisation(organisation)
+                    .isOneTime(true)
+                    .isOnline(false)
+                    .startsAt(now.plusDays(i + 1))
+                    .endsAt(now.plusDays(i + 2))
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        request.setIsOneTime(true);
+    }
+
+    @Test
+    void countEventsByCriteria_shouldCountEveryMatchWithoutACap() {
+        assertEquals(EVENTS, eventService(0).countEventsByCriteria(request));
+    }
+
+    @Test
+    void countEventsByCriteria_shouldCountExactlyBelowTheCap() {
+        assertEquals(EVENTS, eventService(EVENTS + 3).countEventsByCriteria(request));
+    }
+
+    @Test
+    void countEventsByCriteria_shouldStopAtTheCap() {
+        assertEquals(5, eventService(5).countEventsByCriteria(request));
+    }
+
+    @Test
+    void filterEventsByCriteria_shouldReportTheCappedTotal() {
+        Page<EventListView> page = eventService(5).filterEventsByCriteria(request, pageRequest(0, 2, true));
+
+        assertEquals(2, page.getNumberOfElements());
+        assertEquals(5, page.getTotalElements());
+    }
+
+    @Test
+    void filterEventsByCriteria_withoutTotal_shouldOnlyTellWhetherThereIsANextPage() {
+        Page<EventListView> first = eventService(0).filterEventsByCriteria(request, pageRequest(0, 3, false));
+        Page<EventListView> last = eventService(0).filterEventsByCriteria(request, pageRequest(2, 3, false));
+
+        assertEquals(3, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(1, last.getNumberOfElements());
+        assertEquals(EVENTS, last.getTotalElements());
+        assertTrue(!last.hasNext());
+    }
+
+    private static PageRequestDto pageRequest(int page, int size, boolean withTotal) {
+        PageRequestDto pageRequest = new PageRequestDto(page, size, Sort.Direction.ASC, "name");
+        pageRequest.setWithTotal(withTotal);
+        return pageRequest;
+    }
+
+    private EventService eventService(int countCap) {
+        EventService eventService = new EventService(eventRepository, entityManager, null, null,
+                new KeysetPaginationService(entityManager), mock(EventSearchIndex.class), null, mock(Utils.class),
+                mock(CatalogSnapshotService.class), mock(UpcomingEventHeap.class));
+        ReflectionTestUtils.setField(eventService, "filterCountCap", countCap);
+        return eventService;
+    }
+}
@@ -0,0 +1,179 @@
+package com.eventforge.service.repository;
+
+import com.eventforge.catalog.CatalogSnapshotService;
+import com.eventforge.catalog.UpcomingEventHeap;
+import com.eventforge.constants.ImageType;
+import com.eventforge.dto.projection.EventListView;
+import com.eventforge.dto.request.CriteriaFilterRequest;
+import com.eventforge.dto.request.PageRequestDto;
+import com.eventforge.dto.response.CommonEventResponse;
+import com.eventforge.dto.response.OrganisationResponse;
+import com.eventforge.factory.ResponseFactory;
+import com.eventforge.model.Event;
+import com.eventforge.model.Image;
+import com.eventforge.model.Organisation;
+import com.eventforge.model.User;
+import com.eventforge.repository.EventRepository;
+import com.eventforge.repository.ImageRepository;
+import com.eventforge.repository.OrganisationRepository;
+import com.eventforge.search.EventSearchIndex;
+import com.eventforge.service.EventService;
+import com.eventforge.service.KeysetPaginationService;
+import com.eventforge.service.Utils;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+// A page of events has to load in a constant number of statements , however many organisations it spans.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("jpa-test")
+class EventRepositoryFetchPlanTest {
+    private static final int EVENTS = 10;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private ImageRepository imageRepository;
+    @Autowired
+    private OrganisationRepository organisationRepository;
+
+    private ResponseFactory responseFactory;
+    private Statistics statistics;
+    private Organisation firstOrganisation;
+    private final List<Organisation> organisations = new ArrayList<>();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        responseFactory = new ResponseFactory(mock(Utils.class), imageRepository, eventRepository, organisationRepository,
+                mock(ObjectProvider.class));
+        for (int i = 0; i < EVENTS; i++) {
+            Organisation organisation = organisation(i);
+            organisations.add(organisation);
+            if (i == 0) {
+                firstOrganisation = organisation;
+            }
+            Event event = testEntityManager.persist(Event.builder()
+                    .name("Събитие " + i)
+                    .organisation(organisation)
+                    .isOneTime(true)
+                    .isOnline(false)
+                    .startsAt(now.plusDays(i + 1))
+                    .endsAt(now.plusDays(i + 2))
+                    .build());
+            testEntityManager.persist(Image.builder().url("image-" + i).type(ImageType.EVENT_PICTURE).event(event).build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pagedListing_shouldLoadThePageAndTheCountOnly() {
+        Page<EventListView> page = eventRepository.findActiveOneTimeEventViews(now, PageRequest.of(0, EVENTS, Sort.by("name")));
+        List<CommonEventResponse> responses = page.map(responseFactory::buildCommonEventResponse).getContent();
+
+        assertEquals(EVENTS, responses.size());
+        assertEquals(EVENTS, page.getTotalElements());
+        assertEquals("image-0", responses.get(0).getImageUrl());
+        assertEquals("Организация 0", responses.get(0).getOrganisationName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        // projections are never managed , nothing to dirty check at flush
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void listQueries_shouldLoadInOneStatement() {
+        List<CommonEventResponse> upcoming = eventRepository.findThreeUpcomingEvents(now).stream()
+                .map(responseFactory::buildCommonEventResponse)
+                .toList();
+        assertEquals(3, upcoming.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        eventRepository.findAllUpcomingEvents(firstOrganisation.getId(), now).forEach(responseFactory::buildCommonEventResponse);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void filterEventsByCriteria_shouldLoadThePageAndTheCountOnly() {
+        EventService eventService = eventService();
+        CriteriaFilterRequest request = new CriteriaFilterRequest();
+        request.setIsOneTime(true);
+
+        Page<EventListView> page = eventService.filterEventsByCriteria(request, new PageRequestDto(0, EVENTS, Sort.Direction.ASC, "name"));
+        page.forEach(responseFactory::buildCommonEventResponse);
+
+        assertEquals(EVENTS, page.getNumberOfElements());
+        assertEquals("image-0", page.getContent().get(0).imageUrl());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void scrollEventsByCriteria_shouldLoadInOneStatement() {
+        EventService eventService = eventService();
+        CriteriaFilterRequest request = new CriteriaFilterRequest();
+        request.setIsOneTime(true);
+
+        eventService.scrollEventsByCriteria(request, new PageRequestDto(0, 5, Sort.Direction.ASC, "name"), null)
+                .map(responseFactory::buildCommonEventResponse);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void organisationPage_shouldLoadInAFixedNumberOfStatements() {
+        List<OrganisationResponse> responses = responseFactory.buildOrganisationResponses(organisations);
+
+        assertEquals(EVENTS, responses.size());
+        assertEquals("logo-0", responses.get(0).getLogo());
+        assertEquals("cover-0", responses.get(0).getBackground());
+        assertEquals(1, responses.get(0).getUpcomingEvents().size());
+        // images , priorities and events , one statement each
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private EventService eventService() {
+        return new EventService(eventRepository, entityManager, responseFactory, null,
+                new KeysetPaginationService(entityManager), mock(EventSearchIndex.class), null, mock(Utils.class),
+                mock(CatalogSnapshotService.class), mock(UpcomingEventHeap.class));
+    }
+
+    private Organisation organisation(int index) {
+        User user = testEntityManager.persist(User.builder()
+                .username("org" + index + "@eventforge.bg")
+                .isEnabled(true)
+                .isNonLocked(true)
+                .isApprovedByAdmin(true)
+                .build());
+        Organisation organisation = testEntityManager.persist(Organisation.builder().name("Организация " + index).user(user).build());
+        testEntityManager.persist(Image.builder().url("logo-" + index).type(ImageType.LOGO).organisation(organisation).build());
+        testEntityManager.persist(Image.builder().url("cover-" + index).type(ImageType.COVER).organisation(organisation).build());
+        return organisation;
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventforge.service.repository;
+
+import com.eventforge.dto.request.PageRequestDto;
+import com.eventforge.dto.response.CursorPageResponse;
+import com.eventforge.model.Event;
+import com.eventforge.service.KeysetPaginationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Events without dates are listed , a page that ends on one of them still has to hand out a cursor.
+@DataJpaTest
+@ActiveProfiles("jpa-test")
+class KeysetPaginationNullKeyTest {
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final List<Long> dated = new ArrayList<>();
+    private final List<Long> undated = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            dated.add(event("Събитие " + i, now.plusDays(i + 1)));
+            undated.add(event("Без дата " + i, null));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void scroll_shouldPageThroughNullKeysFirstWhenAscending() {
+        List<Long> expected = new ArrayList<>(undated);
+        expected.addAll(dated);
+
+        assertEquals(expected, scrollAll(Sort.Direction.ASC));
+    }
+
+    @Test
+    void scroll_shouldPageThroughNullKeysLastWhenDescending() {
+        List<Long> expected = new ArrayList<>(dated);
+        Collections.reverse(expected);
+        List<Long> undatedDescending = new ArrayList<>(undated);
+        Collections.reverse(undatedDescending);
+        expected.addAll(undatedDescending);
+
+        assertEquals(expected, scrollAll(Sort.Direction.DESC));
+    }
+
+    // pages of two , so pages end on a null key , on the last null key and on a value
+    private List<Long> scrollAll(Sort.Direction direction) {
+        KeysetPaginationService keysetPaginationService = new KeysetPaginationService(entityManager);
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        do {
+            CursorPageResponse<Event> page = keysetPaginationService.scroll(Event.class, Specification.where(null),
+                    KeysetPaginationService.EVENT_KEY_COLUMNS, new PageRequestDto(0, 2, direction, "endsAt"), after);
+            page.getContent().forEach(event -> ids.add(event.getId()));
+            after = page.getNextCursor();
+        } while (after != null);
+        return ids;
+    }
+
+    private Long event(String name, LocalDateTime endsAt) {
+        return testEntityManager.persist(Event.builder()
+                .name(name)
+                .isOneTime(true)
+                .isOnline(false)
+                .startsAt(endsAt == null ? null : endsAt.minusHours(2))
+                .endsAt(endsAt)
+                .build()).getId();
+    }
+}
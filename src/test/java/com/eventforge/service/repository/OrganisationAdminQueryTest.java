@@ -0,0 +1,100 @@
+package com.eventforge.service.repository;
+
+import com.eventforge.constants.OrganisationStatus;
+import com.eventforge.model.Organisation;
+import com.eventforge.model.User;
+import com.eventforge.repository.OrganisationRepository;
+import com.eventforge.service.OrganisationExportService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("jpa-test")
+class OrganisationAdminQueryTest {
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private OrganisationRepository organisationRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        organisation("approved@eventforge.bg", true, true, true);
+        organisation("pending@eventforge.bg", true, true, false);
+        organisation("locked@eventforge.bg", true, false, true);
+        organisation("unverified@eventforge.bg", false, true, false);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void adminPage_shouldFilterByStatusAndLoadTheUsersWithThePage() {
+        OrganisationStatus pending = OrganisationStatus.PENDING_APPROVAL;
+        Page<Organisation> page = organisationRepository.findAllOrganisationsForAdmin(pending.getApprovedByAdmin(), pending.getNonLocked(),
+                pending.getEnabled(), PageRequest.of(0, 10, Sort.by("name")));
+
+        assertEquals(List.of("pending@eventforge.bg", "unverified@eventforge.bg"),
+                page.getContent().stream().map(organisation -> organisation.getUser().getUsername()).toList());
+        assertEquals(2, page.getTotalElements());
+        // the users come with the page , the count is skipped because the page is not full
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void adminPage_shouldListEveryOrganisationWithoutAStatus() {
+        Page<Organisation> page = organisationRepository.findAllOrganisationsForAdmin(null, null, null, PageRequest.of(0, 3, Sort.by("name")));
+
+        assertEquals(3, page.getNumberOfElements());
+        assertEquals(4, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void export_shouldWriteOneCsvRowPerOrganisation() {
+        StringWriter csv = new StringWriter();
+
+        long rows = new OrganisationExportService(entityManager, 100).writeCsv(OrganisationStatus.LOCKED, csv);
+
+        String[] lines = csv.toString().split("\n");
+        assertEquals(1, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("userId,orgId,orgName"));
+        assertTrue(lines[1].contains("\"locked@eventforge.bg\""));
+        assertTrue(lines[1].contains("\"'=SUM(A1)\""));
+        assertTrue(lines[1].contains(",\"+359 88 123 4567\","));
+    }
+
+    private void organisation(String email, boolean enabled, boolean nonLocked, boolean approved) {
+        User user = testEntityManager.persist(User.builder()
+                .username(email)
+                .fullName("=SUM(A1)")
+                .phoneNumber("+359 88 123 4567")
+                .isEnabled(enabled)
+                .isNonLocked(nonLocked)
+                .isApprovedByAdmin(approved)
+                .build());
+        testEntityManager.persist(Organisation.builder().name(email).user(user).build());
+    }
+}
@@ -0,0 +1,85 @@
+package com.eventforge.service.repository;
+
+import com.eventforge.model.Token;
+import com.eventforge.model.User;
+import com.eventforge.repository.OutboxEmailRepository;
+import com.eventforge.repository.TokenRepository;
+import com.eventforge.repository.UserRepository;
+import com.eventforge.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("jpa-test")
+class TokenExpirySweepTest {
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private TokenRepository tokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = testEntityManager.persist(User.builder().username("org@mail.bg").build());
+    }
+
+    @Test
+    void tokenExpirationTimeInspection_shouldExpireInChunksAndPurgeOldRows() {
+        for (int i = 0; i < 5; i++) {
+            token("expired-" + i, now.minusHours(1), false);
+        }
+        token("valid", now.plusHours(1), false);
+        token("old", now.minusDays(30), true);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // a chunk of two needs three rounds for the five expired tokens
+        new Scheduler(userRepository, tokenRepository, outboxEmailRepository, 2, 7, 30).tokenExpirationTimeInspection();
+
+        List<Token> tokens = tokenRepository.findAll();
+        assertEquals(6, tokens.size());
+        assertFalse(tokenRepository.findByTokenValue("old").isPresent());
+        assertTrue(tokens.stream().filter(token -> token.getTokenValue().startsWith("expired-"))
+                .allMatch(token -> token.isExpired() && token.isRevoked()));
+        Token valid = tokenRepository.findByTokenValue("valid").orElseThrow();
+        assertFalse(valid.isExpired() || valid.isRevoked());
+    }
+
+    @Test
+    void deleteTokensExpiredBefore_shouldStopAtTheLimit() {
+        token("old-1", now.minusDays(30), true);
+        token("old-2", now.minusDays(20), true);
+        token("old-3", now.minusDays(10), true);
+        testEntityManager.flush();
+
+        assertEquals(2, tokenRepository.deleteTokensExpiredBefore(now.minusDays(7), 2));
+        assertEquals(1, tokenRepository.deleteTokensExpiredBefore(now.minusDays(7), 2));
+    }
+
+    private void token(String value, LocalDateTime expiresAt, boolean expired) {
+        testEntityManager.persist(Token.builder()
+                .tokenValue(value)
+                .expiresAt(expiresAt)
+                .expired(expired)
+                .revoked(expired)
+                .user(user)
+                .build());
+    }
+}
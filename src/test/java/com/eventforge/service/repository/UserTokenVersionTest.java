@@ -0,0 +1,42 @@
+package com.eventforge.service.repository;
+
+import com.eventforge.model.User;
+import com.eventforge.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("jpa-test")
+class UserTokenVersionTest {
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void incrementTokenVersion_shouldBumpOnlyTheGivenUser() {
+        User user = testEntityManager.persist(User.builder().username("org@mail.bg").build());
+        testEntityManager.persist(User.builder().username("other@mail.bg").build());
+        testEntityManager.flush();
+
+        assertEquals(1, userRepository.incrementTokenVersion("org@mail.bg"));
+        userRepository.incrementTokenVersion("org@mail.bg");
+
+        assertEquals(Optional.of(2L), userRepository.findTokenVersion("org@mail.bg"));
+        // ddl-auto leaves the column without the migration default , both count as version 0
+        assertEquals(0L, userRepository.findTokenVersion("other@mail.bg").orElse(0L));
+
+        // a stale entity is saved without writing its old version back
+        user.setFullName("Organisation");
+        testEntityManager.flush();
+        testEntityManager.clear();
+        assertEquals(2L, testEntityManager.find(User.class, user.getId()).getTokenVersion());
+    }
+}
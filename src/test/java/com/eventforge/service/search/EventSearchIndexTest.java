@@ -0,0 +1,127 @@
+package com.eventforge.service.search;
+
+import com.eventforge.search.EventSearchIndex;
+import com.eventforge.search.IndexedEvent;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSearchIndexTest {
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2023, 10, 5, 18, 30);
+
+    private EventSearchIndex eventSearchIndex;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        eventSearchIndex = new EventSearchIndex(new ByteBuffersDirectory(), 100);
+        eventSearchIndex.rebuild(List.of(
+                new IndexedEvent(1L, "Благотворителен концерт", "Музика за децата от Варна", "Варна, Морската градина", UPDATED_AT),
+                new IndexedEvent(2L, "Почистване на плажа", "Доброволци почистват плажа", "Варна, Аспарухово", UPDATED_AT),
+                new IndexedEvent(3L, "Концерти в парка", "Летни концерти на открито", "София", UPDATED_AT)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        eventSearchIndex.destroy();
+    }
+
+    @Test
+    void search_shouldMatchInflectedBulgarianForms() {
+        Optional<List<Long>> result = eventSearchIndex.search("концерти", null, null);
+
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().size());
+        assertTrue(result.get().containsAll(List.of(1L, 3L)));
+    }
+
+    @Test
+    void search_shouldRequireEveryCriterion() {
+        Optional<List<Long>> result = eventSearchIndex.search(null, "плажа", "Варна");
+
+        assertEquals(Optional.of(List.of(2L)), result);
+    }
+
+    @Test
+    void search_shouldMatchTermPrefix() {
+        Optional<List<Long>> result = eventSearchIndex.search("почист", null, null);
+
+        assertEquals(Optional.of(List.of(2L)), result);
+    }
+
+    @Test
+    void search_shouldNotRestrictWhenOnlyStopWordsAreGiven() {
+        assertTrue(eventSearchIndex.search("на", null, "  ").isEmpty());
+    }
+
+    @Test
+    void indexAndRemove_shouldBeVisibleToTheNextSearch() {
+        eventSearchIndex.index(4L, "Коледен базар", null, "Варна");
+        assertEquals(Optional.of(List.of(4L)), eventSearchIndex.search("базар", null, null));
+
+        eventSearchIndex.index(4L, "Великденски базар", null, "Варна");
+        assertEquals(Optional.of(List.of(4L)), eventSearchIndex.search("великденски", null, null));
+        assertEquals(Optional.of(List.of()), eventSearchIndex.search("коледен", null, null));
+
+        eventSearchIndex.remove(4L);
+        assertEquals(Optional.of(List.of()), eventSearchIndex.search("базар", null, null));
+        assertEquals(3, eventSearchIndex.size());
+    }
+
+    @Test
+    void search_shouldLeaveTextMatchingMoreThanMaxHitsToSql() throws IOException {
+        EventSearchIndex smallIndex = new EventSearchIndex(new ByteBuffersDirectory(), 5);
+        try {
+            smallIndex.rebuild(LongStream.rangeClosed(1, 12)
+                    .mapToObj(id -> new IndexedEvent(id, (id <= 5 ? "Фестивал " : "Концерт ") + id, null, "Варна", UPDATED_AT))
+                    .toList());
+
+            assertTrue(smallIndex.search("концерт", null, null).isEmpty());
+            Optional<List<Long>> atTheLimit = smallIndex.search("фестивал", null, null);
+            assertTrue(atTheLimit.isPresent());
+            assertEquals(5, atTheLimit.get().size());
+        } finally {
+            smallIndex.destroy();
+        }
+    }
+
+    @Test
+    void indexAll_shouldReplaceTheDocumentsAndMoveTheWatermark() {
+        assertEquals(Optional.of(UPDATED_AT), eventSearchIndex.indexedUntil());
+
+        eventSearchIndex.indexAll(List.of(new IndexedEvent(2L, "Почистване на гората", null, "Варна", UPDATED_AT.plusHours(1))));
+
+        assertEquals(Optional.of(UPDATED_AT.plusHours(1)), eventSearchIndex.indexedUntil());
+        assertEquals(Optional.of(List.of(2L)), eventSearchIndex.search("гората", null, null));
+        assertEquals(Optional.of(List.of()), eventSearchIndex.search("плажа", null, null));
+        assertEquals(3, eventSearchIndex.size());
+    }
+
+    @Test
+    void index_shouldNotDuplicateAnEventWhileARebuildRuns() throws Exception {
+        List<IndexedEvent> events = LongStream.rangeClosed(1, 200)
+                .mapToObj(id -> new IndexedEvent(id, "Концерт " + id, null, "Варна", UPDATED_AT))
+                .toList();
+        Thread updates = new Thread(() -> {
+            for (int i = 0; i < 200; i++) {
+                eventSearchIndex.index(200L, "Концерт 200", null, "Варна");
+            }
+        });
+        updates.start();
+        for (int i = 0; i < 10; i++) {
+            eventSearchIndex.rebuild(events);
+        }
+        updates.join();
+
+        assertEquals(200, eventSearchIndex.size());
+        assertEquals(Optional.of(List.of(200L)), eventSearchIndex.search("200", null, null));
+    }
+}
@@ -0,0 +1,78 @@
+package com.eventforge.service.search;
+
+import com.eventforge.repository.EventRepository;
+import com.eventforge.search.EventSearchIndex;
+import com.eventforge.search.EventSearchIndexer;
+import com.eventforge.search.IndexedEvent;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventSearchIndexerTest {
+    private static final LocalDateTime INDEXED_UNTIL = LocalDateTime.of(2023, 10, 5, 18, 30);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventSearchIndex eventSearchIndex;
+    private EventSearchIndexer eventSearchIndexer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        eventSearchIndex = new EventSearchIndex(new ByteBuffersDirectory(), 100);
+        eventSearchIndex.rebuild(List.of(
+                new IndexedEvent(1L, "Благотворителен концерт", null, "Варна", INDEXED_UNTIL),
+                new IndexedEvent(2L, "Почистване на плажа", null, "Варна", INDEXED_UNTIL.minusDays(1))));
+        eventSearchIndexer = new EventSearchIndexer(eventSearchIndex, eventRepository);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        eventSearchIndex.destroy();
+    }
+
+    @Test
+    void catchUp_shouldIndexEventsUpdatedElsewhereSinceTheWatermark() {
+        IndexedEvent edited = new IndexedEvent(2L, "Почистване на гората", null, "Варна", INDEXED_UNTIL.plusMinutes(1));
+        IndexedEvent added = new IndexedEvent(3L, "Концерт в гората", null, "Варна", INDEXED_UNTIL.plusMinutes(2));
+        // read from five minutes before the watermark , then after the last row of each batch
+        when(eventRepository.findIndexedEventsUpdatedAfter(eq(INDEXED_UNTIL.minusMinutes(5)), eq(0L), any()))
+                .thenReturn(List.of(edited, added));
+        when(eventRepository.findIndexedEventsUpdatedAfter(eq(added.updatedAt()), eq(3L), any())).thenReturn(List.of());
+
+        assertEquals(2, eventSearchIndexer.catchUp());
+
+        assertEquals(Set.of(2L, 3L), Set.copyOf(eventSearchIndex.search("гората", null, null).orElseThrow()));
+        assertEquals(Optional.of(List.of()), eventSearchIndex.search("плажа", null, null));
+        assertEquals(Optional.of(added.updatedAt()), eventSearchIndex.indexedUntil());
+    }
+
+    @Test
+    void catchUpOnStart_shouldRebuildWhenEventsWereDeletedMeanwhile() {
+        when(eventRepository.findIndexedEventsUpdatedAfter(any(), any(), any())).thenReturn(List.of());
+        when(eventRepository.count()).thenReturn(1L);
+        when(eventRepository.findIndexedEventsAfter(eq(0L), any())).thenReturn(List.of(new IndexedEvent(1L, "Благотворителен концерт", null, "Варна", INDEXED_UNTIL)));
+        when(eventRepository.findIndexedEventsAfter(eq(1L), any())).thenReturn(List.of());
+
+        eventSearchIndexer.catchUpOnStart();
+
+        assertEquals(1, eventSearchIndex.size());
+        assertEquals(Optional.of(List.of()), eventSearchIndex.search("плажа", null, null));
+    }
+}
@@ -0,0 +1,90 @@
+package com.eventforge.service.security;
+
+import com.eventforge.model.Organisation;
+import com.eventforge.model.User;
+import com.eventforge.repository.OrganisationRepository;
+import com.eventforge.repository.UserRepository;
+import com.eventforge.security.CurrentUser;
+import com.eventforge.security.CurrentUserArgumentResolver;
+import com.eventforge.security.MyUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserArgumentResolverTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private OrganisationRepository organisationRepository;
+    @InjectMocks
+    private CurrentUserArgumentResolver resolver;
+
+    private final User user = User.builder().id(3L).username("org@mail.bg").password("hash").role("ORGANISATION")
+            .isEnabled(true).isNonLocked(true).build();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolveArgument_shouldReferenceTheAuthenticatedUserById() throws NoSuchMethodException {
+        authenticate();
+        MethodParameter parameter = parameter("user", User.class);
+        when(userRepository.getReferenceById(3L)).thenReturn(user);
+
+        assertTrue(resolver.supportsParameter(parameter));
+        assertSame(user, resolver.resolveArgument(parameter, null, null, null));
+        verifyNoInteractions(organisationRepository);
+    }
+
+    @Test
+    void resolveArgument_shouldLoadTheOrganisationOfTheAuthenticatedUser() throws NoSuchMethodException {
+        authenticate();
+        Organisation organisation = Organisation.builder().id(9L).user(user).build();
+        when(organisationRepository.findOrganisationByUserId(3L)).thenReturn(organisation);
+
+        assertSame(organisation, resolver.resolveArgument(parameter("organisation", Organisation.class), null, null, null));
+    }
+
+    @Test
+    void resolveArgument_shouldRejectAnAnonymousRequest() throws NoSuchMethodException {
+        MethodParameter parameter = parameter("user", User.class);
+
+        assertThrows(UsernameNotFoundException.class, () -> resolver.resolveArgument(parameter, null, null, null));
+        assertFalse(resolver.supportsParameter(parameter("plain", User.class)));
+    }
+
+    private void authenticate() {
+        MyUserDetails userDetails = new MyUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    private MethodParameter parameter(String method, Class<?> type) throws NoSuchMethodException {
+        return new MethodParameter(Handlers.class.getDeclaredMethod(method, type), 0);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Handlers {
+        void user(@CurrentUser User user) {
+        }
+
+        void organisation(@CurrentUser Organisation organisation) {
+        }
+
+        void plain(User user) {
+        }
+    }
+}
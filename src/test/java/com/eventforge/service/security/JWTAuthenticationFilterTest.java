@@ -0,0 +1,87 @@
+package com.eventforge.service.security;
+
+import com.eventforge.repository.TokenRepository;
+import com.eventforge.security.MyUserDetailsService;
+import com.eventforge.security.PublicRouteClassifier;
+import com.eventforge.security.jwt.JWTAuthenticationContext;
+import com.eventforge.security.jwt.JWTAuthenticationFilter;
+import com.eventforge.security.jwt.JWTService;
+import io.jsonwebtoken.ExpiredJwtException;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JWTAuthenticationFilterTest {
+    @Mock
+    private JWTService jwtService;
+    @Mock
+    private MyUserDetailsService userDetailsService;
+    @Mock
+    private TokenRepository tokenRepository;
+    @Mock
+    private JWTAuthenticationContext jwtAuthenticationContext;
+    @Mock
+    private FilterChain filterChain;
+
+    private final PublicRouteClassifier publicRouteClassifier = new PublicRouteClassifier();
+    private JWTAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JWTAuthenticationFilter(jwtService, userDetailsService, tokenRepository, jwtAuthenticationContext,
+                publicRouteClassifier);
+    }
+
+    @Test
+    void isPublic_shouldMatchThePermitAllRoutesOnly() {
+        assertTrue(publicRouteClassifier.isPublic(request("GET", "/menu/events")));
+        assertTrue(publicRouteClassifier.isPublic(request("GET", "/unauthorized/event/details/5")));
+        assertTrue(publicRouteClassifier.isPublic(request("POST", "/filter-by-criteria")));
+        assertTrue(publicRouteClassifier.isPublic(request("POST", "/auth/authenticate")));
+        assertFalse(publicRouteClassifier.isPublic(request("POST", "/actuator/event-index")));
+        assertFalse(publicRouteClassifier.isPublic(request("GET", "/organisation/events")));
+        assertFalse(publicRouteClassifier.isPublic(request("GET", "/admin/organisations")));
+    }
+
+    @Test
+    void doFilter_shouldIgnoreAStaleHeaderOnAPublicRoute() throws Exception {
+        MockHttpServletRequest request = request("GET", "/unauthorized/scroll");
+        request.addHeader("Authorization", "Bearer stale");
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(eq(request), any());
+        verifyNoInteractions(jwtService, userDetailsService, tokenRepository);
+    }
+
+    @Test
+    void doFilter_shouldNotWriteForAnExpiredToken() throws Exception {
+        MockHttpServletRequest request = request("GET", "/organisation/events");
+        request.addHeader("Authorization", "Bearer expired");
+        when(jwtService.parseClaims("expired")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(eq(request), any());
+        verifyNoInteractions(userDetailsService, tokenRepository);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package com.eventforge.service.security;
+
+import com.eventforge.exception.TooManyLoginAttemptsException;
+import com.eventforge.security.LoginAttemptThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginAttemptThrottleTest {
+    private SimpleMeterRegistry meterRegistry;
+    private LoginAttemptThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new LoginAttemptThrottle(meterRegistry, 3, 5, 900, 1000);
+    }
+
+    @Test
+    void checkAllowed_shouldRefuseAUsernameAfterItsLimit() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed("Org@mail.bg", "10.0.0." + i);
+            throttle.recordFailure("Org@mail.bg", "10.0.0." + i);
+        }
+
+        TooManyLoginAttemptsException exception = assertThrows(TooManyLoginAttemptsException.class,
+                () -> throttle.checkAllowed("org@mail.bg", "10.0.0.9"));
+        assertEquals(900, exception.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> throttle.checkAllowed("other@mail.bg", "10.0.0.9"));
+        assertEquals(1.0, meterRegistry.get("eventforge.login.throttled").counter().count());
+    }
+
+    @Test
+    void checkAllowed_shouldRefuseAnIpTryingManyUsernames() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i + "@mail.bg", "10.0.0.1");
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.checkAllowed("new@mail.bg", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("new@mail.bg", "10.0.0.2"));
+    }
+
+    @Test
+    void recordSuccess_shouldClearTheUsername() {
+        throttle.recordFailure("org@mail.bg", "10.0.0.1");
+        throttle.recordFailure("org@mail.bg", "10.0.0.1");
+        throttle.recordSuccess("org@mail.bg");
+        throttle.recordFailure("org@mail.bg", "10.0.0.1");
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("org@mail.bg", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.eventforge.service.security;
+
+import com.eventforge.domain.AccountChangedEvent;
+import com.eventforge.model.User;
+import com.eventforge.repository.UserRepository;
+import com.eventforge.security.MyUserDetails;
+import com.eventforge.security.MyUserDetailsService;
+import com.eventforge.security.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MyUserDetailsServiceTest {
+    private static final String USERNAME = "org@mail.bg";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserDetailsCache userDetailsCache;
+    private MyUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(meterRegistry, 100, 300);
+        userDetailsService = new MyUserDetailsService(userRepository, userDetailsCache);
+    }
+
+    @Test
+    void loadUserByUsername_shouldQueryTheUserOnce() {
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user(true)));
+
+        MyUserDetails first = (MyUserDetails) userDetailsService.loadUserByUsername(USERNAME);
+        MyUserDetails second = (MyUserDetails) userDetailsService.loadUserByUsername(USERNAME);
+
+        assertEquals(7L, second.getUserId());
+        assertTrue(first.isAccountNonLocked());
+        verify(userRepository, times(1)).findByUsername(USERNAME);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void onAccountChanged_shouldReloadTheUser() {
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user(true)), Optional.of(user(false)));
+        userDetailsService.loadUserByUsername(USERNAME);
+
+        userDetailsCache.onAccountChanged(new AccountChangedEvent(7L, USERNAME, AccountChangedEvent.ChangeType.LOCKED));
+
+        assertFalse(userDetailsService.loadUserByUsername(USERNAME).isAccountNonLocked());
+        verify(userRepository, times(2)).findByUsername(USERNAME);
+    }
+
+    @Test
+    void loadUserByUsername_shouldNotCacheAnUnknownUser() {
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.empty(), Optional.of(user(true)));
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(USERNAME));
+        assertEquals(USERNAME, userDetailsService.loadUserByUsername(USERNAME).getUsername());
+    }
+
+    private User user(boolean nonLocked) {
+        return User.builder().id(7L).username(USERNAME).password("hash").role("ORGANISATION")
+                .isEnabled(true).isNonLocked(nonLocked).isApprovedByAdmin(true).build();
+    }
+}
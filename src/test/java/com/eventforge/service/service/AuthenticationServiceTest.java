@@ -4,6 +4,7 @@ import com.eventforge.dto.request.JWTAuthenticationRequest;
 import com.eventforge.dto.request.RegistrationRequest;
 import com.eventforge.dto.response.AuthenticationResponse;
 import com.eventforge.exception.InvalidCredentialsException;
+import com.eventforge.exception.TooManyLoginAttemptsException;
 import com.eventforge.exception.UserDisabledException;
 import com.eventforge.exception.UserLockedException;
 import com.eventforge.factory.EntityFactory;
@@ -11,10 +12,14 @@ import com.eventforge.model.Event;
 import com.eventforge.model.Token;
 import com.eventforge.model.User;
 import com.eventforge.repository.TokenRepository;
+import com.eventforge.security.LoginAttemptThrottle;
 import com.eventforge.security.MyUserDetails;
+import com.eventforge.security.TokenRevocationService;
 import com.eventforge.security.jwt.JWTService;
 import com.eventforge.service.AuthenticationService;
 import com.eventforge.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -29,8 +34,6 @@ import org.springframework.security.authentication.*;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -52,6 +55,10 @@ class AuthenticationServiceTest {
     @Mock
     private JWTService jwtService;
     @Mock
+    private TokenRevocationService tokenRevocationService;
+    @Mock
+    private LoginAttemptThrottle loginAttemptThrottle;
+    @Mock
     private HttpServletResponse response;
 
     @Mock
@@ -60,16 +67,19 @@ class AuthenticationServiceTest {
 
     @BeforeEach
     void setUp() {
-        authenticationService = new AuthenticationService(authenticationManager, userService, entityFactory, tokenRepository, jwtService);
+        authenticationService = new AuthenticationService(authenticationManager, userService, entityFactory, tokenRepository, jwtService,
+                tokenRevocationService, loginAttemptThrottle);
     }
 
     @Test
     void testRevokeAllUserTokens_NoValidTokens() {
         User user = new User();
 
+        user.setUsername("org@mail.bg");
         when(tokenRepository.findAllValidTokenByUser(user.getId())).thenReturn(new ArrayList<>());
+        when(tokenRevocationService.revokeAllTokens("org@mail.bg")).thenReturn(4L);
 
-        authenticationService.revokeAllUserTokens(user);
+        assertEquals(4L, authenticationService.revokeAllUserTokens(user));
 
         verify(tokenRepository).findAllValidTokenByUser(user.getId());
         verifyNoMoreInteractions(tokenRepository);
@@ -105,19 +115,6 @@ class AuthenticationServiceTest {
         assertThat(actualUser).isEqualTo(expectedUser);
     }
 
-    @Test
-    void testSaveUserToken() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        User user = new User();
-        String jwtToken = "jwtToken";
-
-        Method saveUserTokenMethod = AuthenticationService.class.getDeclaredMethod("saveUserToken", User.class, String.class);
-        saveUserTokenMethod.setAccessible(true);
-
-        saveUserTokenMethod.invoke(authenticationService, user, jwtToken);
-
-        verify(tokenRepository).save(org.mockito.ArgumentMatchers.any(Token.class));
-    }
-
     @Test
     void testAuthenticate_InvalidCredentials() {
         JWTAuthenticationRequest request = new JWTAuthenticationRequest("username", "password");
@@ -125,11 +122,23 @@ class AuthenticationServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new BadCredentialsException("Invalid credentials"));
 
-        assertThrows(InvalidCredentialsException.class, () -> authenticationService.authenticate(request));
+        assertThrows(InvalidCredentialsException.class, () -> authenticationService.authenticate(request, "127.0.0.1"));
 
         verify(authenticationManager).authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUserName(), request.getPassword())
         );
+        verify(loginAttemptThrottle).recordFailure("username", "127.0.0.1");
+    }
+
+    @Test
+    void testAuthenticate_Throttled() {
+        JWTAuthenticationRequest request = new JWTAuthenticationRequest("username", "password");
+        doThrow(new TooManyLoginAttemptsException(900)).when(loginAttemptThrottle).checkAllowed("username", "127.0.0.1");
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> authenticationService.authenticate(request, "127.0.0.1"));
+
+        // no password check for a throttled attempt
+        verifyNoInteractions(authenticationManager);
     }
 
     @Test
@@ -140,7 +149,7 @@ class AuthenticationServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new DisabledException("User is disabled"));
 
-        assertThrows(UserDisabledException.class, () -> authenticationService.authenticate(request));
+        assertThrows(UserDisabledException.class, () -> authenticationService.authenticate(request, "127.0.0.1"));
 
         verify(authenticationManager).authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUserName(), request.getPassword())
@@ -154,7 +163,7 @@ class AuthenticationServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new LockedException("User is locked"));
 
-        assertThrows(UserLockedException.class, () -> authenticationService.authenticate(request));
+        assertThrows(UserLockedException.class, () -> authenticationService.authenticate(request, "127.0.0.1"));
 
         verify(authenticationManager).authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUserName(), request.getPassword())
@@ -170,18 +179,60 @@ class AuthenticationServiceTest {
         String tokenValue = "token";
 
         when(userService.getUserByEmail(request.getUserName())).thenReturn(user);
-        when(jwtService.getGeneratedToken(user.getUsername())).thenReturn(tokenValue);
-        when(jwtService.generateRefreshToken(user.getUsername())).thenReturn(tokenValue);
+        when(user.getTokenVersion()).thenReturn(2L);
+        when(jwtService.getGeneratedToken(user.getUsername(), 2L)).thenReturn(tokenValue);
+        when(jwtService.generateRefreshToken(user.getUsername(), 2L)).thenReturn(tokenValue);
         when(user.getRole()).thenReturn("test"); // Mocking the getRole() method to return "test"
 
-        AuthenticationResponse authenticationResponse = authenticationService.authenticate(request);
+        AuthenticationResponse authenticationResponse = authenticationService.authenticate(request, "127.0.0.1");
 
+        // revocation goes through the token version , login stores no token row
+        verifyNoInteractions(tokenRepository);
         assertEquals(tokenValue, authenticationResponse.getAccessToken());
         assertEquals(tokenValue, authenticationResponse.getRefreshToken());
         assertEquals("test", authenticationResponse.getUserRole());
     }
 
 
+    @Test
+    void testRefreshToken_CurrentVersion() throws IOException {
+        User user = User.builder().username("org@mail.bg").role("ORGANISATION").build();
+        Claims claims = Jwts.claims().setSubject("org@mail.bg");
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer refresh");
+        when(jwtService.parseClaims("refresh")).thenReturn(claims);
+        when(userService.getUserByEmail("org@mail.bg")).thenReturn(user);
+        when(jwtService.validateToken(eq(claims), any(MyUserDetails.class))).thenReturn(true);
+        when(jwtService.extractTokenVersion(claims)).thenReturn(4L);
+        when(tokenRevocationService.currentTokenVersion("org@mail.bg")).thenReturn(4L);
+        when(tokenRevocationService.revokeAllTokens("org@mail.bg")).thenReturn(5L);
+        when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+
+        authenticationService.refreshToken(request, response);
+
+        // the presented refresh token is spent , both tokens of the answer carry the new version
+        verify(jwtService).getGeneratedToken("org@mail.bg", 5L);
+        verify(jwtService).generateRefreshToken("org@mail.bg", 5L);
+        verify(response).getOutputStream();
+    }
+
+    @Test
+    void testRefreshToken_RevokedVersion() throws IOException {
+        User user = User.builder().username("org@mail.bg").role("ORGANISATION").build();
+        Claims claims = Jwts.claims().setSubject("org@mail.bg");
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer refresh");
+        when(jwtService.parseClaims("refresh")).thenReturn(claims);
+        when(userService.getUserByEmail("org@mail.bg")).thenReturn(user);
+        when(jwtService.validateToken(eq(claims), any(MyUserDetails.class))).thenReturn(true);
+        when(jwtService.extractTokenVersion(claims)).thenReturn(3L);
+        when(tokenRevocationService.currentTokenVersion("org@mail.bg")).thenReturn(4L);
+
+        authenticationService.refreshToken(request, response);
+
+        verify(tokenRevocationService, never()).revokeAllTokens(any());
+        verify(jwtService, never()).getGeneratedToken(any(), anyLong());
+        verifyNoInteractions(response);
+    }
+
 //    @Test
 //    void testYourMethod() throws Exception {
 //        // Arrange
@@ -1,5 +1,8 @@
 package com.eventforge.service.service;
 
+import com.eventforge.catalog.CatalogSnapshotService;
+import com.eventforge.catalog.UpcomingEventHeap;
+import com.eventforge.domain.EventChangedEvent;
 import com.eventforge.dto.request.CriteriaFilterRequest;
 import com.eventforge.dto.request.EventRequest;
 import com.eventforge.dto.request.PageRequestDto;
@@ -10,9 +13,9 @@ import com.eventforge.model.Event;
 import com.eventforge.model.Organisation;
 import com.eventforge.model.User;
 import com.eventforge.repository.EventRepository;
+import com.eventforge.search.EventSearchIndex;
 import com.eventforge.service.EventService;
 import com.eventforge.service.ImageService;
-import com.eventforge.service.UserService;
 import com.eventforge.service.Utils;
 import jakarta.persistence.criteria.*;
 import org.junit.jupiter.api.Assertions;
@@ -23,6 +26,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -44,8 +48,6 @@ class EventServiceTest {
     @Mock
     private EventRepository eventRepository;
     @Mock
-    private UserService userService;
-    @Mock
     private ImageService imageService;
 
     @Mock
@@ -58,6 +60,14 @@ class EventServiceTest {
     private Root<Event> root;
     @Mock
     private Utils utils;
+    @Mock
+    private EventSearchIndex eventSearchIndex;
+    @Mock
+    private ApplicationEventPublisher publisher;
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+    @Mock
+    private UpcomingEventHeap upcomingEventHeap;
 
     @InjectMocks
     private EventService eventService;
@@ -105,7 +115,6 @@ class EventServiceTest {
     @Test
     void testGetAllEventsByUserIdAndNameForOrganisation_NullOrEmptyName() {
         // Arrange
-        String token = "your_token";
 
         User user = new User(); // Create a user object for testing
         user.setId(1L);
@@ -113,17 +122,15 @@ class EventServiceTest {
         List<Event> events = Arrays.asList(new Event(), new Event()); // Create a list of events for testing
         List<CommonEventResponse> expectedResponses = Arrays.asList(new CommonEventResponse(), new CommonEventResponse());
 
-        when(userService.getLoggedUserByToken(token)).thenReturn(user);
         when(eventRepository.findAllEventsForOrganisationByUserId(user.getId())).thenReturn(events);
         when(responseFactory.buildCommonEventResponse(any(Event.class))).thenReturn(new CommonEventResponse());
 
         // Act
-        List<CommonEventResponse> actualResponses = eventService.getAllEventsByUserIdForOrganisation(token);
+        List<CommonEventResponse> actualResponses = eventService.getAllEventsByUserIdForOrganisation(user);
 
         // Assert
         assertEquals(expectedResponses.size(), actualResponses.size());
         // Add additional assertions as needed
-        verify(userService).getLoggedUserByToken(token);
         verify(eventRepository).findAllEventsForOrganisationByUserId(user.getId());
         verify(responseFactory, times(events.size())).buildCommonEventResponse(any(Event.class));
         verifyNoMoreInteractions(eventRepository);
@@ -198,15 +205,13 @@ class EventServiceTest {
     void deleteEventById_shouldDeleteEventAndLogInfo() {
         Long eventId = 1L;
         Long userId = 1L;
-        String token = "token";
         User user = mock(User.class);
         Organisation org = mock(Organisation.class);
         Event event = mock(Event.class);
 
 
-        when(userService.getLoggedUserByToken(token)).thenReturn(user);
         when(eventRepository.findEventByIdAndUserId(user.getId(), eventId)).thenReturn(event);
-        eventService.deleteEventByIdAndUserIdForOrganisation(eventId, token);
+        eventService.deleteEventByIdAndUserIdForOrganisation(eventId, user);
         verify(eventRepository).delete(event);
 
         ArgumentCaptor<Event> argumentCaptor = ArgumentCaptor.forClass(Event.class);
@@ -218,13 +223,11 @@ class EventServiceTest {
     @Test
     void testDeleteEventByIdAndUserIdForOrganisation_WhenEventIsNull() {
         Long eventId = 123L;
-        String token = "your_token_here";
         User user = new User();
         user.setId(1L);
-        when(userService.getLoggedUserByToken(token)).thenReturn(user);
         when(eventRepository.findEventByIdAndUserId(user.getId(), eventId)).thenReturn(null);
 
-        assertThrows(EventRequestException.class, () -> eventService.deleteEventByIdAndUserIdForOrganisation(eventId, token));
+        assertThrows(EventRequestException.class, () -> eventService.deleteEventByIdAndUserIdForOrganisation(eventId, user));
 
         // Verify that the eventRepository.delete() method was not called
         verify(eventRepository, never()).delete(any(Event.class));
@@ -236,6 +239,11 @@ class EventServiceTest {
         eventService.deleteEventByIdForAdmin(eventId);
 
         verify(eventRepository).deleteById(eventId);
+
+        ArgumentCaptor<EventChangedEvent> eventCaptor = ArgumentCaptor.forClass(EventChangedEvent.class);
+        verify(publisher).publishEvent(eventCaptor.capture());
+        assertEquals(eventId, eventCaptor.getValue().getEventId());
+        assertEquals(EventChangedEvent.ChangeType.DELETED, eventCaptor.getValue().getChangeType());
     }
 
     @Test
@@ -245,13 +253,11 @@ class EventServiceTest {
 
         // Arrange
         Long eventId = 1L;
-        String token = "token";
         EventRequest eventRequest = EventRequest.builder().name("Updated Event").description("Updated description").imageUrl("image").price(10.00).build();
 
-        when(userService.getLoggedUserByToken(token)).thenReturn(user);
         when(eventRepository.findEventByIdAndUserId(user.getId(), eventId)).thenReturn(event);
 
-        eventService.updateEvent(eventId, eventRequest, token);
+        eventService.updateEvent(eventId, eventRequest, user);
         verify(imageService).saveImageToDb(null, null, eventRequest.getImageUrl(), null, event);
         assertEquals("Updated Event", event.getName());
         assertEquals("Updated description", event.getDescription());
@@ -263,13 +269,11 @@ class EventServiceTest {
 
         // Arrange
         Long eventId = 1L;
-        String token = "token";
         EventRequest eventRequest = EventRequest.builder().name("Updated Event").description("Updated description").imageUrl("image").build();
 
-        when(userService.getLoggedUserByToken(token)).thenReturn(user);
         when(eventRepository.findEventByIdAndUserId(user.getId(), eventId)).thenReturn(null);
 
-        assertThrows(EventRequestException.class, () -> eventService.updateEvent(eventId, eventRequest, token));
+        assertThrows(EventRequestException.class, () -> eventService.updateEvent(eventId, eventRequest, user));
 
 
     }
@@ -387,6 +391,41 @@ class EventServiceTest {
         verify(cb).like((organisationJoin.get("name")), ("%" + organisationName + "%"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddCategoryPredicate_ShouldRequireAllCategories() {
+        request.setEventCategories("Спорт, музика");
+        List<Predicate> predicates = new ArrayList<>();
+        CriteriaQuery<Event> query = mock(CriteriaQuery.class);
+        Subquery<Long> subquery = mock(Subquery.class, RETURNS_SELF);
+        Root<Event> categorised = mock(Root.class);
+        Join<Object, Object> category = mock(Join.class);
+        Path<Object> idPath = mock(Path.class);
+        Predicate inPredicate = mock(Predicate.class);
+
+        when(utils.splitStringByComma("Спорт, музика")).thenReturn(List.of("спорт", "музика"));
+        when(query.subquery(Long.class)).thenReturn(subquery);
+        when(subquery.from(Event.class)).thenReturn(categorised);
+        when(categorised.join("categories")).thenReturn(category);
+        when(root.get("id")).thenReturn(idPath);
+        when(idPath.in(subquery)).thenReturn(inPredicate);
+
+        eventService.addCategoryPredicate(request, query, cb, root, predicates);
+
+        assertEquals(List.of(inPredicate), predicates);
+        verify(category).in(List.of("спорт", "музика"));
+        verify(cb).equal(cb.countDistinct(category), 2L);
+    }
+
+    @Test
+    void testAddCategoryPredicate_NoCategories() {
+        List<Predicate> predicates = new ArrayList<>();
+
+        eventService.addCategoryPredicate(request, mock(CriteriaQuery.class), cb, root, predicates);
+
+        assertTrue(predicates.isEmpty());
+    }
+
     @Test
     void testAddOneTimePredicate_IsOneTimeTrue() {
         request.setIsOneTime(true);
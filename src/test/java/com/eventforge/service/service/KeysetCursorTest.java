@@ -0,0 +1,55 @@
+package com.eventforge.service.service;
+
+import com.eventforge.exception.InvalidCursorException;
+import com.eventforge.service.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void testEncodeAndDecode_DateTimeColumn() {
+        LocalDateTime startsAt = LocalDateTime.of(2023, 10, 5, 18, 30);
+        String token = new KeysetCursor("startsAt", Sort.Direction.DESC, 42L, startsAt).encode();
+
+        assertEquals("startsAt", KeysetCursor.peekColumn(token));
+        KeysetCursor cursor = KeysetCursor.decode(token, LocalDateTime.class);
+
+        assertEquals("startsAt", cursor.getColumn());
+        assertEquals(Sort.Direction.DESC, cursor.getDirection());
+        assertEquals(42L, cursor.getLastId());
+        assertEquals(startsAt, cursor.getLastValue());
+    }
+
+    @Test
+    void testEncodeAndDecode_ValueContainingSeparator() {
+        String token = new KeysetCursor("name", Sort.Direction.ASC, 7L, "Варна | морето").encode();
+
+        KeysetCursor cursor = KeysetCursor.decode(token, String.class);
+
+        assertEquals("Варна | морето", cursor.getLastValue());
+        assertEquals(7L, cursor.getLastId());
+    }
+
+    @Test
+    void testEncodeAndDecode_NullValue() {
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor("endsAt", Sort.Direction.ASC, 3L, null).encode(), LocalDateTime.class);
+
+        assertNull(cursor.getLastValue());
+        assertEquals(3L, cursor.getLastId());
+        // an empty name is a value , not a missing one
+        assertEquals("", KeysetCursor.decode(new KeysetCursor("name", Sort.Direction.ASC, 3L, "").encode(), String.class).getLastValue());
+    }
+
+    @Test
+    void testDecode_InvalidToken() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not a cursor!", String.class));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.peekColumn("bm8tc2VwYXJhdG9y"));
+    }
+}
@@ -1,12 +1,15 @@
 package com.eventforge.service.service;
 
+import com.eventforge.dto.request.PageRequestDto;
 import com.eventforge.dto.request.UpdateAccountRequest;
 import com.eventforge.dto.response.OrganisationResponse;
 import com.eventforge.exception.OrganisationRequestException;
 import com.eventforge.factory.ResponseFactory;
+import com.eventforge.featured.FeaturedOrganisationSampler;
 import com.eventforge.model.Organisation;
 import com.eventforge.model.User;
 import com.eventforge.repository.OrganisationRepository;
+import com.eventforge.service.KeysetPaginationService;
 import com.eventforge.service.OrganisationService;
 import com.eventforge.service.UserService;
 import com.eventforge.service.Utils;
@@ -18,9 +21,14 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -40,11 +48,18 @@ class OrganisationServiceTest {
     private Utils utils;
     @Mock
     private ModelMapper mapper;
+    @Mock
+    private KeysetPaginationService keysetPaginationService;
+    @Mock
+    private ApplicationEventPublisher publisher;
+    @Mock
+    private FeaturedOrganisationSampler featuredOrganisationSampler;
     private OrganisationService organisationService;
 
     @BeforeEach
     void init() {
-        organisationService = new OrganisationService(organizationRepository, mapper, userService,responseFactory,utils);
+        organisationService = new OrganisationService(organizationRepository, mapper, userService,responseFactory,utils, keysetPaginationService, publisher,
+                featuredOrganisationSampler);
     }
 
     @Test
@@ -71,12 +86,10 @@ class OrganisationServiceTest {
         request.setOrganisationPurpose(organisationList.get(0).getName());
 
         Organisation organisation = Organisation.builder().build();
-        when(userService.getLoggedUserByToken(anyString())).thenReturn(currentLoggedUser);
         when(organisationService.getOrganisationByUserUsername(anyString())).thenReturn(organisation);
 
-        organisationService.updateOrganisation(request, "validToken");
+        organisationService.updateOrganisation(request, currentLoggedUser);
 
-        verify(userService).getLoggedUserByToken("validToken");
         verify(userService).saveUserInDb(currentLoggedUser);
         verify(organizationRepository).save(organisation);
         assertEquals("John Doe", currentLoggedUser.getFullName());
@@ -190,4 +203,27 @@ class OrganisationServiceTest {
         Assertions.assertThrows(OrganisationRequestException.class, () -> organisationService.getOrganisationDetailsByIdWithoutCondition(organisationId));
         Mockito.verify(organizationRepository, Mockito.times(1)).findById(organisationId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllOrganisationsForUnauthorizedUser_SearchUsesTheFullTextIndex() {
+        PageRequestDto pageRequest = new PageRequestDto(0, 10, Sort.Direction.ASC, "name");
+        Page<Organisation> expected = Page.empty();
+        when(organizationRepository.searchOrganisations("\"спорт\"", "спорт", PageRequest.of(0, 10))).thenReturn(expected);
+
+        Page<Organisation> actual = organisationService.getAllOrganisationsForUnauthorizedUser(pageRequest, "  спорт ");
+
+        assertEquals(expected, actual);
+        Mockito.verify(organizationRepository, Mockito.never()).findAllOrganisationsForUserBySearchField(anyString(), Mockito.any());
+    }
+
+    @Test
+    void testGetAllOrganisationsForUnauthorizedUser_ShortTermFallsBackToLike() {
+        PageRequestDto pageRequest = new PageRequestDto(0, 10, Sort.Direction.ASC, "name");
+        Pageable pageable = new PageRequestDto().getPageable(pageRequest);
+        Page<Organisation> expected = Page.empty();
+        when(organizationRepository.findAllOrganisationsForUserBySearchField("а", pageable)).thenReturn(expected);
+
+        assertEquals(expected, organisationService.getAllOrganisationsForUnauthorizedUser(pageRequest, "а"));
+        Mockito.verify(organizationRepository, Mockito.never()).searchOrganisations(anyString(), anyString(), Mockito.any());
+    }
+}
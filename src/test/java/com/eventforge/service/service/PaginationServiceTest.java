@@ -1,11 +1,12 @@
 package com.eventforge.service.service;
 
+import com.eventforge.catalog.CatalogSnapshotService;
+import com.eventforge.dto.projection.EventListView;
 import com.eventforge.dto.request.CriteriaFilterRequest;
 import com.eventforge.dto.request.PageRequestDto;
 import com.eventforge.dto.response.CommonEventResponse;
 import com.eventforge.dto.response.OrganisationResponse;
 import com.eventforge.factory.ResponseFactory;
-import com.eventforge.model.Event;
 import com.eventforge.model.Organisation;
 import com.eventforge.service.EventService;
 import com.eventforge.service.OrganisationService;
@@ -39,6 +40,8 @@ public class PaginationServiceTest {
     private OrganisationService organisationService;
     @Mock
     private ResponseFactory responseFactory;
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
 
     private PageRequestDto pageRequest;
 
@@ -49,16 +52,16 @@ public class PaginationServiceTest {
     private List<Organisation> mockOrgs;
 
     private Page<Organisation> organisations;
-    private List<Event> mockEvents;
+    private List<EventListView> mockEvents;
 
-    private Page<Event> events;
+    private Page<EventListView> events;
 
     @BeforeEach
     void setUp(){
          this.pageRequest = new PageRequestDto(1, 10, Sort.Direction.DESC, "startsAt");
          this.pageable =new PageRequestDto().getPageable(pageRequest);
          this.criteriaFilterRequest = new CriteriaFilterRequest();
-         this.mockEvents = Arrays.asList(new Event(), new Event());
+         this.mockEvents = Arrays.asList(listView(1L), listView(2L));
          this.events = new PageImpl<>(mockEvents, Pageable.unpaged(), mockEvents.size());
          this.mockOrgs = Arrays.asList(new Organisation() , new Organisation());
         this.organisations = new PageImpl<>(mockOrgs, Pageable.unpaged(), mockOrgs.size());
@@ -72,31 +75,31 @@ public class PaginationServiceTest {
         when(organisationService.getAllOrganisationsForUnauthorizedUser(pageRequest ,search)).thenReturn(organisations);
 
         List<OrganisationResponse> orgResponse = Arrays.asList(new OrganisationResponse() ,new OrganisationResponse());
-        when(responseFactory.buildOrganisationResponse(any())).thenReturn(orgResponse.get(0), orgResponse.get(1));
+        when(responseFactory.buildOrganisationResponses(mockOrgs)).thenReturn(orgResponse);
 
         Page<OrganisationResponse> result = paginationService.getAllOrganisationsForUnauthorizedUser(pageRequest , search);
 
         verify(organisationService).getAllOrganisationsForUnauthorizedUser(pageRequest,search);
-        verify(responseFactory, times(2)).buildOrganisationResponse(any());
+        verify(responseFactory).buildOrganisationResponses(mockOrgs);
         assertEquals(orgResponse, result.getContent());
         assertEquals(12, result.getTotalElements());
     }
     @Test
     public void testGetAllActiveOneTimeEventsByPagination() {
         // Mock the behavior of the eventService to return some test events
-        Page<Event> oneTimeEvents = this.events;
+        Page<EventListView> oneTimeEvents = this.events;
         when(eventService.getAllActiveOneTimeEvents(pageRequest)).thenReturn(oneTimeEvents);
 
         // Mock the behavior of the responseFactory to return some test CommonEventResponse objects
         List<CommonEventResponse> oneTimeEventsResponse = Arrays.asList(new CommonEventResponse(), new CommonEventResponse());
-        when(responseFactory.buildCommonEventResponse(any())).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
+        when(responseFactory.buildCommonEventResponse(any(EventListView.class))).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
 
         // Call the method under test
         Page<CommonEventResponse> result = paginationService.getAllActiveOneTimeEventsByPagination(pageRequest);
 
         // Verify the interaction and the result
         verify(eventService).getAllActiveOneTimeEvents(pageRequest);
-        verify(responseFactory, times(2)).buildCommonEventResponse(any());
+        verify(responseFactory, times(2)).buildCommonEventResponse(any(EventListView.class));
         assertEquals(oneTimeEventsResponse, result.getContent());
         assertEquals(12, result.getTotalElements());
     }
@@ -108,14 +111,14 @@ public class PaginationServiceTest {
 
         // Mock the behavior of the responseFactory to return some test CommonEventResponse objects
         List<CommonEventResponse> oneTimeEventsResponse = Arrays.asList(new CommonEventResponse(), new CommonEventResponse());
-        when(responseFactory.buildCommonEventResponse(any())).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
+        when(responseFactory.buildCommonEventResponse(any(EventListView.class))).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
 
         // Call the method under test
         Page<CommonEventResponse> result = paginationService.getAllExpiredOneTimeEventsByPagination(pageRequest);
 
         // Verify the interaction and the result
         verify(eventService).getAllExpiredOneTimeEvents(pageRequest);
-        verify(responseFactory, times(2)).buildCommonEventResponse(any());
+        verify(responseFactory, times(2)).buildCommonEventResponse(any(EventListView.class));
         assertEquals(oneTimeEventsResponse, result.getContent());
         assertEquals(12, result.getTotalElements());
     }
@@ -128,14 +131,14 @@ public class PaginationServiceTest {
 
         // Mock the behavior of the responseFactory to return some test CommonEventResponse objects
         List<CommonEventResponse> oneTimeEventsResponse = Arrays.asList(new CommonEventResponse(), new CommonEventResponse());
-        when(responseFactory.buildCommonEventResponse(any())).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
+        when(responseFactory.buildCommonEventResponse(any(EventListView.class))).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
 
         // Call the method under test
         Page<CommonEventResponse> result = paginationService.getAllActiveRecurrenceEventsByPagination(pageRequest);
 
         // Verify the interaction and the result
         verify(eventService).getAllActiveRecurrenceEvents(pageRequest);
-        verify(responseFactory, times(2)).buildCommonEventResponse(any());
+        verify(responseFactory, times(2)).buildCommonEventResponse(any(EventListView.class));
         assertEquals(oneTimeEventsResponse, result.getContent());
         assertEquals(12, result.getTotalElements());
     }
@@ -148,14 +151,14 @@ public class PaginationServiceTest {
 
         // Mock the behavior of the responseFactory to return some test CommonEventResponse objects
         List<CommonEventResponse> oneTimeEventsResponse = Arrays.asList(new CommonEventResponse(), new CommonEventResponse());
-        when(responseFactory.buildCommonEventResponse(any())).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
+        when(responseFactory.buildCommonEventResponse(any(EventListView.class))).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
 
         // Call the method under test
         Page<CommonEventResponse> result = paginationService.getAllExpiredRecurrenceEventsByPagination(pageRequest);
 
         // Verify the interaction and the result
         verify(eventService).getAllExpiredRecurrenceEvents(pageRequest);
-        verify(responseFactory, times(2)).buildCommonEventResponse(any());
+        verify(responseFactory, times(2)).buildCommonEventResponse(any(EventListView.class));
         assertEquals(oneTimeEventsResponse, result.getContent());
         assertEquals(12, result.getTotalElements());
     }
@@ -168,17 +171,20 @@ public class PaginationServiceTest {
 
         // Mock the behavior of the responseFactory to return some test CommonEventResponse objects
         List<CommonEventResponse> oneTimeEventsResponse = Arrays.asList(new CommonEventResponse(), new CommonEventResponse());
-        when(responseFactory.buildCommonEventResponse(any())).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
+        when(responseFactory.buildCommonEventResponse(any(EventListView.class))).thenReturn(oneTimeEventsResponse.get(0), oneTimeEventsResponse.get(1));
 
         // Call the method under test
         Page<CommonEventResponse> result = paginationService.getEventsByCriteriaAndPagination(criteriaFilterRequest,pageRequest);
 
         // Verify the interaction and the result
         verify(eventService).filterEventsByCriteria(criteriaFilterRequest,pageRequest);
-        verify(responseFactory, times(2)).buildCommonEventResponse(any());
+        verify(responseFactory, times(2)).buildCommonEventResponse(any(EventListView.class));
         assertEquals(oneTimeEventsResponse, result.getContent());
         assertEquals(12, result.getTotalElements());
     }
 
+    private EventListView listView(Long id) {
+        return new EventListView(id, 1L, id, "url", "name", "organisation", false, null, null, null, null, 0,
+                null, null, null, null, true, null);
+    }
 }
-
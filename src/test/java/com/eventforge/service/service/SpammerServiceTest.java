@@ -0,0 +1,67 @@
+package com.eventforge.service.service;
+
+import com.eventforge.model.Spammer;
+import com.eventforge.repository.SpammerRepository;
+import com.eventforge.service.SpammerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpammerServiceTest {
+    @Mock
+    private SpammerRepository spammerRepository;
+    @InjectMocks
+    private SpammerService spammerService;
+
+    @Test
+    void isBlocked_shouldMatchAddressesDomainsAndWildcardsWithoutAQuery() {
+        when(spammerRepository.findAll()).thenReturn(List.of(new Spammer("Bot@Mail.bg"), new Spammer("@spam.bg"),
+                new Spammer("*@junk.com"), new Spammer("promo*@*.ru")));
+        spammerService.refresh();
+
+        assertTrue(spammerService.isBlocked(" bot@mail.BG "));
+        assertTrue(spammerService.isBlocked("anyone@spam.bg"));
+        assertTrue(spammerService.isBlocked("anyone@mail.spam.bg"));
+        assertTrue(spammerService.isBlocked("x@junk.com"));
+        assertTrue(spammerService.isBlocked("promo2024@mail.ru"));
+        assertFalse(spammerService.isBlocked("user@mail.bg"));
+        assertFalse(spammerService.isBlocked("user@notspam.bg"));
+        assertFalse(spammerService.isBlocked("info@mail.ru"));
+        assertFalse(spammerService.isBlocked(null));
+        verify(spammerRepository, times(1)).findAll();
+    }
+
+    @Test
+    void markSpammer_shouldStoreTheRuleAndBlockItAtOnce() {
+        when(spammerRepository.findByEmail("bot@mail.bg")).thenReturn(Optional.empty());
+
+        assertTrue(spammerService.markSpammer("Bot@mail.bg"));
+        assertTrue(spammerService.isBlocked("bot@mail.bg"));
+        assertFalse(spammerService.markSpammer("bot@mail.bg"));
+        verify(spammerRepository, times(1)).save(any(Spammer.class));
+    }
+
+    @Test
+    void removeSpammer_shouldUnblockTheAddress() {
+        Spammer spammer = new Spammer("@spam.bg");
+        when(spammerRepository.findAll()).thenReturn(List.of(spammer));
+        when(spammerRepository.findByEmail("@spam.bg")).thenReturn(Optional.of(spammer));
+        spammerService.refresh();
+
+        spammerService.removeSpammer("@spam.bg");
+
+        assertFalse(spammerService.isBlocked("anyone@spam.bg"));
+        assertEquals(List.of(), spammerService.getSpammerRules());
+        verify(spammerRepository).delete(spammer);
+    }
+}
@@ -362,5 +362,12 @@ class TestUtils {
 
         verify(passwordEncoder, times(1)).encode(rawPassword);
     }
-}
 
+    @Test
+    void testConvertOrganisationPrioritiesToSearchText() {
+        Set<OrganisationPriority> priorities = new LinkedHashSet<>(List.of(new OrganisationPriority("Спорт"), new OrganisationPriority("Култура")));
+
+        assertEquals("Спорт Култура", utils.convertOrganisationPrioritiesToSearchText(priorities));
+        assertNull(utils.convertOrganisationPrioritiesToSearchText(Set.of()));
+    }
+}
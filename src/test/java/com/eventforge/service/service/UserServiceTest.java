@@ -1,12 +1,17 @@
 package com.eventforge.service.service;
 
+import com.eventforge.dto.request.ChangePasswordRequest;
 import com.eventforge.model.User;
 import com.eventforge.model.VerificationToken;
 import com.eventforge.repository.UserRepository;
+import com.eventforge.security.TokenRevocationService;
+import com.eventforge.security.jwt.JWTAuthenticationContext;
 import com.eventforge.security.jwt.JWTService;
 import com.eventforge.service.EmailVerificationTokenService;
 import com.eventforge.service.UserService;
 import com.eventforge.service.Utils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -15,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,7 +36,13 @@ class UserServiceTest {
     @Mock
     private JWTService jwtService;
     @Mock
+    private JWTAuthenticationContext jwtAuthenticationContext;
+    @Mock
     private Utils utils;
+    @Mock
+    private ApplicationEventPublisher publisher;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
 
     @Test
     void saveUserInDb() {
@@ -87,6 +99,21 @@ class UserServiceTest {
         verifyNoMoreInteractions(jwtService, userRepository);
     }
 
+    @Test
+    void testGetLoggedUserByToken_ShouldReuseTheClaimsVerifiedByTheFilter() {
+        String username = "test";
+        User user = User.builder().username(username).build();
+        Claims claims = Jwts.claims().setSubject(username);
+        when(jwtService.extractTokenValueFromHeader("Bearer verified-token")).thenReturn("verified-token");
+        when(jwtAuthenticationContext.claimsOf("verified-token")).thenReturn(Optional.of(claims));
+        when(userRepository.findByEmail(username)).thenReturn(user);
+
+        User result = userService.getLoggedUserByToken("Bearer verified-token");
+
+        assertEquals(user, result);
+        verify(jwtService, never()).extractUsernameFromToken(any());
+    }
+
 
     @Test
     void updateUserIsEnabledFieldAfterConfirmedEmail() {
@@ -159,7 +186,23 @@ class UserServiceTest {
         verify(utils).encodePassword(newGeneratedPassword); // Verify that encodePassword was called with any string argument
         verify(userRepository).save(user);
         verify(emailVerificationTokenService).deleteVerificationToken(token);
+        verify(tokenRevocationService).revokeAllTokens(user.getUsername());
+    }
 
+    @Test
+    void changeAccountPassword_shouldRevokeTheIssuedTokens() {
+        User user = User.builder().username("org@mail.bg").password("old-hash").build();
+        ChangePasswordRequest request = new ChangePasswordRequest();
+        request.setOldPassword("old");
+        request.setNewPassword("new");
+        when(utils.isPasswordValid("old", "old-hash")).thenReturn(true);
+        when(utils.encodePassword("new")).thenReturn("new-hash");
+
+        userService.changeAccountPassword(user, request);
+
+        assertEquals("new-hash", user.getPassword());
+        verify(userRepository).save(user);
+        verify(tokenRevocationService).revokeAllTokens("org@mail.bg");
     }
     @Test
     void testSetApproveByAdminToTrue_UserPresent() {
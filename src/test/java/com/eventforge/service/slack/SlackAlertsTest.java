@@ -0,0 +1,183 @@
+package com.eventforge.service.slack;
+
+import com.eventforge.slack.SlackAlerts;
+import com.eventforge.slack.SlackNotifier;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlackAlertsTest {
+    // stands in for the slack incoming webhook
+    private HttpServer webhook;
+    private final List<String> posted = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch answering = new CountDownLatch(0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SlackAlerts slackAlerts;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        webhook = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        webhook.createContext("/hook", exchange -> {
+            try {
+                answering.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            posted.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] ok = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, ok.length);
+            exchange.getResponseBody().write(ok);
+            exchange.close();
+        });
+        webhook.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (slackAlerts != null) {
+            slackAlerts.stop();
+        }
+        webhook.stop(0);
+    }
+
+    @Test
+    void report_shouldPostInTheBackground() throws InterruptedException {
+        answering = new CountDownLatch(1);
+        slackAlerts = newAlerts(10, 60, 10);
+        slackAlerts.start();
+
+        long start = System.nanoTime();
+        slackAlerts.report(new IllegalStateException("Broken event 42"));
+        // the webhook is still holding the post , report has already returned
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        answering.countDown();
+
+        waitForPosts(1);
+        assertTrue(posted.get(0).contains("Broken event 42"));
+        assertTrue(posted.get(0).contains("BACKEND APPLICATION"));
+    }
+
+    @Test
+    void report_shouldGroupIdenticalExceptionsInOneWindow() throws InterruptedException {
+        slackAlerts = newAlerts(10, 1, 10);
+        slackAlerts.start();
+
+        for (int i = 0; i < 50; i++) {
+            slackAlerts.report(failure("Broken event " + i));
+        }
+
+        // the first one right away , the 49 repeats in the summary at the end of the window
+        waitForPosts(2);
+        assertEquals(2, posted.size());
+        assertTrue(posted.get(0).contains("Broken event 0"));
+        assertTrue(posted.get(1).contains("49 more times: java.lang.IllegalStateException"));
+    }
+
+    @Test
+    void report_shouldCountEveryRepeatWhileWindowsClose() throws InterruptedException {
+        slackAlerts = newAlerts(10, 1, 100);
+        slackAlerts.start();
+
+        int threads = 4;
+        AtomicInteger reported = new AtomicInteger();
+        long until = System.currentTimeMillis() + 2500;
+        List<Thread> reporters = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread reporter = new Thread(() -> {
+                while (System.currentTimeMillis() < until) {
+                    slackAlerts.report(failure("Broken event"));
+                    reported.incrementAndGet();
+                }
+            });
+            reporter.start();
+            reporters.add(reporter);
+        }
+        for (Thread reporter : reporters) {
+            reporter.join();
+        }
+        // stop closes the last window
+        slackAlerts.stop();
+
+        // every report is either the alert of its window or one of the repeats in a summary
+        int counted = 0;
+        for (String post : posted) {
+            if (post.contains("Broken event")) {
+                counted++;
+            }
+            Matcher repeats = Pattern.compile("(\\d+) more times").matcher(post);
+            while (repeats.find()) {
+                counted += Integer.parseInt(repeats.group(1));
+            }
+        }
+        assertEquals(reported.get(), counted);
+    }
+
+    @Test
+    void report_shouldPostAtMostMaxPerWindow() throws InterruptedException {
+        slackAlerts = newAlerts(10, 1, 2);
+        slackAlerts.start();
+
+        slackAlerts.report(new IllegalStateException("first"));
+        slackAlerts.report(new IllegalArgumentException("second"));
+        slackAlerts.report(new UnsupportedOperationException("third"));
+        slackAlerts.report(new ArithmeticException("fourth"));
+
+        waitForPosts(3);
+        assertEquals(3, posted.size());
+        assertTrue(posted.get(2).contains("2 alerts not posted"));
+        assertEquals(2.0, meterRegistry.get("eventforge.slack.alerts.suppressed").counter().count());
+    }
+
+    @Test
+    void report_shouldDropWhenTheQueueIsFull() {
+        answering = new CountDownLatch(1);
+        slackAlerts = newAlerts(1, 60, 10);
+        slackAlerts.start();
+
+        // one is being posted , one is queued , the third does not fit
+        slackAlerts.report(new IllegalStateException("first"));
+        while (slackAlerts.depth() > 0) {
+            Thread.onSpinWait();
+        }
+        slackAlerts.report(new IllegalArgumentException("second"));
+        slackAlerts.report(new UnsupportedOperationException("third"));
+        answering.countDown();
+
+        assertEquals(1.0, meterRegistry.get("eventforge.slack.alerts.dropped").counter().count());
+    }
+
+    private SlackAlerts newAlerts(int capacity, long windowSeconds, int maxPerWindow) {
+        SlackNotifier slackNotifier = new SlackNotifier("http://127.0.0.1:" + webhook.getAddress().getPort() + "/hook");
+        return new SlackAlerts(slackNotifier, meterRegistry, capacity, windowSeconds, maxPerWindow);
+    }
+
+    // the same type thrown from the same line
+    private static IllegalStateException failure(String message) {
+        return new IllegalStateException(message);
+    }
+
+    private void waitForPosts(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (posted.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(posted.size() >= count, "expected " + count + " posts , got " + posted);
+    }
+}